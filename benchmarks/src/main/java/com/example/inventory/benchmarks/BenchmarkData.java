@@ -0,0 +1,59 @@
+package com.example.inventory.benchmarks;
+
+import com.example.inventory.model.Item;
+import com.example.inventory.model.UuidV7;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Генератор тестовых товаров. Один и тот же seed дает одни и те же товары,
+ * поэтому результаты разных запусков сравнимы.
+ */
+final class BenchmarkData {
+    static final String[] KINDS = {
+            "Болт", "Гайка", "Шайба", "Винт", "Саморез", "Дюбель", "Анкер", "Шуруп", "Скоба", "Хомут"
+    };
+    static final String[] MATERIALS = {
+            "стальной", "латунный", "оцинкованный", "нержавеющий", "пластиковый"
+    };
+    private static final String[] NOTES = {
+            "поставка со склада в Казани", "остаток прошлой партии", "под заказ",
+            "упаковка по 100 штук", "для наружных работ", "без покрытия"
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Создает товары с идентификаторами и датами создания, растущими
+     * в порядке генерации, как у товаров, созданных приложением.
+     */
+    static List<Item> generateItems(int count, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Item item = newItem(random, i);
+            item.setId(UuidV7.generate());
+            LocalDateTime createdAt = start.plus(i * 1000L + random.nextInt(1000), ChronoUnit.MILLIS);
+            item.setCreatedAt(createdAt);
+            item.setUpdatedAt(createdAt);
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * Создает новый товар без идентификатора.
+     */
+    static Item newItem(Random random, int number) {
+        String name = KINDS[random.nextInt(KINDS.length)] + " " +
+                MATERIALS[random.nextInt(MATERIALS.length)] + " M" + (4 + random.nextInt(20)) + " №" + number;
+        String description = NOTES[random.nextInt(NOTES.length)] + ", артикул " + (100_000 + random.nextInt(900_000));
+        return new Item(name, description);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.inventory.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+
+/**
+ * Точка входа benchmarks.jar.
+ *
+ * Принимает обычные аргументы JMH (например, {@code ItemRead -p rows=10000}),
+ * но по умолчанию включает профилировщик GC — он выводит объем выделенной
+ * памяти на операцию ({@code gc.alloc.rate.norm}) и число сборок — и сохраняет
+ * результаты в JSON ({@code jmh-result.json} рядом с benchmarks.jar, то есть
+ * в {@code benchmarks/target}, из какого бы каталога ни был запущен jar)
+ * для сравнения между запусками.
+ * Явные {@code -prof}, {@code -rf} и {@code -rff} заменяют эти настройки.
+ */
+public final class BenchmarkRunner {
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        if (commandLine.shouldList() || commandLine.shouldListWithParams()) {
+            new Runner(commandLine).list();
+            return;
+        }
+        if (commandLine.shouldListProfilers()) {
+            commandLine.listProfilers();
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(defaultResultFile().toString());
+        }
+        new Runner(options.build()).run();
+    }
+
+    /**
+     * Файл результатов в каталоге benchmarks.jar (при запуске из классов —
+     * в каталоге над ними, тоже target). Если каталог определить не удалось,
+     * файл пишется в текущий каталог.
+     */
+    static Path defaultResultFile() {
+        try {
+            Path location = Path.of(BenchmarkRunner.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            Path directory = location.getParent();
+            if (directory != null) {
+                return directory.resolve(DEFAULT_RESULT_FILE);
+            }
+        } catch (URISyntaxException | RuntimeException e) {
+            // Источник классов неизвестен или не является файлом
+        }
+        return Path.of(DEFAULT_RESULT_FILE);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.inventory.benchmarks;
+
+import com.example.inventory.model.Item;
+import com.example.inventory.view.ItemCellCache;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn.CellDataFeatures;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.util.Callback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Значения ячеек таблицы при прокрутке.
+ *
+ * Каждый вызов — один кадр прокрутки колесом: окно из {@value #VISIBLE_ROWS}
+ * видимых строк сдвигается на {@value #SCROLL_STEP} строки, и все видимые
+ * ячейки запрашивают значения заново, как это делает TableView при
+ * переиспользовании ячеек. Результат — на одну строку из четырех ячеек.
+ *
+ * <ul>
+ *     <li>{@code propertyValueFactory} — прежний путь: {@link PropertyValueFactory}
+ *     с отражением, новое свойство с текстом идентификатора и форматирование
+ *     даты при каждой перерисовке;</li>
+ *     <li>{@code cellCache} — {@link ItemCellCache}: значения и текст создаются
+ *     один раз на строку.</li>
+ * </ul>
+ * В обоих случаях учтен {@link CellDataFeatures}, который TableView создает
+ * на каждый запрос. Смотреть стоит на {@code gc.alloc.rate.norm}.
+ * Интерфейс не запускается: фабрики значений работают без JavaFX toolkit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class CellRenderBenchmark {
+    private static final int VISIBLE_ROWS = 40;
+    private static final int SCROLL_STEP = 3;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    @Param({"100000"})
+    public int rows;
+
+    private List<Item> items;
+    private int top;
+
+    private final Callback<CellDataFeatures<Item, String>, ObservableValue<String>> nameFactory =
+            new PropertyValueFactory<>("name");
+    private final Callback<CellDataFeatures<Item, String>, ObservableValue<String>> descriptionFactory =
+            new PropertyValueFactory<>("description");
+    private final Callback<CellDataFeatures<Item, LocalDateTime>, ObservableValue<LocalDateTime>> createdAtFactory =
+            new PropertyValueFactory<>("createdAt");
+
+    private ItemCellCache cache;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkData.generateItems(rows, 1);
+        cache = new ItemCellCache(2048);
+    }
+
+    private int scroll() {
+        top += SCROLL_STEP;
+        if (top + VISIBLE_ROWS > items.size()) {
+            top = 0;
+        }
+        return top;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VISIBLE_ROWS)
+    public void propertyValueFactory(Blackhole blackhole) {
+        int first = scroll();
+        for (int i = first; i < first + VISIBLE_ROWS; i++) {
+            Item item = items.get(i);
+            blackhole.consume(new SimpleStringProperty(
+                    new CellDataFeatures<Item, String>(null, null, item).getValue().getId().toString()).getValue());
+            blackhole.consume(nameFactory.call(new CellDataFeatures<>(null, null, item)).getValue());
+            blackhole.consume(descriptionFactory.call(new CellDataFeatures<>(null, null, item)).getValue());
+            LocalDateTime created = createdAtFactory.call(new CellDataFeatures<>(null, null, item)).getValue();
+            blackhole.consume(DATE_FORMAT.format(created));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VISIBLE_ROWS)
+    public void cellCache(Blackhole blackhole) {
+        int first = scroll();
+        for (int i = first; i < first + VISIBLE_ROWS; i++) {
+            Item item = items.get(i);
+            blackhole.consume(cache.id(new CellDataFeatures<Item, String>(null, null, item).getValue()).getValue());
+            blackhole.consume(cache.name(new CellDataFeatures<Item, String>(null, null, item).getValue()).getValue());
+            blackhole.consume(cache.description(
+                    new CellDataFeatures<Item, String>(null, null, item).getValue()).getValue());
+            LocalDateTime created = cache.createdAt(
+                    new CellDataFeatures<Item, LocalDateTime>(null, null, item).getValue()).getValue();
+            blackhole.consume(created);
+            blackhole.consume(cache.createdAtText(item));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.inventory.benchmarks;
+
+import com.example.inventory.model.Item;
+import com.example.inventory.search.SearchQuery;
+import com.example.inventory.search.TrigramIndex;
+import com.example.inventory.store.ItemStore;
+import com.example.inventory.store.StringDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Фильтрация загруженных товаров так, как это делает поиск главного окна.
+ *
+ * <ul>
+ *     <li>{@code linearScan} — перебор с {@link Item#matches(String)}, как фильтровал
+ *     {@code filterItems} до индекса;</li>
+ *     <li>{@code trigramIndex} — мгновенные совпадения по {@link TrigramIndex};</li>
+ *     <li>{@code narrow} — сужение результатов по {@link SearchQuery#matches(Item)}
+ *     в фоне при уточнении запроса;</li>
+ *     <li>{@code columnar} — тот же фильтр по {@link ItemStore}: каждая различная
+ *     строка проверяется один раз.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class FilterBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    // Короткий широкий запрос, одно слово, два слова и запрос без совпадений
+    @Param({"ан", "гайка", "хомут лат", "нет такого"})
+    public String query;
+
+    private List<Item> items;
+    private TrigramIndex index;
+    private String needle;
+    private SearchQuery searchQuery;
+    private ItemStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        items = BenchmarkData.generateItems(rows, 1);
+        index = new TrigramIndex();
+        index.putAll(items);
+        needle = query.toLowerCase(Locale.ROOT);
+        searchQuery = SearchQuery.parse(query);
+        store = ItemStore.of(items, new StringDictionary());
+    }
+
+    @Benchmark
+    public List<Item> linearScan() {
+        List<Item> result = new ArrayList<>();
+        for (Item item : items) {
+            if (item.matches(needle)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Item> trigramIndex() {
+        return index.search(query);
+    }
+
+    @Benchmark
+    public List<Item> narrow() {
+        List<Item> result = new ArrayList<>();
+        for (Item item : items) {
+            if (searchQuery.matches(item)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int[] columnar() {
+        return store.filter(searchQuery);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.inventory.benchmarks;
+
+import com.example.inventory.io.ItemJson;
+import com.example.inventory.metrics.LatencyHistogram;
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemDAO;
+import com.example.inventory.server.InventoryServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Нагрузочный тест HTTP-сервера: несколько клиентов в течение заданного
+ * времени читают товары по идентификатору и страницами и создают новые.
+ * Печатает пропускную способность, перцентили задержки и коды ответов.
+ *
+ * Без {@code --url} запускает {@link InventoryServer} на временной базе
+ * с {@code --rows} товарами:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.inventory.benchmarks.HttpLoadTest \
+ *     --clients 64 --seconds 30 --writes 10
+ * </pre>
+ */
+public final class HttpLoadTest {
+    private HttpLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = option(args, "--url", null);
+        int clients = Integer.parseInt(option(args, "--clients", "32"));
+        int seconds = Integer.parseInt(option(args, "--seconds", "20"));
+        int writePercent = Integer.parseInt(option(args, "--writes", "10"));
+        int rows = Integer.parseInt(option(args, "--rows", "100000"));
+
+        if (url != null) {
+            run(url, clients, seconds, writePercent);
+            return;
+        }
+        // Свободный порт; читателей столько, сколько клиентов могут читать одновременно
+        try (TempDatabase database = new TempDatabase(Map.of("server.port", "0",
+                "pool.readers", String.valueOf(Math.min(clients, 16))))) {
+            ItemDAO itemDAO = database.createDao();
+            itemDAO.createAll(BenchmarkData.generateItems(rows, 42));
+            try (InventoryServer server = new InventoryServer(itemDAO)) {
+                run("http://127.0.0.1:" + server.getPort(), clients, seconds, writePercent);
+            }
+        }
+    }
+
+    private static void run(String url, int clients, int seconds, int writePercent) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<String> ids = loadIds(http, url);
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("На сервере нет товаров: " + url);
+        }
+
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder requests = new LongAdder();
+        ConcurrentHashMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            long seed = c;
+            futures.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                int created = 0;
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = nextRequest(url, ids, random, writePercent, created++);
+                    long start = System.nanoTime();
+                    HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    latency.recordSince(start);
+                    requests.increment();
+                    statuses.computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        LatencyHistogram.Snapshot snapshot = latency.snapshot();
+        System.out.printf("Клиентов: %d, секунд: %d, записей: %d%%%n", clients, seconds, writePercent);
+        System.out.printf("Запросов: %d (%.0f в секунду)%n", requests.sum(), requests.sum() / (double) seconds);
+        System.out.printf("Задержка, мс: p50 %.2f, p90 %.2f, p99 %.2f, p99.9 %.2f, max %.2f%n",
+                snapshot.p50() / 1e6, snapshot.p90() / 1e6, snapshot.p99() / 1e6, snapshot.p999() / 1e6,
+                snapshot.max() / 1e6);
+        System.out.println("Коды ответов: " + statuses);
+    }
+
+    private static HttpRequest nextRequest(String url, List<String> ids, Random random, int writePercent,
+                                           int number) {
+        int roll = random.nextInt(100);
+        if (roll < writePercent) {
+            Item item = BenchmarkData.newItem(random, number);
+            StringBuilder json = new StringBuilder(256);
+            ItemJson.append(json, item);
+            return HttpRequest.newBuilder(URI.create(url + "/items"))
+                    .POST(HttpRequest.BodyPublishers.ofString(json.toString()))
+                    .build();
+        }
+        if (roll < writePercent + (100 - writePercent) / 4) {
+            return HttpRequest.newBuilder(URI.create(url + "/items?limit=50&sort=CREATED_DESC")).GET().build();
+        }
+        return HttpRequest.newBuilder(URI.create(url + "/items/" + ids.get(random.nextInt(ids.size())))).GET().build();
+    }
+
+    /**
+     * Идентификаторы товаров с первой страницы (до 1000).
+     */
+    private static List<String> loadIds(HttpClient http, String url) throws Exception {
+        HttpResponse<String> response = http.send(
+                HttpRequest.newBuilder(URI.create(url + "/items?limit=1000")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        List<String> ids = new ArrayList<>();
+        String body = response.body();
+        int position = 0;
+        while ((position = body.indexOf("\"id\":\"", position)) >= 0) {
+            position += 6;
+            ids.add(body.substring(position, body.indexOf('"', position)));
+        }
+        return ids;
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+}
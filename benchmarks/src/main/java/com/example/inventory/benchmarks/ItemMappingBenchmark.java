@@ -0,0 +1,95 @@
+package com.example.inventory.benchmarks;
+
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemDAO;
+import com.example.inventory.model.ItemSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Выделение памяти при создании товаров из прочитанных строк.
+ *
+ * {@code setters} — прежний путь: {@code new Item()} и сеттеры, каждый из
+ * которых берет текущее время; {@code hydrate} — конструктор из значений полей.
+ * {@code readWindow} показывает ту же разницу на чтении из базы. Смотреть
+ * стоит на {@code gc.alloc.rate.norm} (байт на операцию): профилировщик GC
+ * включается {@link BenchmarkRunner} по умолчанию.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ItemMappingBenchmark {
+    @Param({"1000"})
+    public int window;
+
+    private TempDatabase database;
+    private ItemDAO dao;
+
+    private UUID id;
+    private String name;
+    private String description;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = new TempDatabase();
+        dao = database.createDao();
+        List<Item> items = BenchmarkData.generateItems(Math.max(window, 10_000), 1);
+        dao.createAll(items);
+
+        Item sample = items.get(0);
+        id = sample.getId();
+        name = sample.getName();
+        description = sample.getDescription();
+        createdAt = sample.getCreatedAt();
+        updatedAt = sample.getUpdatedAt();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Benchmark
+    public Item setters() {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setCreatedAt(createdAt);
+        item.setUpdatedAt(updatedAt);
+        return item;
+    }
+
+    @Benchmark
+    public Item hydrate() {
+        return new Item(id, name, description, createdAt, updatedAt);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Item> readWindow() {
+        return dao.readWindow(0, window, ItemSort.NAME_ASC);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.inventory.benchmarks;
+
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemDAO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение товаров: {@link ItemDAO#readAll} и {@link ItemDAO#getById}
+ * на таблицах разного размера.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ItemReadBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private TempDatabase database;
+    private ItemDAO dao;
+    private UUID[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = new TempDatabase();
+        dao = database.createDao();
+        List<Item> items = BenchmarkData.generateItems(rows, 1);
+        dao.createAll(items);
+        ids = items.stream().map(Item::getId).toArray(UUID[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Item> readAll() {
+        return dao.readAll();
+    }
+
+    @Benchmark
+    public Item getById() {
+        return dao.getById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+}
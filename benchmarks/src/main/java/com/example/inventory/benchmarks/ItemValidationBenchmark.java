@@ -0,0 +1,52 @@
+package com.example.inventory.benchmarks;
+
+import com.example.inventory.model.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка товара {@link Item#validate()} для допустимых и отклоняемых данных.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemValidationBenchmark {
+    private Item valid;
+    private Item shortName;
+    private Item longDescription;
+
+    @Setup
+    public void setUp() {
+        valid = new Item("Болт стальной M8", "упаковка по 100 штук");
+        shortName = new Item("Бо", "упаковка по 100 штук");
+        longDescription = new Item("Болт стальной M8", "x".repeat(256));
+    }
+
+    @Benchmark
+    public boolean validItem() {
+        return valid.validate();
+    }
+
+    @Benchmark
+    public boolean shortName() {
+        return shortName.validate();
+    }
+
+    @Benchmark
+    public boolean longDescription() {
+        return longDescription.validate();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.inventory.benchmarks;
+
+import com.example.inventory.model.BatchResult;
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemDAO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запись товаров: одиночный {@link ItemDAO#create}, пакетный
+ * {@link ItemDAO#createAll} и {@link ItemDAO#update}.
+ *
+ * Пакетная вставка считается в операциях на товар
+ * ({@link OperationsPerInvocation}), чтобы ее можно было напрямую сравнить
+ * с одиночной.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemWriteBenchmark {
+    private static final int BATCH_SIZE = 1000;
+    private static final int SEEDED_ROWS = 10_000;
+
+    private TempDatabase database;
+    private ItemDAO dao;
+    private List<Item> existing;
+    private Random random;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = new TempDatabase();
+        dao = database.createDao();
+        existing = BenchmarkData.generateItems(SEEDED_ROWS, 1);
+        dao.createAll(existing);
+        random = new Random(2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Benchmark
+    public boolean create() {
+        return dao.create(BenchmarkData.newItem(random, counter++));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchResult createBatch() {
+        List<Item> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(BenchmarkData.newItem(random, counter++));
+        }
+        return dao.createAll(batch);
+    }
+
+    @Benchmark
+    public boolean update() {
+        Item item = existing.get(random.nextInt(existing.size()));
+        item.setDescription("изменено " + counter++);
+        return dao.update(item);
+    }
+}
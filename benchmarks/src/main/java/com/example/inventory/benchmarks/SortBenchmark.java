@@ -0,0 +1,73 @@
+package com.example.inventory.benchmarks;
+
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemSort;
+import com.example.inventory.store.ItemStore;
+import com.example.inventory.store.StringDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сортировка загруженных товаров компараторами {@link ItemSort},
+ * которые выбирает {@code handleSort}.
+ *
+ * Каждая операция сортирует копию перемешанного списка; копирование
+ * входит в измерение, но дешевле самой сортировки.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SortBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"NAME_ASC", "NAME_DESC", "CREATED_DESC"})
+    public ItemSort sort;
+
+    private List<Item> shuffled;
+    private Comparator<Item> comparator;
+    private ItemStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        shuffled = BenchmarkData.generateItems(rows, 1);
+        Collections.shuffle(shuffled, new Random(3));
+        comparator = sort.comparator();
+        store = ItemStore.of(shuffled, new StringDictionary());
+    }
+
+    @Benchmark
+    public List<Item> sort() {
+        List<Item> copy = new ArrayList<>(shuffled);
+        copy.sort(comparator);
+        return copy;
+    }
+
+    /**
+     * Сортировка номеров строк {@link ItemStore} тем же порядком.
+     */
+    @Benchmark
+    public int[] columnar() {
+        return store.sortedRows(sort);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.inventory.benchmarks;
+
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.db.DatabaseConfig;
+import com.example.inventory.model.ItemDAO;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Временная база SQLite для бенчмарков ItemDAO.
+ *
+ * Схема создается теми же миграциями, что и в приложении.
+ */
+final class TempDatabase implements AutoCloseable {
+    private final Path file;
+    private final ConnectionPool pool;
+
+    TempDatabase() throws IOException {
+        this(Map.of());
+    }
+
+    /**
+     * @param settings дополнительные ключи настроек поверх настроек по умолчанию
+     */
+    TempDatabase(Map<String, String> settings) throws IOException {
+        this.file = Files.createTempFile("inventory-bench", ".db");
+        DatabaseConfig config = DatabaseConfig.forUrl("jdbc:sqlite:" + file)
+                .with("pool.readers", "4")
+                .with("pool.acquireTimeoutMs", "5000");
+        for (Map.Entry<String, String> setting : settings.entrySet()) {
+            config = config.with(setting.getKey(), setting.getValue());
+        }
+        this.pool = new ConnectionPool(config);
+    }
+
+    ConnectionPool getPool() {
+        return pool;
+    }
+
+    ItemDAO createDao() {
+        return new ItemDAO(pool);
+    }
+
+    @Override
+    public void close() throws IOException {
+        pool.close();
+        for (String suffix : new String[]{"", "-wal", "-shm"}) {
+            Files.deleteIfExists(Path.of(file + suffix));
+        }
+    }
+}
@@ -1,20 +1,101 @@
 package com.example.inventory;
 
+import com.example.inventory.controller.MainController;
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.db.DatabaseConfig;
+import com.example.inventory.metrics.Log;
+import com.example.inventory.metrics.Metrics;
+import com.example.inventory.metrics.MetricsExporter;
+import com.example.inventory.metrics.StartupTimer;
+import com.example.inventory.model.ItemDAO;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Главный класс приложения. Запускает JavaFX приложение.
+ *
+ * Запуск идет по фазам, чтобы окно появлялось сразу: база данных (пул
+ * соединений, схема, миграции, журнал изменений) открывается в фоновом
+ * потоке еще до {@link #start}, окно показывается с индикатором загрузки,
+ * а интерфейс из main.fxml подставляется, когда база готова. Первая
+ * страница таблицы читается в фоне уже самим контроллером.
+ * Длительность фаз записывается в метрики {@code startup.*} и в журнал.
  */
 public class App extends Application {
+    private final StartupTimer startup = new StartupTimer(Metrics.getDefault());
+    private DatabaseConfig config;
+    // DAO главного окна; создается в фоне параллельно с показом окна
+    private final CompletableFuture<ItemDAO> database = new CompletableFuture<>();
+    private Thread databaseOpener;
+    // Периодическая выгрузка метрик в файл; null, если отключена
+    private MetricsExporter metricsExporter;
+
+    /**
+     * Вызывается до создания окна: запускает открытие базы в фоне.
+     */
+    @Override
+    public void init() {
+        startup.recordSinceProcessStart("jvm");
+        config = DatabaseConfig.load();
+        Log.setLevel(config.get("log.level", "INFO"));
+        metricsExporter = createMetricsExporter(config);
+
+        databaseOpener = new Thread(() -> {
+            long start = System.nanoTime();
+            try {
+                ItemDAO itemDAO = MainController.createItemDAO();
+                startup.record("database", start);
+                database.complete(itemDAO);
+            } catch (RuntimeException | Error e) {
+                database.completeExceptionally(e);
+            }
+        }, "startup-database");
+        databaseOpener.setDaemon(true);
+        databaseOpener.start();
+    }
 
     @Override
     public void start(Stage primaryStage) {
+        long start = System.nanoTime();
+        // Пока база открывается, в окне только индикатор загрузки
+        StackPane placeholder = new StackPane(new ProgressIndicator());
+        Scene scene = new Scene(placeholder, 900, 600);
+        scene.getStylesheets().add(getClass().getResource("/styles.css").toExternalForm()); // Подключаем стили
+
+        primaryStage.setTitle("📦 Менеджер инвентаря");
+        primaryStage.setScene(scene);
+        primaryStage.setMinWidth(800);
+        primaryStage.setMinHeight(500);
+        primaryStage.show();
+        startup.record("stage", start);
+
+        database.whenComplete((itemDAO, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                Log.error("❌ Ошибка открытия базы данных: " + error.getMessage(), error);
+                showErrorAlert("Критическая ошибка", "Ошибка открытия базы данных: " + error.getMessage());
+                // Без базы работать нечему: окно с индикатором не остается висеть
+                Platform.exit();
+                return;
+            }
+            showMainView(scene, itemDAO);
+        }));
+    }
+
+    /**
+     * Загружает главный интерфейс и подставляет его в окно.
+     */
+    private void showMainView(Scene scene, ItemDAO itemDAO) {
+        long start = System.nanoTime();
         try {
             // Загрузка главного интерфейса из FXML
             URL fxmlUrl = getClass().getResource("/view/main.fxml");
@@ -22,23 +103,65 @@ public class App extends Application {
                 throw new RuntimeException("FXML файл не найден: /view/main.fxml");
             }
 
-            Parent root = FXMLLoader.load(fxmlUrl);
+            FXMLLoader loader = new FXMLLoader(fxmlUrl);
+            loader.setControllerFactory(type -> new MainController(itemDAO, this::firstPageShown));
+            Parent root = loader.load();
+            scene.setRoot(root);
+            startup.record("fxml", start);
 
-            // Настройка главного окна
-            Scene scene = new Scene(root, 900, 600);
-            scene.getStylesheets().add(getClass().getResource("/styles.css").toExternalForm()); // Подключаем стили
-
-            primaryStage.setTitle("📦 Менеджер инвентаря");
-            primaryStage.setScene(scene);
-            primaryStage.setMinWidth(800);
-            primaryStage.setMinHeight(500);
-            primaryStage.show();
-
-            System.out.println("🚀 Приложение успешно запущено");
+            Log.info("🚀 Приложение успешно запущено");
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.error("❌ Ошибка запуска приложения: " + e.getMessage(), e);
             showErrorAlert("Критическая ошибка", "Ошибка запуска приложения: " + e.getMessage());
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Вызывается контроллером, когда таблица впервые показала данные.
+     * При {@code startup.exitAfterFirstPage=true} приложение на этом
+     * завершается: так выполняется обучающий запуск для архива CDS.
+     */
+    private void firstPageShown() {
+        startup.recordSinceProcessStart("interactive");
+        if (config.getBoolean("startup.exitAfterFirstPage", false)) {
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Создает выгрузку метрик, если задан интервал {@code metrics.intervalSeconds}.
+     */
+    private static MetricsExporter createMetricsExporter(DatabaseConfig config) {
+        long interval = config.getLong("metrics.intervalSeconds", 0);
+        if (interval <= 0) {
+            return null;
+        }
+        Path file = Path.of(config.get("metrics.file", "metrics.prom"));
+        Log.info("📊 Метрики выгружаются в " + file.toAbsolutePath() + " каждые " + interval + " с");
+        return new MetricsExporter(Metrics.getDefault(), file, interval);
+    }
+
+    /**
+     * Завершение приложения.
+     * Дожидается открытия базы, если окно закрыто раньше (пул не закрывается
+     * посреди миграции), затем закрывает пул соединений с базой данных,
+     * записывает последний снимок метрик и дописывает журнал.
+     */
+    @Override
+    public void stop() {
+        try {
+            if (databaseOpener != null) {
+                databaseOpener.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ConnectionPool.shutdownDefault();
+        if (metricsExporter != null) {
+            metricsExporter.close();
         }
+        Log.flush();
     }
 
     /**
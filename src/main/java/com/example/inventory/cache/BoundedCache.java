@@ -0,0 +1,148 @@
+package com.example.inventory.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Потокобезопасный кэш ограниченного размера с вытеснением давно
+ * не использованных записей (LRU).
+ *
+ * Кэш хранит и отрицательные результаты: ключ, для которого источник
+ * ничего не вернул, запоминается, и повторный запрос не идет в источник.
+ *
+ * Чтобы загрузка, начатая до изменения данных, не положила в кэш
+ * устаревшее значение, каждое изменение увеличивает счетчик
+ * ({@link #stamp()}); значение, прочитанное до изменения, отбрасывается.
+ *
+ * @param <K> тип ключа
+ * @param <V> тип значения
+ */
+public class BoundedCache<K, V> {
+    // Отметка отрицательного результата: значения нет в источнике
+    private static final Object ABSENT = new Object();
+
+    private final int maxSize;
+    private final LinkedHashMap<K, Object> entries;
+    private long stamp;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BoundedCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("❌ Размер кэша должен быть положительным: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(Math.min(maxSize, 1024) * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Object> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Возвращает значение из кэша, а при промахе загружает его из источника.
+     * Загрузка идет без блокировки кэша; результат {@code null} тоже кэшируется,
+     * а исключение загрузчика передается вызывающему и ничего не оставляет в кэше.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long before;
+        synchronized (this) {
+            Object cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return unwrap(cached);
+            }
+            before = stamp;
+        }
+
+        misses.increment();
+        V value = loader.apply(key);
+        putIfUnchanged(key, value, before);
+        return value;
+    }
+
+    /**
+     * Текущее значение счетчика изменений. Передается в
+     * {@link #putIfUnchanged}, чтобы не кэшировать данные, прочитанные до изменения.
+     */
+    public synchronized long stamp() {
+        return stamp;
+    }
+
+    /**
+     * Кладет значение, если с момента {@code since} данные не менялись.
+     * {@code null} сохраняется как отрицательный результат.
+     */
+    public synchronized void putIfUnchanged(K key, V value, long since) {
+        if (stamp == since) {
+            entries.put(key, value == null ? ABSENT : value);
+        }
+    }
+
+    /**
+     * Кладет актуальное значение после изменения данных.
+     * {@code null} сохраняется как отрицательный результат.
+     */
+    public synchronized void put(K key, V value) {
+        stamp++;
+        entries.put(key, value == null ? ABSENT : value);
+    }
+
+    /**
+     * Удаляет запись после изменения данных.
+     */
+    public synchronized void invalidate(K key) {
+        stamp++;
+        if (entries.remove(key) != null) {
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * Удаляет запись, если ее значение устарело. {@code upToDate} получает
+     * значение из кэша ({@code null} — отрицательный результат); записи,
+     * которой нет в кэше, удалять нечего.
+     */
+    public synchronized void invalidateUnless(K key, Predicate<? super V> upToDate) {
+        stamp++;
+        Object cached = entries.get(key);
+        if (cached != null && !upToDate.test(unwrap(cached))) {
+            entries.remove(key);
+            invalidations.increment();
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        stamp++;
+        invalidations.add(entries.size());
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), size(), maxSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V unwrap(Object cached) {
+        return cached == ABSENT ? null : (V) cached;
+    }
+}
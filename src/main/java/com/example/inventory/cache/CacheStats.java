@@ -0,0 +1,28 @@
+package com.example.inventory.cache;
+
+/**
+ * Снимок статистики кэша.
+ *
+ * @param hits         обращения, обслуженные из памяти (включая отрицательные записи)
+ * @param misses       обращения, потребовавшие чтения из источника
+ * @param evictions    записи, вытесненные из-за ограничения размера
+ * @param invalidations записи, удаленные из-за изменения данных
+ * @param size         текущее число записей
+ * @param maxSize      наибольшее число записей
+ */
+public record CacheStats(long hits, long misses, long evictions, long invalidations, int size, int maxSize) {
+
+    /**
+     * Доля обращений, обслуженных из памяти.
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats{hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, invalidations=%d, size=%d/%d}",
+                hits, misses, hitRate() * 100, evictions, invalidations, size, maxSize);
+    }
+}
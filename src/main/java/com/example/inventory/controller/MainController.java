@@ -1,32 +1,98 @@
 package com.example.inventory.controller;
 
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.io.ItemExporter;
+import com.example.inventory.io.ItemImporter;
+import com.example.inventory.io.SnapshotFile;
+import com.example.inventory.metrics.LatencyHistogram;
+import com.example.inventory.metrics.Log;
+import com.example.inventory.metrics.Metrics;
+import com.example.inventory.model.CachedItemDAO;
+import com.example.inventory.model.ChangeFeed;
+import com.example.inventory.model.ChangeListener;
 import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemChange;
 import com.example.inventory.model.ItemDAO;
+import com.example.inventory.model.ItemMutation;
+import com.example.inventory.model.ItemSnapshot;
+import com.example.inventory.model.ItemSort;
+import com.example.inventory.model.WriteBehindItemDAO;
+import com.example.inventory.search.TrigramIndex;
+import com.example.inventory.service.AsyncItemService;
+import com.example.inventory.service.FxThreadMonitor;
+import com.example.inventory.view.DiagnosticsPanel;
+import com.example.inventory.view.ExportDialog;
+import com.example.inventory.view.ImportDialog;
+import com.example.inventory.view.ItemCellCache;
+import com.example.inventory.view.LazyItemList;
+import com.example.inventory.view.SearchPipeline;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
 
 /**
  * Главный контроллер приложения.
  * Управляет основным интерфейсом, таблицей товаров и операциями.
  */
 public class MainController {
-    private final ItemDAO itemDAO = new ItemDAO(); // DAO для работы с товарами
-    private final ObservableList<Item> items = FXCollections.observableArrayList(); // Список товаров
+    private static final int PAGE_SIZE = 200;        // Строк в одной странице таблицы
+    private static final int MAX_CACHED_PAGES = 20;  // Страниц, которые держим в памяти
+    private static final int SEARCH_LIMIT = 1000;    // Лучших результатов поиска в таблице
+    private static final int SEARCH_DELAY_MS = 150;  // Пауза во вводе перед поиском в базе
+    private static final int MAX_DELTA_CHANGES = 200; // Больше изменений сразу — таблица перечитывается
+    private static final int CELL_CACHE_ROWS = 2048; // Строк с готовыми значениями ячеек
+    private static final int SNAPSHOT_DELAY_S = 5;   // Пауза после изменений перед записью снимка
+    private static final ItemSort INITIAL_SORT = ItemSort.NAME_ASC; // Порядок при открытии окна
+
+    private static final LatencyHistogram loadTime = Metrics.getDefault().timer("ui.load");
+
+    private final ItemDAO itemDAO;
+    // Все обращения к базе идут в фоне, результаты возвращаются в UI-поток
+    private final AsyncItemService itemService;
+    // Виртуальный список: в памяти только просмотренные страницы, вытесненные — в компактном виде
+    private final LazyItemList items;
+    // Индекс подстрок по загруженным строкам для мгновенного поиска без обращения к базе
+    private final TrigramIndex searchIndex = new TrigramIndex();
+    // Значения ячеек таблицы для уже показанных строк
+    private final ItemCellCache cellCache = new ItemCellCache(CELL_CACHE_ROWS);
+    // Поиск по мере ввода: результаты публикуются через FilteredList/SortedList
+    private final SearchPipeline search;
+    // Порядок результатов поиска, если таблица не отсортирована по колонке
+    private final ObjectProperty<Comparator<Item>> defaultComparator =
+            new SimpleObjectProperty<>(INITIAL_SORT.comparator());
+    // Замеры задержки потока JavaFX для окна диагностики
+    private final FxThreadMonitor fxMonitor = new FxThreadMonitor(Metrics.getDefault());
+    private DiagnosticsPanel diagnosticsPanel;
+    // Подписка на журнал изменений: таблица обновляется по зафиксированным изменениям
+    private ChangeFeed.Subscription changeSubscription;
+    // Вызывается один раз, когда таблица впервые показала данные
+    private Runnable onFirstPage;
+    // Снимок начала таблицы для быстрого запуска: строк в снимке (0 — не сохранять) и файл
+    private final int snapshotRows;
+    private final Path snapshotFile;
+    private final PauseTransition snapshotDelay = new PauseTransition(Duration.seconds(SNAPSHOT_DELAY_S));
+    // Номер последнего изменения в сохраненном снимке
+    private volatile long snapshotSequence = -1;
 
     // Элементы интерфейса
     @FXML private TableView<Item> itemsTable;
@@ -36,6 +102,41 @@ public class MainController {
     @FXML private TableColumn<Item, LocalDateTime> createdAtColumn;
     @FXML private TextField searchField;
     @FXML private ComboBox<String> sortComboBox;
+    @FXML private ProgressIndicator loadingIndicator;
+
+    /**
+     * Создает контроллер поверх уже открытой базы.
+     *
+     * @param itemDAO     DAO из {@link #createItemDAO()}
+     * @param onFirstPage вызывается, когда таблица впервые показала данные
+     */
+    public MainController(ItemDAO itemDAO, Runnable onFirstPage) {
+        this.itemDAO = itemDAO;
+        this.onFirstPage = onFirstPage;
+        this.itemService = new AsyncItemService(itemDAO);
+        this.items = new LazyItemList(itemService, INITIAL_SORT, PAGE_SIZE, MAX_CACHED_PAGES,
+                itemDAO.getConfig().getInt("view.compactPages", 0));
+        this.search = new SearchPipeline(itemService, searchIndex, SEARCH_LIMIT, Duration.millis(SEARCH_DELAY_MS));
+        this.snapshotRows = itemDAO.getConfig().getInt("snapshot.rows", 0);
+        this.snapshotFile = snapshotRows > 0 ? SnapshotFile.forDatabase(itemDAO.getConfig()) : null;
+    }
+
+    /**
+     * Создает DAO: с отложенной записью, если она включена в настройках
+     * ({@code writeBehind.enabled}), иначе с кэшем и немедленной записью.
+     * Кэш подписывается на журнал изменений, чтобы видеть правки других
+     * процессов; подписка закрывается вместе с пулом.
+     * Открывает базу, поэтому вызывается вне потока JavaFX.
+     */
+    public static ItemDAO createItemDAO() {
+        ConnectionPool pool = ConnectionPool.getDefault();
+        CachedItemDAO dao = pool.getConfig().getBoolean("writeBehind.enabled", false)
+                ? new WriteBehindItemDAO(pool)
+                : new CachedItemDAO(pool);
+        dao.registerMetrics(Metrics.getDefault());
+        pool.addCloseHook(dao.followChanges()::close);
+        return dao;
+    }
 
     /**
      * Инициализация контроллера.
@@ -44,108 +145,312 @@ public class MainController {
     @FXML
     public void initialize() {
         configureTableColumns(); // Настройка колонок таблицы
-        loadData();              // Загрузка данных
-        setupSearchFilter();     // Настройка поиска
+        loadingIndicator.visibleProperty().bind(itemService.busyProperty());
+        items.setLoadedItemsListener((unloaded, loaded) -> {
+            searchIndex.removeAll(unloaded);
+            searchIndex.putAll(loaded);
+            if (!loaded.isEmpty()) {
+                // Загружена первая страница (из базы или из снимка): таблица показала данные
+                firstPageShown();
+            }
+        });
         setupSorting();          // Настройка сортировки
+        startLoading();          // Снимок или первая страница из базы — в фоне
+        setupSnapshots();        // Фоновое сохранение снимка
+        setupSearchFilter();     // Настройка поиска
     }
 
     /**
      * Настраивает колонки таблицы товаров.
      */
     private void configureTableColumns() {
-        idColumn.setCellValueFactory(cellData ->
-                new SimpleStringProperty(cellData.getValue().getId().toString()));
-
-        nameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
-        descriptionColumn.setCellValueFactory(new PropertyValueFactory<>("description"));
-        createdAtColumn.setCellValueFactory(new PropertyValueFactory<>("createdAt"));
-
-        // Форматирование даты в колонке
+        // Значения ячеек берутся из кэша строк: при прокрутке не создаются
+        // новые свойства и строки. Строка без товара — страница виртуального
+        // списка еще загружается, ее ячейки пусты
+        idColumn.setCellValueFactory(cellData -> cellCache.id(cellData.getValue()));
+        nameColumn.setCellValueFactory(cellData -> cellCache.name(cellData.getValue()));
+        descriptionColumn.setCellValueFactory(cellData -> cellCache.description(cellData.getValue()));
+        createdAtColumn.setCellValueFactory(cellData -> cellCache.createdAt(cellData.getValue()));
+
+        // Дата форматируется один раз на строку, значение ячейки остается датой для сортировки
         createdAtColumn.setCellFactory(column -> new TableCell<>() {
-            private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
-
             @Override
             protected void updateItem(LocalDateTime item, boolean empty) {
                 super.updateItem(item, empty);
-                setText((empty || item == null) ? "" : formatter.format(item));
+                TableRow<Item> row = getTableRow();
+                setText(empty || item == null || row == null ? "" : cellCache.createdAtText(row.getItem()));
             }
         });
+
+        // Виртуальный список сортируется в базе данных через sortComboBox,
+        // поэтому сортировка по заголовкам доступна только для результатов поиска.
+        // Их сортирует SortedList: колонкой таблицы или выбранной сортировкой
+        itemsTable.setSortPolicy(table -> table.getItems() != items);
+        search.getResults().comparatorProperty().bind(Bindings.createObjectBinding(
+                () -> itemsTable.getComparator() != null ? itemsTable.getComparator() : defaultComparator.get(),
+                itemsTable.comparatorProperty(), defaultComparator));
     }
 
     /**
-     * Загружает данные из базы и обновляет таблицу.
+     * Точка, с которой окно начинает показывать базу: проверенный снимок
+     * ({@code null}, если его нет или он не подходит) и номер изменения,
+     * с которого нужно подписаться на журнал.
+     */
+    private record StartPoint(ItemSnapshot snapshot, long sequence) {
+    }
+
+    /**
+     * Начинает показ данных. Снимок читается и проверяется по журналу
+     * в фоне, как и любое обращение к базе; в потоке JavaFX остаются
+     * только подписка и заполнение таблицы.
+     */
+    private void startLoading() {
+        itemsTable.setItems(items);
+        long start = System.nanoTime();
+        itemService.submit(this::findStartPoint)
+                .thenAccept(point -> {
+                    // Подписка с номера снимка или текущего номера: более поздние изменения не теряются
+                    subscribeToChanges(point.sequence());
+                    if (point.snapshot() != null) {
+                        showSnapshot(point.snapshot(), start);
+                    } else {
+                        loadData();
+                    }
+                })
+                .exceptionally(this::handleFailure);
+    }
+
+    /**
+     * Перечитывает данные из базы и обновляет таблицу.
+     * Загружаются только страницы, которые видны в таблице.
+     * Время до показа первой страницы записывается в метрику {@code ui.load}.
      */
     private void loadData() {
-        items.setAll(itemDAO.readAll());
         itemsTable.setItems(items);
-        System.out.println("🔄 Данные обновлены. Товаров: " + items.size());
+        long start = System.nanoTime();
+        items.refresh()
+                .thenAccept(count -> {
+                    loadTime.recordSince(start);
+                    Log.info("🔄 Данные обновлены. Товаров: " + count);
+                    if (count == 0) {
+                        // Страниц не будет: пустая таблица уже показана целиком
+                        firstPageShown();
+                    }
+                    scheduleSnapshot();
+                })
+                .exceptionally(this::handleFailure);
+    }
+
+    /**
+     * Ищет снимок прошлого запуска, подходящий к базе. Без снимка окно
+     * подписывается на журнал с текущего номера и читает данные из базы.
+     * Выполняется в фоне.
+     */
+    private StartPoint findStartPoint() {
+        ChangeFeed feed = itemDAO.getChangeFeed();
+        if (snapshotFile != null) {
+            try {
+                ItemSnapshot snapshot = SnapshotFile.read(snapshotFile);
+                if (snapshot != null && snapshot.sort() == INITIAL_SORT
+                        && feed.canResumeFrom(snapshot.sequence(), snapshot.lastChangeId())) {
+                    return new StartPoint(snapshot, snapshot.sequence());
+                }
+                if (snapshot != null) {
+                    Log.info("🗂️ Снимок таблицы не соответствует базе, данные читаются из базы");
+                }
+            } catch (IOException e) {
+                Log.error("❌ Снимок таблицы не прочитан: " + e.getMessage());
+            }
+        }
+        return new StartPoint(null, feed.getLastSequence());
+    }
+
+    /**
+     * Показывает начало таблицы из снимка прошлого запуска, не дожидаясь
+     * подсчета строк в базе. Снимок содержит ограниченное число строк,
+     * поэтому время до первой отрисовки не зависит от размера таблицы.
+     * Изменения после снимка приходят из журнала и применяются поверх
+     * него так же, как изменения во время работы.
+     */
+    private void showSnapshot(ItemSnapshot snapshot, long start) {
+        if (!items.seed(snapshot)) {
+            // Сортировку сменили, пока снимок читался
+            loadData();
+            return;
+        }
+        snapshotSequence = snapshot.sequence();
+        loadTime.recordSince(start);
+        Log.info("⚡ Таблица показана из снимка. Товаров: " + snapshot.totalCount());
+        if (items.isEmpty()) {
+            firstPageShown();
+        }
+    }
+
+    /**
+     * Сообщает о первом показе данных: о первой загруженной странице, а для
+     * пустой таблицы — о получении числа строк. Вызов откладывается, чтобы окно
+     * успело подставить интерфейс.
+     */
+    private void firstPageShown() {
+        if (onFirstPage != null) {
+            Platform.runLater(onFirstPage);
+            onFirstPage = null;
+        }
+    }
+
+    /**
+     * Включает сохранение снимка: в фоне после паузы в изменениях
+     * и при закрытии пула соединений DAO (после записи отложенных изменений).
+     */
+    private void setupSnapshots() {
+        if (snapshotFile == null) {
+            return;
+        }
+        snapshotDelay.setOnFinished(event -> itemService
+                .submitLatest("snapshot", cancelled -> {
+                    writeSnapshot();
+                    return null;
+                })
+                .exceptionally(this::handleFailure));
+        itemDAO.getPool().addCloseHook(this::writeSnapshot);
+    }
+
+    /**
+     * Откладывает запись снимка до паузы в изменениях.
+     */
+    private void scheduleSnapshot() {
+        if (snapshotFile != null) {
+            snapshotDelay.playFromStart();
+        }
+    }
+
+    /**
+     * Записывает снимок, если после предыдущего в базе были изменения.
+     */
+    private void writeSnapshot() {
+        // Журнал к закрытию пула уже остановлен, поэтому номер читается напрямую
+        if (itemDAO.getLastSequence() == snapshotSequence) {
+            return;
+        }
+        ItemSnapshot snapshot = itemDAO.readSnapshot(INITIAL_SORT, snapshotRows);
+        if (snapshot == null || snapshot.sequence() == 0) {
+            // Снимок без номера изменения нельзя проверить при запуске
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            SnapshotFile.write(snapshotFile, snapshot);
+            snapshotSequence = snapshot.sequence();
+            Log.debug(() -> "🗂️ Снимок таблицы записан: " + snapshot.items().size() + " строк за "
+                    + (System.nanoTime() - start) / 1_000_000 + " мс");
+        } catch (IOException e) {
+            Log.error("❌ Ошибка при записи снимка таблицы: " + e.getMessage());
+        }
     }
 
     /**
      * Настраивает фильтрацию по поисковому запросу.
      */
     private void setupSearchFilter() {
+        search.setOnError(this::handleFailure);
         searchField.textProperty().addListener((obs, oldVal, newVal) ->
-                filterItems(newVal.toLowerCase())
+                filterItems(newVal)
         );
     }
 
     /**
      * Фильтрует товары по поисковому запросу.
+     * Поиск не блокирует ввод: совпадения среди загруженных строк видны сразу,
+     * а поиск по базе выполняется в фоне после паузы во вводе.
      */
     private void filterItems(String filter) {
-        if (filter.isEmpty()) {
-            itemsTable.setItems(items);
-            return;
-        }
-
-        ObservableList<Item> filteredItems = FXCollections.observableArrayList();
-        for (Item item : items) {
-            boolean nameMatches = item.getName().toLowerCase().contains(filter);
-            boolean descMatches = item.getDescription() != null &&
-                    item.getDescription().toLowerCase().contains(filter);
-
-            if (nameMatches || descMatches) {
-                filteredItems.add(item);
-            }
-        }
-        itemsTable.setItems(filteredItems);
+        search.setQuery(filter);
+        itemsTable.setItems(filter.isEmpty() ? items : search.getResults());
     }
 
     /**
      * Настраивает сортировку товаров.
      */
     private void setupSorting() {
-        sortComboBox.getItems().addAll(
-                "По названию (А-Я)",
-                "По названию (Я-А)",
-                "По дате (новые)"
-        );
-        sortComboBox.getSelectionModel().selectFirst();
-        handleSort(); // Применяем сортировку при инициализации
+        for (ItemSort sort : ItemSort.values()) {
+            sortComboBox.getItems().add(sort.getLabel());
+        }
+        sortComboBox.getSelectionModel().select(items.getSort().getLabel());
     }
 
     /**
      * Применяет выбранную сортировку (обработчик из FXML).
+     * Порядок задается запросом к базе, поэтому сортируется вся таблица,
+     * а не только загруженные строки.
      */
     @FXML
     private void handleSort() {
-        String selected = sortComboBox.getSelectionModel().getSelectedItem();
-        if (selected == null) return;
+        ItemSort sort = ItemSort.fromLabel(sortComboBox.getSelectionModel().getSelectedItem());
+        if (sort == null || sort == items.getSort()) return;
 
-        Comparator<Item> comparator = switch (selected) {
-            case "По названию (А-Я)" -> Comparator.comparing(Item::getName);
-            case "По названию (Я-А)" -> Comparator.comparing(Item::getName).reversed();
-            case "По дате (новые)" -> Comparator.comparing(Item::getCreatedAt).reversed();
-            default -> null;
-        };
+        items.setSort(sort).exceptionally(this::handleFailure);
+        defaultComparator.set(sort.comparator());
+    }
 
-        if (comparator != null) {
-            FXCollections.sort(items, comparator);
+    // Обработчики действий пользователя
+
+    /**
+     * Подписывается на журнал изменений базы. Изменения из этого окна,
+     * других окон, HTTP-сервера и других процессов применяются к таблице
+     * и результатам поиска одинаково — точечно, после коммита.
+     *
+     * @param afterSequence номер изменения, которое уже отражено в таблице
+     */
+    private void subscribeToChanges(long afterSequence) {
+        changeSubscription = itemDAO.getChangeFeed().subscribe(afterSequence, new ChangeListener() {
+            @Override
+            public void onChanges(List<ItemChange> changes) {
+                Platform.runLater(() -> applyChanges(changes));
+            }
+
+            @Override
+            public void onReset(long sequence) {
+                Platform.runLater(MainController.this::handleRefresh);
+            }
+        });
+    }
+
+    /**
+     * Применяет пакет изменений. Большой пакет (например, после импорта)
+     * дешевле применить одним перечитыванием.
+     */
+    private void applyChanges(List<ItemChange> changes) {
+        if (changes.size() > MAX_DELTA_CHANGES) {
+            handleRefresh();
+            return;
+        }
+        for (ItemChange change : changes) {
+            if (change.type() == ItemMutation.Type.DELETE) {
+                Item removed = new Item();
+                removed.setId(change.id());
+                items.applyRemove(change.id(), change.previous());
+                search.apply(removed, true);
+            } else {
+                if (change.type() == ItemMutation.Type.CREATE) {
+                    items.applyInsert(change.item());
+                } else {
+                    items.applyReplace(change.item(), change.previous());
+                }
+                search.apply(change.item(), false);
+            }
         }
+        scheduleSnapshot();
     }
 
-    // Обработчики действий пользователя
+    /**
+     * Полностью перечитывает таблицу и результаты поиска.
+     * Остальные изменения применяются к таблице точечно.
+     */
+    @FXML
+    private void handleRefresh() {
+        loadData();
+        search.refresh();
+    }
 
     @FXML
     private void handleAdd() {
@@ -156,7 +461,17 @@ public class MainController {
     private void handleEdit() {
         Item selected = itemsTable.getSelectionModel().getSelectedItem();
         if (selected != null) {
-            showItemForm(selected);
+            // Форма правит свежую копию из кэша: строка таблицы меняется только после записи в базу
+            itemService.getById(selected.getId())
+                    .thenAccept(current -> {
+                        if (current != null) {
+                            showItemForm(current);
+                        } else {
+                            // Строку уберет журнал изменений
+                            showAlert("Ошибка", "Товар уже удален: " + selected.getName());
+                        }
+                    })
+                    .exceptionally(this::handleFailure);
         } else {
             showAlert("Ошибка", "Выберите товар для редактирования");
         }
@@ -183,16 +498,82 @@ public class MainController {
 
         alert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                itemDAO.delete(item.getId());
-                items.remove(item);
-                loadData();
-                showAlert("Успех", "Товар удален: " + item.getName());
+                itemService.delete(item.getId())
+                        .thenAccept(deleted -> {
+                            if (deleted) {
+                                showAlert("Успех", "Товар удален: " + item.getName());
+                            } else {
+                                showAlert("Ошибка", "Товар уже удален: " + item.getName());
+                            }
+                        })
+                        .exceptionally(this::handleFailure);
             }
         });
     }
 
+    /**
+     * Импортирует товары из файла CSV или JSON. После импорта таблица
+     * и результаты поиска перечитываются.
+     */
+    @FXML
+    private void handleImport() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Импорт товаров");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV и JSON", "*.csv", "*.txt", "*.json", "*.ndjson", "*.jsonl"),
+                new FileChooser.ExtensionFilter("Все файлы", "*.*"));
+        File file = chooser.showOpenDialog(itemsTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        try {
+            new ImportDialog(new ItemImporter(itemDAO), file.toPath(), itemsTable.getScene().getWindow(),
+                    this::handleRefresh).show();
+        } catch (IllegalArgumentException e) {
+            showAlert("Ошибка", e.getMessage());
+        }
+    }
+
+    /**
+     * Выгружает все товары в файл. Формат выбирается расширением,
+     * суффикс .gz включает сжатие.
+     */
+    @FXML
+    private void handleExport() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Экспорт товаров");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV", "*.csv", "*.csv.gz"),
+                new FileChooser.ExtensionFilter("NDJSON", "*.ndjson", "*.ndjson.gz"),
+                new FileChooser.ExtensionFilter("Колоночный формат", "*.icol", "*.icol.gz"));
+        chooser.setInitialFileName("items.csv");
+        File file = chooser.showSaveDialog(itemsTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        try {
+            new ExportDialog(new ItemExporter(itemDAO), file.toPath(), itemsTable.getScene().getWindow()).show();
+        } catch (IllegalArgumentException e) {
+            showAlert("Ошибка", e.getMessage());
+        }
+    }
+
+    /**
+     * Открывает окно диагностики с метриками приложения.
+     */
+    @FXML
+    private void handleDiagnostics() {
+        if (diagnosticsPanel == null) {
+            diagnosticsPanel = new DiagnosticsPanel(Metrics.getDefault(), itemsTable.getScene().getWindow());
+        }
+        diagnosticsPanel.show();
+    }
+
     @FXML
     private void handleExit() {
+        changeSubscription.close();
+        fxMonitor.close();
+        itemService.close();
         Platform.exit();
     }
 
@@ -217,23 +598,50 @@ public class MainController {
                 saveItem(item);
             }
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("❌ Не удалось открыть форму: " + e.getMessage(), e);
             showAlert("Ошибка", "Не удалось открыть форму: " + e.getMessage());
         }
     }
 
     /**
-     * Сохраняет товар в базу данных.
+     * Сохраняет товар в базу данных: новый создается, существующий обновляется.
+     * Таблица не перечитывается — измененную строку вносит журнал изменений.
      */
-    private void saveItem(Item originalItem) {
-        Item savedItem = new Item();
-        savedItem.setName(originalItem.getName());
-        savedItem.setDescription(originalItem.getDescription());
+    private void saveItem(Item formItem) {
+        if (formItem.getId() != null) {
+            itemService.update(formItem)
+                    .thenAccept(updated -> {
+                        if (updated) {
+                            showAlert("Успех", "Товар сохранен: " + formItem.getName());
+                        } else {
+                            showAlert("Ошибка", "Товар уже удален: " + formItem.getName());
+                        }
+                    })
+                    .exceptionally(this::handleFailure);
+            return;
+        }
 
-        itemDAO.create(savedItem);
-        loadData();
+        Item savedItem = new Item();
+        savedItem.setName(formItem.getName());
+        savedItem.setDescription(formItem.getDescription());
+
+        itemService.create(savedItem)
+                .thenAccept(created -> {
+                    showAlert("Успех", "Товар сохранен: " + created.getName());
+                })
+                .exceptionally(this::handleFailure);
+    }
 
-        showAlert("Успех", "Товар сохранен: " + savedItem.getName());
+    /**
+     * Показывает ошибку фонового запроса. Отмененные (устаревшие) запросы
+     * ошибкой не считаются.
+     */
+    private <T> T handleFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!(cause instanceof CancellationException)) {
+            showAlert("Ошибка", cause.getMessage());
+        }
+        return null;
     }
 
     /**
@@ -0,0 +1,346 @@
+package com.example.inventory.db;
+
+import com.example.inventory.metrics.LatencyHistogram;
+import com.example.inventory.metrics.Log;
+import com.example.inventory.metrics.Metrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пул долгоживущих соединений с SQLite.
+ * SQLite допускает только одного писателя, поэтому пул держит одно выделенное
+ * соединение для записи и до N соединений для чтения.
+ * Соединения открываются лениво и переиспользуются между вызовами DAO.
+ *
+ * Выданное соединение — это прокси: вызов {@code close()} возвращает его в пул,
+ * поэтому код DAO продолжает использовать обычный try-with-resources.
+ *
+ * Каждое новое соединение настраивается PRAGMA из {@link DatabaseConfig}.
+ * В режиме WAL пул также запускает фоновые контрольные точки.
+ *
+ * Время ожидания свободного соединения записывается в метрики
+ * {@code pool.wait.writer} и {@code pool.wait.reader}.
+ */
+public class ConnectionPool implements AutoCloseable {
+    public static final String DEFAULT_URL = "jdbc:sqlite:inventory.db";
+
+    private static final LatencyHistogram writerWait = Metrics.getDefault().timer("pool.wait.writer");
+    private static final LatencyHistogram readerWait = Metrics.getDefault().timer("pool.wait.reader");
+
+    private static ConnectionPool defaultPool;
+
+    private final DatabaseConfig config;
+    private final String url;
+    private final int readerCount;
+    private final long acquireTimeoutMillis;
+    private final WalCheckpointer checkpointer;
+
+    private final Semaphore writerPermit = new Semaphore(1, true);
+    private final Semaphore readerPermits;
+    private final Deque<Connection> idleReaders = new ArrayDeque<>();
+    private final List<Connection> allConnections = new ArrayList<>();
+    private final List<Runnable> closeHooks = new CopyOnWriteArrayList<>();
+    private final List<Runnable> writeListeners = new CopyOnWriteArrayList<>();
+    private Connection writer;
+    private volatile boolean closed;
+
+    /**
+     * Создает пул для указанной базы данных.
+     *
+     * @param url                  JDBC URL базы данных
+     * @param readerCount          максимальное число соединений для чтения
+     * @param acquireTimeoutMillis сколько ждать свободное соединение
+     */
+    public ConnectionPool(String url, int readerCount, long acquireTimeoutMillis) {
+        this(DatabaseConfig.forUrl(url)
+                .with("pool.readers", String.valueOf(readerCount))
+                .with("pool.acquireTimeoutMs", String.valueOf(acquireTimeoutMillis)));
+    }
+
+    /**
+     * Создает пул по настройкам базы данных.
+     */
+    public ConnectionPool(DatabaseConfig config) {
+        if (config.getReaderCount() < 1) {
+            throw new IllegalArgumentException("❌ Пул должен содержать хотя бы одно соединение для чтения");
+        }
+        this.config = config;
+        this.url = config.getUrl();
+        this.readerCount = config.getReaderCount();
+        this.acquireTimeoutMillis = config.getAcquireTimeoutMillis();
+        this.readerPermits = new Semaphore(readerCount, true);
+
+        long interval = config.getCheckpointIntervalSeconds();
+        this.checkpointer = config.isWal() && interval > 0 ? new WalCheckpointer(this, interval) : null;
+    }
+
+    /**
+     * Возвращает общий пул приложения.
+     * Настройки читаются через {@link DatabaseConfig#load()}.
+     */
+    public static synchronized ConnectionPool getDefault() {
+        if (defaultPool == null || defaultPool.isClosed()) {
+            defaultPool = new ConnectionPool(DatabaseConfig.load());
+        }
+        return defaultPool;
+    }
+
+    /**
+     * Закрывает общий пул приложения, если он был создан.
+     */
+    public static synchronized void shutdownDefault() {
+        if (defaultPool != null) {
+            defaultPool.close();
+            defaultPool = null;
+        }
+    }
+
+    public DatabaseConfig getConfig() {
+        return config;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getReaderCount() {
+        return readerCount;
+    }
+
+    /**
+     * Регистрирует действие, выполняемое в начале {@link #close()}, пока
+     * соединения еще доступны (например, запись отложенных изменений).
+     */
+    public void addCloseHook(Runnable hook) {
+        closeHooks.add(hook);
+    }
+
+    /**
+     * Регистрирует действие, выполняемое каждый раз после возврата соединения
+     * для записи (например, пробуждение журнала изменений). Действие вызывается
+     * в потоке писателя и не должно блокироваться.
+     */
+    public void addWriteListener(Runnable listener) {
+        writeListeners.add(listener);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Выдает единственное соединение для записи.
+     * Пока оно не закрыто вызывающим кодом, остальные писатели ждут.
+     */
+    public Connection acquireWriter() throws SQLException {
+        acquire(writerPermit, writerWait, "записи");
+        try {
+            synchronized (this) {
+                writer = ensureHealthy(writer, false);
+                return lease(writer, () -> {
+                    writerPermit.release();
+                    for (Runnable listener : writeListeners) {
+                        listener.run();
+                    }
+                });
+            }
+        } catch (SQLException | RuntimeException e) {
+            writerPermit.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Выдает соединение для чтения. Такие соединения работают в режиме
+     * {@code query_only} и не могут случайно изменить данные.
+     */
+    public Connection acquireReader() throws SQLException {
+        acquire(readerPermits, readerWait, "чтения");
+        try {
+            Connection physical;
+            synchronized (this) {
+                physical = ensureHealthy(idleReaders.pollFirst(), true);
+            }
+            return lease(physical, () -> {
+                synchronized (this) {
+                    if (closed) {
+                        closeQuietly(physical);
+                    } else {
+                        idleReaders.addFirst(physical);
+                    }
+                }
+                readerPermits.release();
+            });
+        } catch (SQLException | RuntimeException e) {
+            readerPermits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Закрывает все физические соединения пула.
+     * Соединения, которые сейчас выданы, закрываются при возврате.
+     * В режиме WAL перед закрытием журнал переносится в основной файл.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        for (Runnable hook : closeHooks) {
+            try {
+                hook.run();
+            } catch (RuntimeException e) {
+                Log.error("❌ Ошибка при закрытии пула: " + e.getMessage());
+            }
+        }
+        if (checkpointer != null) {
+            checkpointer.close();
+            checkpointer.checkpoint("TRUNCATE");
+        }
+        closeConnections();
+    }
+
+    private synchronized void closeConnections() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Connection conn : allConnections) {
+            closeQuietly(conn);
+        }
+        allConnections.clear();
+        idleReaders.clear();
+        writer = null;
+        Log.info("🔌 Пул соединений закрыт: " + url);
+    }
+
+    private void acquire(Semaphore permits, LatencyHistogram wait, String purpose) throws SQLException {
+        if (closed) {
+            throw new SQLException("Пул соединений закрыт");
+        }
+        long start = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+            wait.recordSince(start);
+            if (!acquired) {
+                throw new SQLException("Превышено время ожидания соединения для " + purpose);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Ожидание соединения прервано", e);
+        }
+    }
+
+    /**
+     * Проверяет соединение перед выдачей и при необходимости открывает новое.
+     */
+    private Connection ensureHealthy(Connection conn, boolean readOnly) throws SQLException {
+        if (closed) {
+            throw new SQLException("Пул соединений закрыт");
+        }
+        if (conn != null) {
+            if (!conn.isClosed() && conn.isValid(1)) {
+                return conn;
+            }
+            allConnections.remove(conn);
+            closeQuietly(conn);
+        }
+        Connection fresh = open(readOnly);
+        allConnections.add(fresh);
+        return fresh;
+    }
+
+    /**
+     * Открывает новое физическое соединение и применяет к нему PRAGMA.
+     */
+    protected Connection open(boolean readOnly) throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            for (String pragma : config.pragmas()) {
+                stmt.execute(pragma);
+            }
+            if (readOnly) {
+                stmt.execute("PRAGMA query_only = ON");
+            }
+        } catch (SQLException e) {
+            closeQuietly(conn);
+            throw e;
+        }
+        return conn;
+    }
+
+    /**
+     * Оборачивает физическое соединение в прокси, который вместо закрытия
+     * возвращает соединение в пул. Незавершенная транзакция откатывается.
+     */
+    private Connection lease(Connection physical, Runnable release) {
+        boolean[] returned = {false};
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            if (!returned[0]) {
+                                returned[0] = true;
+                                reset(physical);
+                                release.run();
+                            }
+                            return null;
+                        }
+                        case "isClosed" -> {
+                            return returned[0] || physical.isClosed();
+                        }
+                        default -> {
+                            if (returned[0]) {
+                                throw new SQLException("Соединение уже возвращено в пул");
+                            }
+                        }
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private void reset(Connection physical) {
+        try {
+            if (!physical.isClosed() && !physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            Log.error("❌ Не удалось сбросить соединение: " + e.getMessage());
+            synchronized (this) {
+                allConnections.remove(physical);
+            }
+            closeQuietly(physical);
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при закрытии соединения: " + e.getMessage());
+        }
+    }
+}
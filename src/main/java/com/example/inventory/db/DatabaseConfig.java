@@ -0,0 +1,166 @@
+package com.example.inventory.db;
+
+import com.example.inventory.metrics.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Настройки базы данных: URL, размер пула и PRAGMA, которые применяются
+ * к каждому новому соединению.
+ *
+ * Значения по умолчанию лежат в ресурсе {@code /database.properties}.
+ * Их можно переопределить файлом {@code database.properties} в рабочем каталоге,
+ * файлом из системного свойства {@code inventory.db.config}
+ * или отдельными системными свойствами с тем же именем ключа.
+ */
+public class DatabaseConfig {
+    public static final String RESOURCE = "/database.properties";
+    public static final String FILE_NAME = "database.properties";
+    public static final String CONFIG_PROPERTY = "inventory.db.config";
+
+    private final Properties properties;
+
+    private DatabaseConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Загружает настройки приложения из всех источников по порядку приоритета.
+     */
+    public static DatabaseConfig load() {
+        Properties props = defaults();
+
+        Path local = Path.of(System.getProperty(CONFIG_PROPERTY, FILE_NAME));
+        if (Files.isRegularFile(local)) {
+            try (Reader reader = Files.newBufferedReader(local, StandardCharsets.UTF_8)) {
+                props.load(reader);
+                Log.info("⚙️ Настройки базы данных загружены из " + local.toAbsolutePath());
+            } catch (IOException e) {
+                Log.error("❌ Не удалось прочитать " + local + ": " + e.getMessage());
+            }
+        }
+
+        for (String key : props.stringPropertyNames()) {
+            String override = System.getProperty(key);
+            if (override != null) {
+                props.setProperty(key, override);
+            }
+        }
+        return new DatabaseConfig(props);
+    }
+
+    /**
+     * Настройки по умолчанию для другой базы данных (тесты, бенчмарки, импорт).
+     */
+    public static DatabaseConfig forUrl(String url) {
+        Properties props = defaults();
+        props.setProperty("db.url", url);
+        return new DatabaseConfig(props);
+    }
+
+    /**
+     * Возвращает копию настроек с измененным значением.
+     */
+    public DatabaseConfig with(String key, String value) {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        copy.setProperty(key, value);
+        return new DatabaseConfig(copy);
+    }
+
+    private static Properties defaults() {
+        Properties props = new Properties();
+        try (InputStream in = DatabaseConfig.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                props.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            Log.error("❌ Не удалось прочитать " + RESOURCE + ": " + e.getMessage());
+        }
+        return props;
+    }
+
+    public String getUrl() {
+        return properties.getProperty("db.url", ConnectionPool.DEFAULT_URL);
+    }
+
+    public int getReaderCount() {
+        return getInt("pool.readers", 4);
+    }
+
+    public long getAcquireTimeoutMillis() {
+        return getLong("pool.acquireTimeoutMs", 10_000L);
+    }
+
+    public String getJournalMode() {
+        return properties.getProperty("pragma.journal_mode", "WAL");
+    }
+
+    public boolean isWal() {
+        return "WAL".equalsIgnoreCase(getJournalMode());
+    }
+
+    /**
+     * Интервал фоновых контрольных точек WAL в секундах, 0 — отключены.
+     */
+    public long getCheckpointIntervalSeconds() {
+        return getLong("checkpoint.intervalSeconds", 30L);
+    }
+
+    /**
+     * Возвращает PRAGMA для нового соединения в порядке применения.
+     * journal_mode идет первым: от него зависят остальные настройки.
+     */
+    public List<String> pragmas() {
+        List<String> pragmas = new ArrayList<>();
+        addPragma(pragmas, "journal_mode", getJournalMode());
+        addPragma(pragmas, "synchronous");
+        addPragma(pragmas, "cache_size");
+        addPragma(pragmas, "mmap_size");
+        addPragma(pragmas, "temp_store");
+        addPragma(pragmas, "busy_timeout");
+        addPragma(pragmas, "wal_autocheckpoint");
+        return pragmas;
+    }
+
+    private void addPragma(List<String> pragmas, String name) {
+        addPragma(pragmas, name, properties.getProperty("pragma." + name));
+    }
+
+    private static void addPragma(List<String> pragmas, String name, String value) {
+        if (value != null && !value.isBlank()) {
+            if (!value.trim().matches("[A-Za-z0-9_-]+")) {
+                throw new IllegalArgumentException("❌ Недопустимое значение PRAGMA " + name + ": " + value);
+            }
+            pragmas.add("PRAGMA " + name + " = " + value.trim());
+        }
+    }
+
+    public String get(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+}
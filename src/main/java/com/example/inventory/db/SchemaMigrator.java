@@ -0,0 +1,116 @@
+package com.example.inventory.db;
+
+import com.example.inventory.metrics.Log;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Версионные миграции схемы базы данных.
+ *
+ * Номер версии хранится в заголовке файла базы ({@code PRAGMA user_version}).
+ * При запуске применяются по порядку все миграции с номером больше текущего;
+ * каждая миграция выполняется в своей транзакции вместе с записью нового
+ * номера, поэтому прерванная миграция откатывается целиком и повторяется
+ * при следующем запуске. В режиме WAL читатели во время миграции продолжают
+ * видеть последнее зафиксированное состояние.
+ */
+public class SchemaMigrator {
+    /**
+     * Шаг миграции, выполняемый внутри транзакции.
+     */
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Миграция до указанной версии схемы.
+     */
+    public record Migration(int version, String description, Step step) {
+    }
+
+    private final List<Migration> migrations = new ArrayList<>();
+
+    /**
+     * Добавляет миграцию. Версии должны возрастать.
+     */
+    public SchemaMigrator add(int version, String description, Step step) {
+        if (version <= getLatestVersion()) {
+            throw new IllegalArgumentException("❌ Версия миграции должна возрастать: " + version);
+        }
+        migrations.add(new Migration(version, description, step));
+        return this;
+    }
+
+    public List<Migration> getMigrations() {
+        return Collections.unmodifiableList(migrations);
+    }
+
+    /**
+     * Версия схемы после применения всех миграций.
+     */
+    public int getLatestVersion() {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version();
+    }
+
+    /**
+     * Текущая версия схемы базы.
+     */
+    public static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Применяет недостающие миграции.
+     *
+     * @return число примененных миграций
+     * @throws SQLException если миграция не удалась (в том числе из-за исключения
+     *                      времени выполнения в шаге) или база создана более новой версией приложения
+     */
+    public int migrate(Connection conn) throws SQLException {
+        int current = currentVersion(conn);
+        if (current > getLatestVersion()) {
+            throw new SQLException("Схема базы (версия " + current + ") новее, чем поддерживает приложение (" +
+                    getLatestVersion() + ")");
+        }
+
+        int applied = 0;
+        for (Migration migration : migrations) {
+            if (migration.version() <= current) {
+                continue;
+            }
+
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                migration.step().apply(conn);
+                stmt.execute("PRAGMA user_version = " + migration.version());
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                // Откат до восстановления автокоммита: иначе тот зафиксирует половину шага
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackError) {
+                    e.addSuppressed(rollbackError);
+                }
+                throw new SQLException("Миграция до версии " + migration.version() + " не удалась: " +
+                        e.getMessage(), e);
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+            Log.info("🔧 Схема базы обновлена до версии " + migration.version() + ": " +
+                    migration.description());
+            applied++;
+        }
+        return applied;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.inventory.db;
+
+import com.example.inventory.metrics.Log;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Периодически переносит страницы из WAL-журнала в основной файл базы.
+ * Пассивная контрольная точка не блокирует читателей и писателя,
+ * поэтому журнал не разрастается при долгой массовой записи.
+ */
+public class WalCheckpointer implements AutoCloseable {
+    private final ConnectionPool pool;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Запускает фоновые контрольные точки с указанным интервалом.
+     */
+    public WalCheckpointer(ConnectionPool pool, long intervalSeconds) {
+        this.pool = pool;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wal-checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> checkpoint("PASSIVE"),
+                intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Выполняет контрольную точку в указанном режиме (PASSIVE, FULL, RESTART, TRUNCATE).
+     *
+     * @return число страниц, перенесенных в основной файл, или -1 при ошибке
+     */
+    public int checkpoint(String mode) {
+        try (Connection conn = pool.acquireWriter();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA wal_checkpoint(" + mode + ")")) {
+            return rs.next() ? rs.getInt(3) : 0;
+        } catch (SQLException e) {
+            if (!pool.isClosed()) {
+                Log.error("❌ Ошибка контрольной точки WAL: " + e.getMessage());
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Останавливает фоновые контрольные точки.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.inventory.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Буферизованный вывод в канал NIO. Данные копятся в прямом буфере
+ * и уходят в канал крупными блоками без промежуточного копирования
+ * в буфер JDK. Считает записанные байты для индикатора хода.
+ */
+final class ChannelOutputStream extends OutputStream {
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    // Увеличивает только пишущий поток; volatile — для чтения хода из других потоков
+    private volatile long written;
+
+    ChannelOutputStream(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Число байт, переданных в канал или ожидающих в буфере.
+     */
+    long getWritten() {
+        return written;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put((byte) b);
+        written++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int n = Math.min(remaining, buffer.remaining());
+            buffer.put(bytes, offset, n);
+            offset += n;
+            remaining -= n;
+        }
+        written += length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    /**
+     * Сбрасывает буфер. Канал закрывает владелец.
+     */
+    @Override
+    public void close() throws IOException {
+        drain();
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
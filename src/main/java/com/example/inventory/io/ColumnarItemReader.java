@@ -0,0 +1,277 @@
+package com.example.inventory.io;
+
+import com.example.inventory.model.Item;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Чтение двоичного колоночного файла экспорта ({@link ExportFormat#COLUMNAR}).
+ *
+ * Формат (целые числа — старшими байтами вперед, varint — по 7 бит
+ * младшими группами вперед):
+ * <pre>
+ * заголовок:  "ICOL", версия (1 байт), число колонок (varint), имена колонок (varint-длина + UTF-8)
+ * группа:     число строк (int &gt; 0), затем каждая колонка как длина в байтах (int) и данные:
+ *             id          — по 16 байт на строку
+ *             name        — varint-длины всех строк, затем байты UTF-8 подряд
+ *             description — битовая карта непустых значений, varint-длины непустых, байты UTF-8
+ *             createdAt   — zigzag-varint разности с предыдущей строкой группы
+ *             updatedAt   — zigzag-varint разности с createdAt той же строки
+ * конец:      0 (int), оглавление: число групп (int), смещение (long) и строки (int)
+ *             каждой группы, всего строк (long), длина оглавления (int), "ICOL"
+ * </pre>
+ * Даты — миллисекунды местного времени без часового пояса. Колонки группы
+ * лежат подряд, поэтому ненужную колонку можно пропустить, не разбирая,
+ * а оглавление в конце несжатого файла позволяет перейти к любой группе.
+ * Сжатый файл ({@code .gz}) читается последовательно.
+ */
+public final class ColumnarItemReader implements Closeable {
+    static final byte[] MAGIC = {'I', 'C', 'O', 'L'};
+    static final int VERSION = 1;
+    static final List<String> COLUMNS = List.of("id", "name", "description", "createdAt", "updatedAt");
+
+    private final DataInputStream in;
+    private final List<String> columns;
+    private long rowsRead;
+    private boolean finished;
+
+    /**
+     * Открывает файл и проверяет заголовок.
+     */
+    public ColumnarItemReader(Path file) throws IOException {
+        InputStream raw = Files.newInputStream(file);
+        try {
+            InputStream source = ExportFormat.isCompressed(file) ? new GZIPInputStream(raw, 1 << 16) : raw;
+            this.in = new DataInputStream(new BufferedInputStream(source, 1 << 16));
+            this.columns = readHeader();
+        } catch (IOException e) {
+            raw.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Читает все товары файла и передает их обработчику по одному.
+     *
+     * @return число прочитанных товаров
+     */
+    public static long forEach(Path file, Consumer<? super Item> action) throws IOException {
+        try (ColumnarItemReader reader = new ColumnarItemReader(file)) {
+            List<Item> group;
+            while ((group = reader.nextGroup()) != null) {
+                group.forEach(action);
+            }
+            return reader.rowsRead;
+        }
+    }
+
+    /**
+     * Имена колонок из заголовка файла.
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Читает следующую группу строк.
+     *
+     * @return товары группы или {@code null}, если групп больше нет
+     * @throws IOException если файл поврежден или обрезан
+     */
+    public List<Item> nextGroup() throws IOException {
+        if (finished) {
+            return null;
+        }
+        try {
+            int rows = in.readInt();
+            if (rows == 0) {
+                readFooter();
+                finished = true;
+                return null;
+            }
+            if (rows < 0) {
+                throw new IOException("❌ Поврежденный файл: число строк группы " + rows);
+            }
+            List<Item> items = readGroup(rows);
+            rowsRead += rows;
+            return items;
+        } catch (EOFException e) {
+            throw new IOException("❌ Файл обрезан: прочитано товаров " + rowsRead, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private List<String> readHeader() throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("❌ Файл не является колоночным файлом экспорта");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("❌ Неподдерживаемая версия колоночного файла: " + version);
+        }
+        int count = (int) readVarLong(in);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[(int) readVarLong(in)];
+            in.readFully(name);
+            names.add(new String(name, StandardCharsets.UTF_8));
+        }
+        if (!names.equals(COLUMNS)) {
+            throw new IOException("❌ Неизвестный набор колонок: " + names);
+        }
+        return List.copyOf(names);
+    }
+
+    private List<Item> readGroup(int rows) throws IOException {
+        Column ids = readColumn();
+        Column names = readColumn();
+        Column descriptions = readColumn();
+        Column created = readColumn();
+        Column updated = readColumn();
+
+        int[] nameLengths = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            nameLengths[i] = (int) names.readVarLong();
+        }
+        byte[] present = descriptions.readBytes((rows + 7) / 8);
+        int[] descriptionLengths = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            descriptionLengths[i] = (present[i >> 3] & 1 << (i & 7)) != 0 ? (int) descriptions.readVarLong() : -1;
+        }
+
+        List<Item> items = new ArrayList<>(rows);
+        long previousCreated = 0;
+        for (int i = 0; i < rows; i++) {
+            UUID id = new UUID(ids.readLong(), ids.readLong());
+            String name = names.readString(nameLengths[i]);
+            String description = descriptionLengths[i] < 0 ? null : descriptions.readString(descriptionLengths[i]);
+            long createdMillis = previousCreated + unZigZag(created.readVarLong());
+            long updatedMillis = createdMillis + unZigZag(updated.readVarLong());
+            previousCreated = createdMillis;
+            items.add(new Item(id, name, description, toTime(createdMillis), toTime(updatedMillis)));
+        }
+        return items;
+    }
+
+    private void readFooter() throws IOException {
+        int groups = in.readInt();
+        for (int i = 0; i < groups; i++) {
+            in.readLong();
+            in.readInt();
+        }
+        long totalRows = in.readLong();
+        in.readInt();
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        if (totalRows != rowsRead || !Arrays.equals(magic, MAGIC)) {
+            throw new IOException("❌ Оглавление не совпадает с данными: " + totalRows + " строк вместо " + rowsRead);
+        }
+    }
+
+    private Column readColumn() throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("❌ Поврежденный файл: длина колонки " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new Column(bytes);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("❌ Поврежденный файл: слишком длинное число");
+    }
+
+    private static long unZigZag(long value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    private static LocalDateTime toTime(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), Math.floorMod(millis, 1000) * 1_000_000,
+                ZoneOffset.UTC);
+    }
+
+    /**
+     * Данные одной колонки группы с позицией чтения.
+     */
+    private static final class Column {
+        private final byte[] bytes;
+        private int position;
+
+        Column(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long readLong() throws IOException {
+            check(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = value << 8 | (bytes[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                check(1);
+                int b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("❌ Поврежденный файл: слишком длинное число");
+        }
+
+        byte[] readBytes(int length) throws IOException {
+            check(length);
+            byte[] result = Arrays.copyOfRange(bytes, position, position + length);
+            position += length;
+            return result;
+        }
+
+        String readString(int length) throws IOException {
+            check(length);
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void check(int length) throws IOException {
+            if (length < 0 || position + length > bytes.length) {
+                throw new IOException("❌ Поврежденный файл: колонка короче ожидаемого");
+            }
+        }
+    }
+}
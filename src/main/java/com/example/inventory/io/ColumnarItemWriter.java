@@ -0,0 +1,229 @@
+package com.example.inventory.io;
+
+import com.example.inventory.model.Item;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Экспорт в двоичный колоночный формат (описание — в {@link ColumnarItemReader}).
+ * Товары копятся в буферах колонок группы строк; заполненная группа
+ * записывается целиком, а буферы используются повторно, поэтому расход
+ * памяти ограничен одной группой.
+ */
+final class ColumnarItemWriter implements ItemWriter {
+    private final OutputStream out;
+    private final int rowGroupSize;
+
+    private final ColumnBuffer ids = new ColumnBuffer();
+    private final ColumnBuffer nameLengths = new ColumnBuffer();
+    private final ColumnBuffer names = new ColumnBuffer();
+    private final ColumnBuffer descriptionLengths = new ColumnBuffer();
+    private final ColumnBuffer descriptions = new ColumnBuffer();
+    private final ColumnBuffer createdAt = new ColumnBuffer();
+    private final ColumnBuffer updatedAt = new ColumnBuffer();
+    private final ColumnBuffer presence = new ColumnBuffer();
+    private final byte[] descriptionPresent;
+
+    private int groupRows;
+    private long previousCreated;
+    private long totalRows;
+    // Смещение в несжатом потоке: по нему строится оглавление групп
+    private long position;
+    private final List<long[]> groups = new ArrayList<>();
+    // Заголовок файла, длины колонок и оглавление
+    private final ColumnBuffer header = new ColumnBuffer();
+
+    ColumnarItemWriter(OutputStream out, int rowGroupSize) throws IOException {
+        this.out = out;
+        this.rowGroupSize = rowGroupSize;
+        this.descriptionPresent = new byte[(rowGroupSize + 7) / 8];
+
+        header.writeBytes(ColumnarItemReader.MAGIC);
+        header.writeByte(ColumnarItemReader.VERSION);
+        header.writeVarLong(ColumnarItemReader.COLUMNS.size());
+        for (String column : ColumnarItemReader.COLUMNS) {
+            byte[] name = column.getBytes(StandardCharsets.UTF_8);
+            header.writeVarLong(name.length);
+            header.writeBytes(name);
+        }
+        flushBuffer(header);
+    }
+
+    @Override
+    public void write(Item item) throws IOException {
+        UUID id = item.getId();
+        ids.writeLong(id.getMostSignificantBits());
+        ids.writeLong(id.getLeastSignificantBits());
+
+        nameLengths.writeVarLong(names.writeString(item.getName()));
+
+        if (item.getDescription() != null) {
+            descriptionPresent[groupRows >> 3] |= (byte) (1 << (groupRows & 7));
+            descriptionLengths.writeVarLong(descriptions.writeString(item.getDescription()));
+        }
+
+        // Даты — миллисекунды местного времени: товары обычно выгружаются
+        // в порядке создания, поэтому разности занимают один-два байта
+        long created = toMillis(item.getCreatedAt());
+        createdAt.writeVarLong(zigZag(created - previousCreated));
+        updatedAt.writeVarLong(zigZag(toMillis(item.getUpdatedAt()) - created));
+        previousCreated = created;
+
+        if (++groupRows == rowGroupSize) {
+            writeGroup();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (groupRows > 0) {
+            writeGroup();
+        }
+
+        // Конец групп, затем оглавление: смещение и число строк каждой группы
+        header.writeInt(0);
+        flushBuffer(header);
+        header.writeInt(groups.size());
+        for (long[] group : groups) {
+            header.writeLong(group[0]);
+            header.writeInt((int) group[1]);
+        }
+        header.writeLong(totalRows);
+        header.writeInt(header.size());
+        header.writeBytes(ColumnarItemReader.MAGIC);
+        flushBuffer(header);
+        out.flush();
+    }
+
+    private void writeGroup() throws IOException {
+        groups.add(new long[]{position, groupRows});
+        totalRows += groupRows;
+
+        header.writeInt(groupRows);
+        flushBuffer(header);
+        presence.writeBytes(descriptionPresent, (groupRows + 7) / 8);
+
+        writeColumn(ids);
+        writeColumn(nameLengths, names);
+        writeColumn(presence, descriptionLengths, descriptions);
+        writeColumn(createdAt);
+        writeColumn(updatedAt);
+
+        Arrays.fill(descriptionPresent, (byte) 0);
+        groupRows = 0;
+        previousCreated = 0;
+    }
+
+    /**
+     * Записывает колонку из одной или нескольких частей с общей длиной впереди.
+     */
+    private void writeColumn(ColumnBuffer... parts) throws IOException {
+        int length = 0;
+        for (ColumnBuffer part : parts) {
+            length += part.size();
+        }
+        header.writeInt(length);
+        flushBuffer(header);
+        for (ColumnBuffer part : parts) {
+            flushBuffer(part);
+        }
+    }
+
+    private void flushBuffer(ColumnBuffer buffer) throws IOException {
+        out.write(buffer.array(), 0, buffer.size());
+        position += buffer.size();
+        buffer.reset();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1000 + time.getNano() / 1_000_000;
+    }
+
+    private static long zigZag(long value) {
+        return value << 1 ^ value >> 63;
+    }
+
+    /**
+     * Растущий буфер байт колонки. Не сжимается при сбросе, поэтому после
+     * первой группы записи новых массивов не выделяют.
+     */
+    static final class ColumnBuffer {
+        private byte[] bytes = new byte[1024];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        byte[] array() {
+            return bytes;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeBytes(byte[] source) {
+            writeBytes(source, source.length);
+        }
+
+        void writeBytes(byte[] source, int length) {
+            ensure(length);
+            System.arraycopy(source, 0, bytes, size, length);
+            size += length;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) (value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        /**
+         * Записывает строку в UTF-8 без длины.
+         *
+         * @return число записанных байт
+         */
+        int writeString(String value) {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            writeBytes(encoded);
+            return encoded.length;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
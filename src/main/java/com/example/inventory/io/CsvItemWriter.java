@@ -0,0 +1,81 @@
+package com.example.inventory.io;
+
+import com.example.inventory.model.Item;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+
+/**
+ * Экспорт в CSV: заголовок и строка на товар, поля с запятой, кавычкой
+ * или переводом строки берутся в кавычки (RFC 4180). Такой файл читает
+ * {@link ItemImporter}.
+ */
+final class CsvItemWriter implements ItemWriter {
+    private static final String HEADER = "id,name,description,createdAt,updatedAt";
+
+    private final Writer out;
+    // Строка собирается целиком и передается кодировщику одним вызовом
+    private final StringBuilder line = new StringBuilder(256);
+
+    CsvItemWriter(Writer out) throws IOException {
+        this.out = out;
+        out.write(HEADER);
+        out.write("\r\n");
+    }
+
+    @Override
+    public void write(Item item) throws IOException {
+        line.setLength(0);
+        line.append(item.getId()).append(',');
+        appendField(item.getName());
+        line.append(',');
+        appendField(item.getDescription());
+        line.append(',');
+        appendTime(item.getCreatedAt());
+        line.append(',');
+        appendTime(item.getUpdatedAt());
+        line.append("\r\n");
+        out.append(line);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    private void appendField(String value) {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private void appendTime(LocalDateTime time) {
+        if (time != null) {
+            line.append(time);
+        }
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
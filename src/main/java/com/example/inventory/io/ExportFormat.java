@@ -0,0 +1,69 @@
+package com.example.inventory.io;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Формат файла экспорта, определяется по расширению. Суффикс {@code .gz}
+ * после расширения включает сжатие gzip для любого формата.
+ */
+public enum ExportFormat {
+    /**
+     * CSV с заголовком, разделитель — запятая (RFC 4180).
+     */
+    CSV(".csv"),
+    /**
+     * Объекты JSON по одному в строке (NDJSON).
+     */
+    NDJSON(".ndjson"),
+    /**
+     * Компактный двоичный колоночный формат, см. {@link ColumnarItemReader}.
+     */
+    COLUMNAR(".icol");
+
+    private static final String COMPRESSED_SUFFIX = ".gz";
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Основное расширение файла формата.
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Определяет формат по расширению файла (без учета {@code .gz}).
+     *
+     * @throws IllegalArgumentException если расширение не поддерживается
+     */
+    public static ExportFormat of(Path file) {
+        String name = baseName(file);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+            return NDJSON;
+        }
+        if (name.endsWith(".icol")) {
+            return COLUMNAR;
+        }
+        throw new IllegalArgumentException("❌ Неподдерживаемый формат файла: " + file.getFileName());
+    }
+
+    /**
+     * Проверяет, нужно ли сжимать файл (расширение {@code .gz}).
+     */
+    public static boolean isCompressed(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(COMPRESSED_SUFFIX);
+    }
+
+    private static String baseName(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(COMPRESSED_SUFFIX) ? name.substring(0, name.length() - COMPRESSED_SUFFIX.length()) : name;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.inventory.io;
+
+/**
+ * Ход экспорта.
+ *
+ * @param rows         записано товаров
+ * @param totalRows    товаров в базе на начало экспорта
+ * @param bytesWritten записано байт файла (после сжатия)
+ */
+public record ExportProgress(long rows, long totalRows, long bytesWritten) {
+    /**
+     * Доля записанных товаров от 0 до 1.
+     */
+    public double fraction() {
+        return totalRows <= 0 ? 1 : Math.min(1, (double) rows / totalRows);
+    }
+}
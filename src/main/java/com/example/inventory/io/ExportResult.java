@@ -0,0 +1,18 @@
+package com.example.inventory.io;
+
+import java.nio.file.Path;
+
+/**
+ * Итог экспорта.
+ *
+ * @param rows      записано товаров
+ * @param bytes     размер файла
+ * @param file      записанный файл или {@code null}, если экспорт остановлен
+ * @param cancelled экспорт остановлен пользователем; неполный файл удален
+ */
+public record ExportResult(long rows, long bytes, Path file, boolean cancelled) {
+    @Override
+    public String toString() {
+        return cancelled ? "экспорт остановлен, файл не записан" : "товаров " + rows + ", " + bytes + " байт";
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.inventory.io;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Формат файла импорта, определяется по расширению.
+ */
+public enum ImportFormat {
+    /**
+     * CSV с заголовком; разделитель (запятая, точка с запятой или табуляция)
+     * определяется по заголовку.
+     */
+    CSV,
+    /**
+     * Массив объектов JSON или объекты по одному в строке (NDJSON).
+     */
+    JSON;
+
+    /**
+     * Определяет формат по расширению файла.
+     *
+     * @throws IllegalArgumentException если расширение не поддерживается
+     */
+    public static ImportFormat of(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv") || name.endsWith(".txt")) {
+            return CSV;
+        }
+        if (name.endsWith(".json") || name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return JSON;
+        }
+        throw new IllegalArgumentException("❌ Неподдерживаемый формат файла: " + file.getFileName());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.inventory.io;
+
+/**
+ * Ход импорта.
+ *
+ * @param bytesRead  прочитано байт файла
+ * @param totalBytes размер файла
+ * @param records    обработано записей
+ * @param imported   записано товаров
+ * @param rejected   отклонено записей
+ */
+public record ImportProgress(long bytesRead, long totalBytes, long records, long imported, long rejected) {
+    /**
+     * Доля прочитанного файла от 0 до 1.
+     */
+    public double fraction() {
+        return totalBytes <= 0 ? 1 : Math.min(1, (double) bytesRead / totalBytes);
+    }
+}
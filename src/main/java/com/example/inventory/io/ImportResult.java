@@ -0,0 +1,20 @@
+package com.example.inventory.io;
+
+import java.nio.file.Path;
+
+/**
+ * Итог импорта.
+ *
+ * @param records   обработано записей
+ * @param imported  записано товаров
+ * @param rejected  отклонено записей
+ * @param errorFile файл с отклоненными записями или {@code null}, если их нет
+ * @param cancelled импорт остановлен пользователем; записанные порции остаются в базе
+ */
+public record ImportResult(long records, long imported, long rejected, Path errorFile, boolean cancelled) {
+    @Override
+    public String toString() {
+        return (cancelled ? "импорт остановлен, " : "") + "записей " + records + ", импортировано " + imported +
+                ", отклонено " + rejected;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.inventory.io;
+
+import com.example.inventory.db.DatabaseConfig;
+import com.example.inventory.metrics.Log;
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemDAO;
+import com.example.inventory.model.WriteBehindItemDAO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Потоковый экспорт товаров в CSV, NDJSON или двоичный колоночный формат.
+ *
+ * Товары читаются однонаправленным курсором {@link ItemDAO#stream} и сразу
+ * записываются в буфер канала файла (при расширении {@code .gz} — через
+ * сжатие gzip), поэтому расход памяти не зависит от числа товаров:
+ * в памяти находятся буфер вывода ({@code export.bufferSize}) и, для
+ * колоночного формата, одна группа строк ({@code export.rowGroupSize}).
+ *
+ * Файл пишется во временный рядом с целевым и переименовывается после
+ * успешного завершения, поэтому прерванный или остановленный экспорт
+ * не оставляет неполного файла и не портит существующий.
+ */
+public class ItemExporter {
+    // Как часто проверяется отмена и сообщается ход, товаров
+    private static final int PROGRESS_INTERVAL = 4096;
+
+    private final ItemDAO itemDAO;
+    private final int bufferSize;
+    private final int rowGroupSize;
+
+    public ItemExporter(ItemDAO itemDAO) {
+        this.itemDAO = itemDAO;
+        DatabaseConfig config = itemDAO.getConfig();
+        this.bufferSize = Math.max(4096, config.getInt("export.bufferSize", 1 << 18));
+        this.rowGroupSize = Math.max(1, config.getInt("export.rowGroupSize", 8192));
+    }
+
+    /**
+     * Выгружает все товары в файл. Блокирует вызывающий поток до конца экспорта.
+     *
+     * @param output    целевой файл; формат и сжатие — по расширению ({@link ExportFormat#of})
+     * @param progress  получает ход экспорта (из вызывающего потока)
+     * @param cancelled {@code true} останавливает экспорт; целевой файл не меняется
+     * @throws IOException если файл не записывается или чтение базы прервалось ошибкой
+     */
+    public ExportResult export(Path output, Consumer<ExportProgress> progress, BooleanSupplier cancelled)
+            throws IOException {
+        ExportFormat format = ExportFormat.of(output);
+        boolean compressed = ExportFormat.isCompressed(output);
+        if (itemDAO instanceof WriteBehindItemDAO writeBehind) {
+            // Курсор читает базу, поэтому отложенные изменения записываются заранее
+            writeBehind.flush();
+        }
+        long totalRows = itemDAO.count();
+        Log.info("📤 Экспорт в " + output + " (" + format + (compressed ? ", gzip" : "") + ", товаров " +
+                totalRows + ")");
+
+        Path target = output.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            long rows;
+            long bytes;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ChannelOutputStream fileOut = new ChannelOutputStream(channel, bufferSize);
+                OutputStream out = compressed ? new GZIPOutputStream(fileOut, 1 << 16) : fileOut;
+                rows = writeItems(format, out, fileOut, totalRows, progress, cancelled);
+                if (rows < 0) {
+                    Log.info("📤 Экспорт остановлен");
+                    return new ExportResult(0, 0, null, true);
+                }
+                out.close();
+                bytes = fileOut.getWritten();
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            ExportResult result = new ExportResult(rows, bytes, target, false);
+            Log.info("📤 Экспорт завершен: " + result);
+            return result;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Записывает товары курсора в поток.
+     *
+     * @return число записанных товаров или -1, если экспорт отменен
+     */
+    private long writeItems(ExportFormat format, OutputStream out, ChannelOutputStream fileOut, long totalRows,
+                            Consumer<ExportProgress> progress, BooleanSupplier cancelled) throws IOException {
+        Writer text = format == ExportFormat.COLUMNAR ? null : new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        ItemWriter writer = switch (format) {
+            case CSV -> new CsvItemWriter(text);
+            case NDJSON -> new NdjsonItemWriter(text);
+            case COLUMNAR -> new ColumnarItemWriter(out, rowGroupSize);
+        };
+
+        long rows = 0;
+        try (Stream<Item> items = itemDAO.stream(null)) {
+            Iterator<Item> cursor = items.iterator();
+            while (cursor.hasNext()) {
+                writer.write(cursor.next());
+                if (++rows % PROGRESS_INTERVAL == 0) {
+                    if (cancelled.getAsBoolean()) {
+                        return -1;
+                    }
+                    progress.accept(new ExportProgress(rows, totalRows, fileOut.getWritten()));
+                }
+            }
+        } catch (IllegalStateException e) {
+            // Ошибка чтения курсора посреди экспорта
+            throw new IOException(e.getMessage(), e);
+        }
+        if (cancelled.getAsBoolean()) {
+            return -1;
+        }
+        writer.finish();
+        progress.accept(new ExportProgress(rows, Math.max(rows, totalRows), fileOut.getWritten()));
+        return rows;
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.inventory.io;
+
+import com.example.inventory.db.DatabaseConfig;
+import com.example.inventory.metrics.Log;
+import com.example.inventory.model.BatchResult;
+import com.example.inventory.model.ItemDAO;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Потоковый импорт товаров из CSV или JSON.
+ *
+ * Конвейер из трех ступеней:
+ * <ol>
+ *     <li>вызывающий поток читает файл и делит его на порции исходных записей
+ *     по {@code import.chunkSize};</li>
+ *     <li>порции разбираются и проверяются ({@link com.example.inventory.model.Item#validate()})
+ *     параллельно на {@code import.threads} потоках;</li>
+ *     <li>поток записи забирает разобранные порции в исходном порядке и
+ *     записывает каждую через {@link ItemDAO#createAll} одной транзакцией.</li>
+ * </ol>
+ * Между ступенями стоит очередь ограниченной длины: если база не успевает,
+ * чтение файла приостанавливается. Поэтому в памяти одновременно находится
+ * лишь несколько порций, и расход памяти не зависит от размера файла.
+ *
+ * Отклоненные записи (ошибки разбора, проверки и записи в базу) сохраняются
+ * в файл ошибок CSV с номером записи, причиной и исходным текстом. Импорт
+ * не атомарный: при отмене или ошибке уже записанные порции остаются в базе.
+ */
+public class ItemImporter {
+    private final ItemDAO itemDAO;
+    private final int chunkSize;
+    private final int threads;
+
+    public ItemImporter(ItemDAO itemDAO) {
+        this.itemDAO = itemDAO;
+        DatabaseConfig config = itemDAO.getConfig();
+        this.chunkSize = Math.max(1, config.getInt("import.chunkSize", config.getInt("batch.chunkSize", 1000)));
+        int configuredThreads = config.getInt("import.threads", 0);
+        this.threads = configuredThreads > 0 ? configuredThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Файл ошибок по умолчанию: рядом с исходным, с суффиксом {@code .errors.csv}.
+     */
+    public static Path defaultErrorFile(Path input) {
+        return input.resolveSibling(input.getFileName() + ".errors.csv");
+    }
+
+    /**
+     * Импортирует товары из файла. Блокирует вызывающий поток до конца импорта.
+     *
+     * @param input     файл CSV или JSON (формат по расширению)
+     * @param errorFile куда записать отклоненные записи; создается, только если они есть
+     * @param progress  получает ход импорта после каждой порции (из потока записи)
+     * @param cancelled проверяется между порциями; {@code true} останавливает импорт
+     * @throws IOException если файл не читается или его структура нарушена
+     */
+    public ImportResult importFile(Path input, Path errorFile, Consumer<ImportProgress> progress,
+                                   BooleanSupplier cancelled) throws IOException {
+        ImportFormat format = ImportFormat.of(input);
+        long totalBytes = Files.size(input);
+        Log.info("📥 Импорт из " + input + " (" + format + ", " + totalBytes + " байт)");
+        // Файл ошибок прошлого импорта не должен выдавать себя за новый
+        Files.deleteIfExists(errorFile);
+
+        ExecutorService parsers = Executors.newFixedThreadPool(threads, parserThreads());
+        try (CountingInputStream in = new CountingInputStream(Files.newInputStream(input));
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+             ErrorFile errors = new ErrorFile(errorFile)) {
+
+            RecordSplitter splitter = new RecordSplitter(reader, format);
+            RecordParser parser = format == ImportFormat.CSV ? RecordParser.forCsv(splitter.next()) : RecordParser.forJson();
+            ChunkWriter writer = new ChunkWriter(errors, progress, in, totalBytes, cancelled);
+            Thread writerThread = new Thread(writer, "import-writer");
+            writerThread.setDaemon(true);
+            writerThread.start();
+
+            IOException readError = null;
+            try {
+                readChunks(splitter, parser, parsers, writer, cancelled);
+            } catch (IOException e) {
+                readError = e;
+            } finally {
+                writer.finish();
+                joinUninterruptibly(writerThread);
+            }
+
+            if (readError != null) {
+                throw readError;
+            }
+            if (writer.failure != null) {
+                throw new IOException("❌ Ошибка импорта: " + writer.failure.getMessage(), writer.failure);
+            }
+            ImportResult result = new ImportResult(writer.records, writer.imported, writer.rejected,
+                    errors.isCreated() ? errorFile : null, cancelled.getAsBoolean());
+            Log.info("📥 Импорт завершен: " + result);
+            return result;
+        } finally {
+            parsers.shutdownNow();
+        }
+    }
+
+    /**
+     * Читает порции записей и отдает их на разбор, пока файл не кончится,
+     * импорт не отменят или запись в базу не прервется ошибкой.
+     */
+    private void readChunks(RecordSplitter splitter, RecordParser parser, ExecutorService parsers,
+                            ChunkWriter writer, BooleanSupplier cancelled) throws IOException {
+        long nextRecord = 1;
+        while (!cancelled.getAsBoolean() && writer.failure == null) {
+            List<String> records = new ArrayList<>(chunkSize);
+            String record;
+            while (records.size() < chunkSize && (record = splitter.next()) != null) {
+                records.add(record);
+            }
+            if (records.isEmpty()) {
+                return;
+            }
+
+            long firstRecord = nextRecord;
+            nextRecord += records.size();
+            Future<RecordParser.Chunk> chunk = parsers.submit(() -> parser.parse(records, firstRecord));
+            if (!writer.offer(chunk, cancelled)) {
+                chunk.cancel(true);
+                return;
+            }
+        }
+    }
+
+    private static ThreadFactory parserThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "import-parser-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Поток записи: забирает разобранные порции по порядку и пишет их в базу.
+     */
+    private final class ChunkWriter implements Runnable {
+        private static final Future<RecordParser.Chunk> END = CompletableFuture.completedFuture(null);
+
+        private final BlockingQueue<Future<RecordParser.Chunk>> queue = new ArrayBlockingQueue<>(threads * 2);
+        private final ErrorFile errors;
+        private final Consumer<ImportProgress> progress;
+        private final CountingInputStream in;
+        private final long totalBytes;
+        private final BooleanSupplier cancelled;
+
+        // Пишутся только потоком записи, читаются после его завершения
+        private long records;
+        private long imported;
+        private long rejected;
+        private volatile Throwable failure;
+
+        ChunkWriter(ErrorFile errors, Consumer<ImportProgress> progress, CountingInputStream in, long totalBytes,
+               BooleanSupplier cancelled) {
+            this.errors = errors;
+            this.progress = progress;
+            this.in = in;
+            this.totalBytes = totalBytes;
+            this.cancelled = cancelled;
+        }
+
+        /**
+         * Ставит порцию в очередь, ожидая места (обратное давление).
+         *
+         * @return {@code false}, если импорт отменен или запись остановлена ошибкой
+         */
+        boolean offer(Future<RecordParser.Chunk> chunk, BooleanSupplier cancelled) throws IOException {
+            try {
+                while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                    if (cancelled.getAsBoolean() || failure != null) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("❌ Импорт прерван", e);
+            }
+        }
+
+        /**
+         * Сообщает, что порций больше не будет.
+         */
+        void finish() {
+            // Поток записи всегда разбирает очередь до конца, поэтому место появится
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    queue.put(END);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Future<RecordParser.Chunk> next;
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    failure = e;
+                    return;
+                }
+                if (next == END) {
+                    return;
+                }
+                if (failure != null || cancelled.getAsBoolean()) {
+                    next.cancel(true);
+                    continue;
+                }
+                try {
+                    write(next.get());
+                    progress.accept(new ImportProgress(in.getCount(), totalBytes, records, imported, rejected));
+                } catch (IOException | ExecutionException | RuntimeException e) {
+                    failure = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                } catch (InterruptedException e) {
+                    failure = e;
+                }
+            }
+        }
+
+        private void write(RecordParser.Chunk chunk) throws IOException {
+            for (RecordParser.Rejected reject : chunk.rejected()) {
+                errors.write(reject.record(), reject.reason(), reject.raw());
+            }
+            rejected += chunk.rejected().size();
+
+            if (!chunk.items().isEmpty()) {
+                BatchResult result = itemDAO.createAll(chunk.items());
+                imported += result.getSucceeded();
+                for (BatchResult.Failure failed : result.getFailures()) {
+                    errors.write(chunk.itemRecords()[failed.index()], failed.reason(),
+                            chunk.itemRaws().get(failed.index()));
+                }
+                rejected += result.getFailures().size();
+            }
+            records += chunk.size();
+        }
+    }
+
+    /**
+     * Файл отклоненных записей в формате CSV. Создается при первой ошибке.
+     */
+    private static final class ErrorFile implements Closeable {
+        private final Path file;
+        private BufferedWriter writer;
+
+        ErrorFile(Path file) {
+            this.file = file;
+        }
+
+        boolean isCreated() {
+            return writer != null;
+        }
+
+        void write(long record, String reason, String raw) throws IOException {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+                writer.write("record,reason,data");
+                writer.newLine();
+            }
+            writer.write(record + "," + quote(reason) + "," + quote(raw));
+            writer.newLine();
+        }
+
+        private static String quote(String value) {
+            return '"' + (value == null ? "" : value.replace("\"", "\"\"")) + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Считает прочитанные байты для индикатора хода импорта.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        // Увеличивает только читающий поток; volatile — для потока записи
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
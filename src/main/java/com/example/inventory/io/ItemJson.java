@@ -0,0 +1,110 @@
+package com.example.inventory.io;
+
+import com.example.inventory.model.Item;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Представление товара в JSON: общее для экспорта в NDJSON и HTTP-сервера.
+ *
+ * Объект товара: {@code {"id", "name", "description", "createdAt", "updatedAt"}},
+ * даты — в формате ISO-8601 без часового пояса.
+ */
+public final class ItemJson {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private ItemJson() {
+    }
+
+    /**
+     * Дописывает объект товара.
+     */
+    public static void append(StringBuilder out, Item item) {
+        out.append("{\"id\":");
+        appendString(out, item.getId() == null ? null : item.getId().toString());
+        out.append(",\"name\":");
+        appendString(out, item.getName());
+        out.append(",\"description\":");
+        appendString(out, item.getDescription());
+        out.append(",\"createdAt\":");
+        appendString(out, item.getCreatedAt() == null ? null : item.getCreatedAt().toString());
+        out.append(",\"updatedAt\":");
+        appendString(out, item.getUpdatedAt() == null ? null : item.getUpdatedAt().toString());
+        out.append('}');
+    }
+
+    /**
+     * Дописывает строку JSON в кавычках или {@code null}.
+     */
+    public static void appendString(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Разбирает объект товара. Учитываются идентификатор (если указан),
+     * название и описание; даты создания и изменения назначаются заново.
+     *
+     * @throws IllegalArgumentException если текст не является объектом JSON
+     *                                  или идентификатор некорректен
+     */
+    public static Item parse(String json) {
+        Map<String, String> fields = JsonObjectParser.parse(json);
+        Item item = new Item(fields.get("name"), fields.get("description"));
+        String id = fields.get("id");
+        if (id != null) {
+            try {
+                item.setId(UUID.fromString(id));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("❌ Некорректный идентификатор товара: " + id, e);
+            }
+        }
+        return item;
+    }
+
+    /**
+     * Разбирает массив объектов товаров или объекты по одному в строке (NDJSON).
+     *
+     * @throws IllegalArgumentException если объект с указанным номером некорректен
+     * @throws IOException              если нарушена структура массива
+     */
+    public static List<Item> parseAll(Reader reader) throws IOException {
+        RecordSplitter splitter = new RecordSplitter(reader, ImportFormat.JSON);
+        List<Item> items = new ArrayList<>();
+        String record;
+        while ((record = splitter.next()) != null) {
+            try {
+                items.add(parse(record));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("❌ Товар " + (items.size() + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.inventory.io;
+
+import com.example.inventory.model.Item;
+
+import java.io.IOException;
+
+/**
+ * Запись товаров в файл экспорта одного формата.
+ */
+interface ItemWriter {
+    /**
+     * Записывает очередной товар.
+     */
+    void write(Item item) throws IOException;
+
+    /**
+     * Дописывает хвост формата и сбрасывает буферы. Поток вывода не закрывает.
+     */
+    void finish() throws IOException;
+}
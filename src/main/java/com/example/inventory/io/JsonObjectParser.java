@@ -0,0 +1,175 @@
+package com.example.inventory.io;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Разбор одного объекта JSON верхнего уровня в отображение «ключ → значение».
+ *
+ * Строки возвращаются раскодированными, {@code null} — как {@code null},
+ * числа, логические значения и вложенные объекты или массивы — исходным
+ * текстом. Для импорта товаров этого достаточно, и разбор не создает
+ * промежуточного дерева.
+ */
+final class JsonObjectParser {
+    private final String text;
+    private int position;
+
+    private JsonObjectParser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * @throws IllegalArgumentException если текст не является объектом JSON
+     */
+    static Map<String, String> parse(String text) {
+        JsonObjectParser parser = new JsonObjectParser(text);
+        Map<String, String> result = parser.parseObject();
+        parser.skipWhitespace();
+        if (parser.position != text.length()) {
+            throw parser.error("лишние символы после объекта");
+        }
+        return result;
+    }
+
+    private Map<String, String> parseObject() {
+        Map<String, String> fields = new HashMap<>();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return fields;
+        }
+        while (true) {
+            skipWhitespace();
+            String key = parseString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            fields.put(key, parseValue());
+            skipWhitespace();
+            char c = next();
+            if (c == '}') {
+                return fields;
+            }
+            if (c != ',') {
+                throw error("ожидалась ',' или '}'");
+            }
+        }
+    }
+
+    private String parseValue() {
+        char c = peek();
+        if (c == '"') {
+            return parseString();
+        }
+        if (c == '{' || c == '[') {
+            return skipNested();
+        }
+        int start = position;
+        while (position < text.length() && ",}] \t\r\n".indexOf(text.charAt(position)) < 0) {
+            position++;
+        }
+        String literal = text.substring(start, position);
+        if (literal.isEmpty()) {
+            throw error("ожидалось значение");
+        }
+        return literal.equals("null") ? null : literal;
+    }
+
+    private String parseString() {
+        expect('"');
+        StringBuilder value = null;
+        int start = position;
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return value == null ? text.substring(start, position - 1) : value.toString();
+            }
+            if (c != '\\') {
+                if (value != null) {
+                    value.append(c);
+                }
+                continue;
+            }
+            if (value == null) {
+                value = new StringBuilder(text.substring(start, position - 1));
+            }
+            char escape = next();
+            switch (escape) {
+                case '"', '\\', '/' -> value.append(escape);
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'n' -> value.append('\n');
+                case 'r' -> value.append('\r');
+                case 't' -> value.append('\t');
+                case 'u' -> {
+                    if (position + 4 > text.length()) {
+                        throw error("неполная последовательность \\u");
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("некорректная последовательность \\u");
+                    }
+                    position += 4;
+                }
+                default -> throw error("неизвестная escape-последовательность \\" + escape);
+            }
+        }
+    }
+
+    /**
+     * Пропускает вложенный объект или массив и возвращает его исходный текст.
+     */
+    private String skipNested() {
+        int start = position;
+        int depth = 0;
+        boolean inString = false;
+        while (true) {
+            char c = next();
+            if (inString) {
+                if (c == '\\') {
+                    next();
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if ((c == '}' || c == ']') && --depth == 0) {
+                return text.substring(start, position);
+            }
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw error("ожидался символ '" + expected + "'");
+        }
+    }
+
+    private char peek() {
+        if (position >= text.length()) {
+            throw error("неожиданный конец объекта");
+        }
+        return text.charAt(position);
+    }
+
+    private char next() {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Некорректный JSON (позиция " + position + "): " + message);
+    }
+}
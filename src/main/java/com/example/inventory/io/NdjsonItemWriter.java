@@ -0,0 +1,31 @@
+package com.example.inventory.io;
+
+import com.example.inventory.model.Item;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Экспорт в NDJSON: объект JSON на товар ({@link ItemJson}), по одному в строке.
+ */
+final class NdjsonItemWriter implements ItemWriter {
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(256);
+
+    NdjsonItemWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(Item item) throws IOException {
+        line.setLength(0);
+        ItemJson.append(line, item);
+        line.append('\n');
+        out.append(line);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.inventory.io;
+
+import com.example.inventory.model.Item;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Превращает исходные записи в товары и проверяет их.
+ * Не хранит изменяемого состояния, поэтому одни и те же записи разных
+ * порций разбираются параллельно.
+ */
+final class RecordParser {
+    private static final Set<String> NAME_KEYS = Set.of("name", "название", "наименование");
+    private static final Set<String> DESCRIPTION_KEYS = Set.of("description", "описание");
+    private static final char[] DELIMITERS = {',', ';', '\t'};
+
+    /**
+     * Отклоненная запись: номер (с 1), причина и исходный текст.
+     */
+    record Rejected(long record, String reason, String raw) {
+    }
+
+    /**
+     * Результат разбора порции. Для каждого принятого товара сохраняются
+     * номер и исходный текст записи, чтобы сообщить об ошибке записи в базу.
+     */
+    record Chunk(int size, List<Item> items, long[] itemRecords, List<String> itemRaws, List<Rejected> rejected) {
+    }
+
+    private final ImportFormat format;
+    private final char delimiter;
+    private final int nameColumn;
+    private final int descriptionColumn;
+
+    private RecordParser(ImportFormat format, char delimiter, int nameColumn, int descriptionColumn) {
+        this.format = format;
+        this.delimiter = delimiter;
+        this.nameColumn = nameColumn;
+        this.descriptionColumn = descriptionColumn;
+    }
+
+    static RecordParser forJson() {
+        return new RecordParser(ImportFormat.JSON, ',', -1, -1);
+    }
+
+    /**
+     * Создает разбор CSV по строке заголовка: определяет разделитель
+     * и номера колонок названия и описания.
+     */
+    static RecordParser forCsv(String header) throws IOException {
+        if (header == null) {
+            throw new IOException("❌ Файл CSV пуст");
+        }
+        char delimiter = detectDelimiter(header);
+        List<String> columns = splitCsv(header, delimiter);
+        int name = -1;
+        int description = -1;
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i).trim().toLowerCase(Locale.ROOT);
+            if (name < 0 && NAME_KEYS.contains(column)) {
+                name = i;
+            } else if (description < 0 && DESCRIPTION_KEYS.contains(column)) {
+                description = i;
+            }
+        }
+        if (name < 0) {
+            throw new IOException("❌ В заголовке CSV нет колонки name: " + header);
+        }
+        return new RecordParser(ImportFormat.CSV, delimiter, name, description);
+    }
+
+    /**
+     * Разбирает и проверяет порцию записей.
+     *
+     * @param firstRecord номер первой записи порции
+     */
+    Chunk parse(List<String> records, long firstRecord) {
+        List<Item> items = new ArrayList<>(records.size());
+        long[] itemRecords = new long[records.size()];
+        List<String> itemRaws = new ArrayList<>(records.size());
+        List<Rejected> rejected = new ArrayList<>();
+
+        for (int i = 0; i < records.size(); i++) {
+            String raw = records.get(i);
+            long number = firstRecord + i;
+            Item item;
+            try {
+                item = toItem(raw);
+            } catch (IllegalArgumentException e) {
+                rejected.add(new Rejected(number, e.getMessage(), raw));
+                continue;
+            }
+            if (!item.validate()) {
+                rejected.add(new Rejected(number, invalidReason(item), raw));
+                continue;
+            }
+            itemRecords[items.size()] = number;
+            items.add(item);
+            itemRaws.add(raw);
+        }
+        return new Chunk(records.size(), items, itemRecords, itemRaws, rejected);
+    }
+
+    private Item toItem(String raw) {
+        String name;
+        String description;
+        if (format == ImportFormat.JSON) {
+            Map<String, String> fields = JsonObjectParser.parse(raw);
+            name = find(fields, NAME_KEYS);
+            description = find(fields, DESCRIPTION_KEYS);
+        } else {
+            List<String> fields = splitCsv(raw, delimiter);
+            name = nameColumn < fields.size() ? fields.get(nameColumn) : null;
+            description = descriptionColumn >= 0 && descriptionColumn < fields.size()
+                    ? fields.get(descriptionColumn) : null;
+        }
+        return new Item(clean(name), clean(description));
+    }
+
+    private static String find(Map<String, String> fields, Set<String> keys) {
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            if (keys.contains(field.getKey().toLowerCase(Locale.ROOT))) {
+                return field.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String clean(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * Причина, по которой товар не прошел {@link Item#validate()}.
+     */
+    static String invalidReason(Item item) {
+        if (item.getName() == null) {
+            return "Не указано название";
+        }
+        if (item.getName().length() < 3 || item.getName().length() > 50) {
+            return "Название должно содержать от 3 до 50 символов";
+        }
+        if (item.getDescription() != null && item.getDescription().length() > 255) {
+            return "Описание длиннее 255 символов";
+        }
+        return "Недопустимые данные товара";
+    }
+
+    /**
+     * Делит запись CSV на поля по RFC 4180: поле в кавычках может содержать
+     * разделитель и перевод строки, кавычка внутри него удваивается.
+     */
+    static List<String> splitCsv(String record, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        int length = record.length();
+        while (true) {
+            field.setLength(0);
+            if (i < length && record.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        throw new IllegalArgumentException("Незакрытая кавычка в записи CSV");
+                    }
+                    char c = record.charAt(i++);
+                    if (c == '"') {
+                        if (i < length && record.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (i < length && record.charAt(i) != delimiter) {
+                    throw new IllegalArgumentException("Символы после закрывающей кавычки в записи CSV");
+                }
+            } else {
+                while (i < length && record.charAt(i) != delimiter) {
+                    field.append(record.charAt(i++));
+                }
+            }
+            fields.add(field.toString());
+            if (i >= length) {
+                return fields;
+            }
+            i++; // разделитель
+        }
+    }
+
+    /**
+     * Выбирает разделитель, который чаще всего встречается в заголовке вне кавычек.
+     */
+    private static char detectDelimiter(String header) {
+        int[] counts = new int[DELIMITERS.length];
+        boolean inQuotes = false;
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (c == '"') {
+                inQuotes = !inQuotes;
+            }
+            for (int d = 0; d < DELIMITERS.length && !inQuotes; d++) {
+                if (c == DELIMITERS[d]) {
+                    counts[d]++;
+                }
+            }
+        }
+        int best = 0;
+        for (int d = 1; d < DELIMITERS.length; d++) {
+            if (counts[d] > counts[best]) {
+                best = d;
+            }
+        }
+        return DELIMITERS[best];
+    }
+}
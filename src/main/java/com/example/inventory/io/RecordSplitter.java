@@ -0,0 +1,119 @@
+package com.example.inventory.io;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Делит поток символов на исходные записи, не разбирая их.
+ *
+ * Для CSV запись заканчивается переводом строки вне кавычек, для JSON —
+ * закрывающей скобкой объекта верхнего уровня (разделители массива между
+ * объектами пропускаются). Это дешевый последовательный проход: разбор
+ * полей и проверка выполняются потом параллельно.
+ */
+final class RecordSplitter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char BOM = '\uFEFF';
+
+    private final Reader reader;
+    private final ImportFormat format;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder record = new StringBuilder();
+    private int position;
+    private int limit;
+
+    RecordSplitter(Reader reader, ImportFormat format) {
+        this.reader = reader;
+        this.format = format;
+    }
+
+    /**
+     * Следующая запись или {@code null}, если файл закончился.
+     */
+    String next() throws IOException {
+        return format == ImportFormat.CSV ? nextCsv() : nextJson();
+    }
+
+    private String nextCsv() throws IOException {
+        record.setLength(0);
+        boolean inQuotes = false;
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '\n' && !inQuotes) {
+                trimCarriageReturn();
+                if (record.length() > 0) {
+                    return record.toString();
+                }
+                continue; // пустые строки пропускаются
+            }
+            if (c == '"') {
+                // Экранированная кавычка "" переключает флаг дважды
+                inQuotes = !inQuotes;
+            }
+            if (c != BOM || record.length() > 0) {
+                record.append((char) c);
+            }
+        }
+        trimCarriageReturn();
+        return record.length() == 0 ? null : record.toString();
+    }
+
+    private String nextJson() throws IOException {
+        record.setLength(0);
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        int c;
+        while ((c = read()) != -1) {
+            if (depth == 0) {
+                if (c == '{') {
+                    depth = 1;
+                    record.append('{');
+                } else if (!Character.isWhitespace(c) && c != ',' && c != '[' && c != ']' && c != BOM) {
+                    throw new IOException("❌ Ожидался объект JSON, найден символ '" + (char) c + "'");
+                }
+                continue;
+            }
+
+            record.append((char) c);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if ((c == '}' || c == ']') && --depth == 0) {
+                return record.toString();
+            }
+        }
+        if (depth != 0) {
+            throw new IOException("❌ Файл JSON обрывается внутри объекта");
+        }
+        return null;
+    }
+
+    private void trimCarriageReturn() {
+        int length = record.length();
+        if (length > 0 && record.charAt(length - 1) == '\r') {
+            record.setLength(length - 1);
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.inventory.io;
+
+import com.example.inventory.db.DatabaseConfig;
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemSnapshot;
+import com.example.inventory.model.ItemSort;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Файл снимка начала таблицы ({@link ItemSnapshot}) для быстрого запуска.
+ *
+ * Формат — колонки фиксированной ширины, которые читаются по смещениям
+ * из буфера с содержимым файла, без разбора:
+ * <pre>
+ * заголовок: "ISNP", версия (int), порядок сортировки (int), номер изменения (long),
+ *            идентификатор товара из изменения (2 long), число товаров в базе (int),
+ *            строк в снимке (int), CRC32 тела (int)
+ * тело:      идентификаторы (2 long на строку), даты создания и изменения
+ *            (long, миллисекунды местного времени), длины названий и описаний
+ *            в байтах UTF-8 (int, -1 — описания нет), затем все названия
+ *            и все описания подряд
+ * </pre>
+ * Файл записывается во временный и переименовывается, поэтому читатель
+ * видит либо прежний снимок, либо новый целиком. Поврежденный файл
+ * отклоняется по контрольной сумме.
+ */
+public final class SnapshotFile {
+    private static final int MAGIC = 0x49534E50; // "ISNP"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 8 + 16 + 4 + 4 + 4;
+    private static final int FIXED_ROW_SIZE = 16 + 8 + 8 + 4 + 4;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Путь снимка для базы из настроек: рядом с файлом базы, с расширением
+     * {@code .snapshot}. Для базы в памяти снимок не нужен — возвращается {@code null}.
+     */
+    public static Path forDatabase(DatabaseConfig config) {
+        String url = config.getUrl();
+        String prefix = "jdbc:sqlite:";
+        if (!url.startsWith(prefix)) {
+            return null;
+        }
+        String file = url.substring(prefix.length());
+        int query = file.indexOf('?');
+        if (query >= 0) {
+            if (file.indexOf("mode=memory", query) >= 0) {
+                return null;
+            }
+            file = file.substring(0, query);
+        }
+        if (file.startsWith("file:")) {
+            file = file.substring("file:".length());
+        }
+        if (file.isEmpty() || file.equals(":memory:")) {
+            return null;
+        }
+        return Path.of(file + ".snapshot");
+    }
+
+    /**
+     * Записывает снимок. Прежний файл заменяется только после полной записи нового.
+     */
+    public static void write(Path file, ItemSnapshot snapshot) throws IOException {
+        List<Item> items = snapshot.items();
+        int rows = items.size();
+        byte[][] names = new byte[rows][];
+        byte[][] descriptions = new byte[rows][];
+        long size = HEADER_SIZE + (long) rows * FIXED_ROW_SIZE;
+        for (int i = 0; i < rows; i++) {
+            Item item = items.get(i);
+            names[i] = item.getName().getBytes(StandardCharsets.UTF_8);
+            size += names[i].length;
+            if (item.getDescription() != null) {
+                descriptions[i] = item.getDescription().getBytes(StandardCharsets.UTF_8);
+                size += descriptions[i].length;
+            }
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("❌ Снимок слишком велик: " + size + " байт");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.position(HEADER_SIZE);
+        for (Item item : items) {
+            buffer.putLong(item.getId().getMostSignificantBits());
+            buffer.putLong(item.getId().getLeastSignificantBits());
+        }
+        for (Item item : items) {
+            buffer.putLong(toMillis(item.getCreatedAt()));
+        }
+        for (Item item : items) {
+            buffer.putLong(toMillis(item.getUpdatedAt()));
+        }
+        for (byte[] name : names) {
+            buffer.putInt(name.length);
+        }
+        for (byte[] description : descriptions) {
+            buffer.putInt(description == null ? -1 : description.length);
+        }
+        for (byte[] name : names) {
+            buffer.put(name);
+        }
+        for (byte[] description : descriptions) {
+            if (description != null) {
+                buffer.put(description);
+            }
+        }
+
+        UUID lastChangeId = snapshot.lastChangeId();
+        buffer.position(0);
+        buffer.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(snapshot.sort().ordinal())
+                .putLong(snapshot.sequence())
+                .putLong(lastChangeId == null ? 0 : lastChangeId.getMostSignificantBits())
+                .putLong(lastChangeId == null ? 0 : lastChangeId.getLeastSignificantBits())
+                .putInt(snapshot.totalCount())
+                .putInt(rows)
+                .putInt(checksum(buffer, HEADER_SIZE, buffer.capacity()));
+        buffer.position(0);
+
+        Path target = file.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Читает снимок одним чтением в буфер в куче: товары все равно копируются
+     * в строки и объекты, а файл не остается отображенным в память до сборки
+     * мусора (в Windows такой файл нельзя заменить новым снимком).
+     *
+     * @return снимок или {@code null}, если файла нет
+     * @throws IOException если файл поврежден или записан в другом формате
+     */
+    public static ItemSnapshot read(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("❌ Неверный размер файла снимка: " + size);
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("❌ Файл снимка укоротился при чтении");
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("❌ Файл не является снимком товаров");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("❌ Неподдерживаемая версия снимка: " + buffer.getInt(4));
+        }
+        int sortIndex = buffer.getInt(8);
+        long sequence = buffer.getLong(12);
+        long changeHigh = buffer.getLong(20);
+        long changeLow = buffer.getLong(28);
+        int totalCount = buffer.getInt(36);
+        int rows = buffer.getInt(40);
+        int crc = buffer.getInt(44);
+
+        if (sortIndex < 0 || sortIndex >= ItemSort.values().length || rows < 0 || totalCount < rows
+                || (long) rows * FIXED_ROW_SIZE > buffer.capacity() - HEADER_SIZE) {
+            throw new IOException("❌ Поврежден заголовок снимка");
+        }
+        if (checksum(buffer, HEADER_SIZE, buffer.capacity()) != crc) {
+            throw new IOException("❌ Не совпадает контрольная сумма снимка");
+        }
+
+        int ids = HEADER_SIZE;
+        int created = ids + rows * 16;
+        int updated = created + rows * 8;
+        int nameLengths = updated + rows * 8;
+        int descriptionLengths = nameLengths + rows * 4;
+        int strings = descriptionLengths + rows * 4;
+
+        List<Item> items = new ArrayList<>(rows);
+        int names = strings;
+        int descriptions = strings;
+        for (int i = 0; i < rows; i++) {
+            descriptions += buffer.getInt(nameLengths + i * 4);
+        }
+        for (int i = 0; i < rows; i++) {
+            int nameLength = buffer.getInt(nameLengths + i * 4);
+            int descriptionLength = buffer.getInt(descriptionLengths + i * 4);
+            String name = decode(buffer, names, nameLength);
+            String description = null;
+            if (descriptionLength >= 0) {
+                description = decode(buffer, descriptions, descriptionLength);
+                descriptions += descriptionLength;
+            }
+            names += nameLength;
+
+            items.add(new Item(
+                    new UUID(buffer.getLong(ids + i * 16), buffer.getLong(ids + i * 16 + 8)),
+                    name,
+                    description,
+                    toLocalDateTime(buffer.getLong(created + i * 8)),
+                    toLocalDateTime(buffer.getLong(updated + i * 8))));
+        }
+
+        UUID lastChangeId = changeHigh == 0 && changeLow == 0 ? null : new UUID(changeHigh, changeLow);
+        return new ItemSnapshot(ItemSort.values()[sortIndex], sequence, lastChangeId, totalCount, items);
+    }
+
+    private static String decode(ByteBuffer buffer, int offset, int length) throws IOException {
+        if (length < 0 || offset + length > buffer.capacity()) {
+            throw new IOException("❌ Повреждены строки снимка");
+        }
+        return StandardCharsets.UTF_8.decode(buffer.slice(offset, length)).toString();
+    }
+
+    private static int checksum(ByteBuffer buffer, int from, int to) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(from, to - from));
+        return (int) crc.getValue();
+    }
+
+    private static long toMillis(LocalDateTime value) {
+        return value.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.inventory.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма задержек в наносекундах по образцу HdrHistogram.
+ *
+ * Значения раскладываются по логарифмически-линейным корзинам: до 128 нс
+ * корзина на каждую наносекунду, дальше на каждую степень двойки приходится
+ * 64 корзины одинаковой ширины. Поэтому относительная погрешность любого
+ * перцентиля не больше 1/64 (≈1,6%), а вся гистограмма до одного часа
+ * занимает около 20 КиБ независимо от числа измерений.
+ *
+ * Запись не блокирует: счетчики корзин атомарные. Снимок читает корзины
+ * без остановки записи и может не включать измерения, записанные во время снятия.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF = SUB_BUCKETS / 2;
+    // Более долгие измерения попадают в последнюю корзину
+    private static final long MAX_VALUE = TimeUnit.HOURS.toNanos(1);
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_VALUE) + 1);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Записывает длительность в наносекундах.
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Записывает время, прошедшее с {@code startNanos} ({@link System#nanoTime()}).
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Возвращает согласованный снимок: число измерений, среднее, максимум и перцентили.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[counts.length()];
+        long total = 0;
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        long maxValue = max.get();
+        return new Snapshot(total, sum.sum(), maxValue,
+                percentile(copy, total, maxValue, 0.50),
+                percentile(copy, total, maxValue, 0.90),
+                percentile(copy, total, maxValue, 0.99),
+                percentile(copy, total, maxValue, 0.999));
+    }
+
+    private static long percentile(long[] copy, long total, long maxValue, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < copy.length; i++) {
+            seen += copy[i];
+            if (seen >= target) {
+                return Math.min(highestEquivalent(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * Номер корзины значения: старшие 7 значащих бит определяют корзину.
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF + (int) (value >>> shift);
+    }
+
+    /**
+     * Наибольшее значение, попадающее в корзину.
+     */
+    static long highestEquivalent(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / HALF - 1;
+        long subBucket = index - (long) shift * HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Снимок гистограммы; все значения в наносекундах.
+     */
+    public record Snapshot(long count, long sum, long max, long p50, long p90, long p99, long p999) {
+        public double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+    }
+}
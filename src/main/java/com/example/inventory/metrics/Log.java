@@ -0,0 +1,181 @@
+package com.example.inventory.metrics;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Асинхронный журнал приложения.
+ *
+ * Вызывающий поток только кладет сообщение в ограниченную очередь, а в консоль
+ * его пишет фоновый поток пачками — по одной записи в поток вывода на пачку.
+ * Поэтому медленная консоль не задерживает запросы к базе и поток JavaFX.
+ * Если очередь переполнена, сообщение отбрасывается и учитывается
+ * в счетчике {@code log.dropped}.
+ *
+ * Сообщения уровня DEBUG (по строке на каждую операцию DAO) по умолчанию
+ * выключены; их текст передается через {@link Supplier} и не строится,
+ * пока уровень выключен. Уровень задается настройкой {@code log.level}.
+ */
+public final class Log {
+    /**
+     * Уровень важности сообщения.
+     */
+    public enum Level {
+        DEBUG, INFO, ERROR
+    }
+
+    private record Entry(Level level, String message, Throwable error) {
+    }
+
+    private static final int CAPACITY = 8192;
+    private static final int MAX_BATCH = 512;
+    private static final long FLUSH_TIMEOUT_MILLIS = 2000;
+
+    private static final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private static final Counter dropped = Metrics.getDefault().counter("log.dropped");
+    private static final Object progress = new Object();
+    private static volatile Level level = Level.INFO;
+    // Число принятых и записанных сообщений; written защищен монитором progress
+    private static final AtomicLong accepted = new AtomicLong();
+    private static long written;
+
+    static {
+        Thread writer = new Thread(Log::runWriter, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "log-flush"));
+    }
+
+    private Log() {
+    }
+
+    public static Level getLevel() {
+        return level;
+    }
+
+    public static void setLevel(Level newLevel) {
+        level = newLevel;
+    }
+
+    /**
+     * Устанавливает уровень по имени (DEBUG, INFO, ERROR); неизвестное имя игнорируется.
+     */
+    public static void setLevel(String name) {
+        try {
+            setLevel(Level.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            error("❌ Неизвестный уровень журнала: " + name);
+        }
+    }
+
+    public static boolean isDebugEnabled() {
+        return level == Level.DEBUG;
+    }
+
+    /**
+     * Подробное сообщение; текст строится, только если уровень DEBUG включен.
+     */
+    public static void debug(Supplier<String> message) {
+        if (isDebugEnabled()) {
+            enqueue(new Entry(Level.DEBUG, message.get(), null));
+        }
+    }
+
+    public static void info(String message) {
+        if (level != Level.ERROR) {
+            enqueue(new Entry(Level.INFO, message, null));
+        }
+    }
+
+    public static void error(String message) {
+        enqueue(new Entry(Level.ERROR, message, null));
+    }
+
+    /**
+     * Сообщение об ошибке со стеком вызовов исключения.
+     */
+    public static void error(String message, Throwable error) {
+        enqueue(new Entry(Level.ERROR, message, error));
+    }
+
+    /**
+     * Ждет, пока будут записаны все сообщения, принятые до вызова
+     * (не дольше двух секунд).
+     */
+    public static void flush() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_TIMEOUT_MILLIS);
+        synchronized (progress) {
+            long target = accepted.get();
+            while (written < target) {
+                long waitMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (waitMillis <= 0) {
+                    return;
+                }
+                try {
+                    progress.wait(waitMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void enqueue(Entry entry) {
+        if (queue.offer(entry)) {
+            accepted.incrementAndGet();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private static void runWriter() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH);
+        StringBuilder out = new StringBuilder();
+        StringBuilder err = new StringBuilder();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+
+            for (Entry entry : batch) {
+                StringBuilder target = entry.level() == Level.ERROR ? err : out;
+                target.append(entry.message()).append(System.lineSeparator());
+                if (entry.error() != null) {
+                    StringWriter trace = new StringWriter();
+                    entry.error().printStackTrace(new PrintWriter(trace));
+                    target.append(trace);
+                }
+            }
+            // Потоки берутся при записи, чтобы учитывать System.setOut/setErr
+            write(System.out, out);
+            write(System.err, err);
+
+            synchronized (progress) {
+                written += batch.size();
+                progress.notifyAll();
+            }
+            batch.clear();
+        }
+    }
+
+    private static void write(PrintStream stream, StringBuilder text) {
+        if (text.length() > 0) {
+            stream.print(text);
+            stream.flush();
+            text.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.inventory.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Реестр метрик приложения: гистограммы задержек, счетчики и показатели,
+ * которые вычисляются при чтении (например, статистика кэша).
+ *
+ * Имена метрик — строчные слова через точку ({@code dao.getById}).
+ * Метрики создаются при первом обращении и живут до конца работы процесса,
+ * поэтому код на горячем пути получает их один раз и хранит в поле.
+ */
+public final class Metrics {
+    private static final Metrics DEFAULT = new Metrics();
+
+    private final Map<String, LatencyHistogram> timers = new ConcurrentSkipListMap<>();
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, DoubleSupplier> gauges = new ConcurrentSkipListMap<>();
+
+    /**
+     * Общий реестр приложения.
+     */
+    public static Metrics getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Гистограмма задержек с указанным именем.
+     */
+    public LatencyHistogram timer(String name) {
+        return timers.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Счетчик с указанным именем.
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Регистрирует показатель, который вычисляется при каждом чтении.
+     * Повторная регистрация с тем же именем заменяет прежний показатель.
+     */
+    public void gauge(String name, DoubleSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Гистограммы по именам в алфавитном порядке.
+     */
+    public Map<String, LatencyHistogram> getTimers() {
+        return Collections.unmodifiableMap(timers);
+    }
+
+    public Map<String, Counter> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    public Map<String, DoubleSupplier> getGauges() {
+        return Collections.unmodifiableMap(gauges);
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.inventory.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Выгрузка метрик в JSON или в текстовый формат Prometheus.
+ *
+ * Экземпляр периодически перезаписывает файл со снимком метрик: файл
+ * пишется во временный и переименовывается, поэтому читатель (например,
+ * node_exporter textfile collector) никогда не видит его наполовину записанным.
+ * Формат выбирается по расширению: {@code .json} — JSON, иначе Prometheus.
+ */
+public class MetricsExporter implements AutoCloseable {
+    private static final String PROMETHEUS_PREFIX = "inventory_";
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final Metrics metrics;
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Запускает периодическую выгрузку метрик в файл.
+     */
+    public MetricsExporter(Metrics metrics, Path file, long intervalSeconds) {
+        this.metrics = metrics;
+        this.file = file;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::export, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Записывает текущий снимок метрик в файл выгрузки.
+     */
+    public void export() {
+        try {
+            write(metrics, file);
+        } catch (IOException e) {
+            Log.error("❌ Не удалось выгрузить метрики в " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Останавливает выгрузку, записав последний снимок.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        export();
+    }
+
+    /**
+     * Записывает снимок метрик в файл в формате, соответствующем расширению.
+     */
+    public static void write(Metrics metrics, Path file) throws IOException {
+        String content = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json")
+                ? toJson(metrics)
+                : toPrometheus(metrics);
+
+        Path absolute = file.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Снимок метрик в JSON. Длительности — в миллисекундах.
+     */
+    public static String toJson(Metrics metrics) {
+        StringBuilder json = new StringBuilder(4096);
+        json.append("{\n  \"timestamp\": \"").append(Instant.now()).append("\",\n  \"timers\": {");
+        String separator = "\n";
+        for (Map.Entry<String, LatencyHistogram> entry : metrics.getTimers().entrySet()) {
+            LatencyHistogram.Snapshot s = entry.getValue().snapshot();
+            json.append(separator).append("    ").append(quote(entry.getKey())).append(": {")
+                    .append("\"count\": ").append(s.count())
+                    .append(", \"meanMs\": ").append(number(s.mean() / NANOS_PER_MILLI))
+                    .append(", \"p50Ms\": ").append(number(s.p50() / NANOS_PER_MILLI))
+                    .append(", \"p90Ms\": ").append(number(s.p90() / NANOS_PER_MILLI))
+                    .append(", \"p99Ms\": ").append(number(s.p99() / NANOS_PER_MILLI))
+                    .append(", \"p999Ms\": ").append(number(s.p999() / NANOS_PER_MILLI))
+                    .append(", \"maxMs\": ").append(number(s.max() / NANOS_PER_MILLI))
+                    .append('}');
+            separator = ",\n";
+        }
+        json.append("\n  },\n  \"counters\": {");
+        separator = "\n";
+        for (Map.Entry<String, Counter> entry : metrics.getCounters().entrySet()) {
+            json.append(separator).append("    ").append(quote(entry.getKey())).append(": ")
+                    .append(entry.getValue().get());
+            separator = ",\n";
+        }
+        json.append("\n  },\n  \"gauges\": {");
+        separator = "\n";
+        for (Map.Entry<String, DoubleSupplier> entry : metrics.getGauges().entrySet()) {
+            json.append(separator).append("    ").append(quote(entry.getKey())).append(": ")
+                    .append(jsonNumber(read(entry.getValue())));
+            separator = ",\n";
+        }
+        return json.append("\n  }\n}\n").toString();
+    }
+
+    /**
+     * Снимок метрик в текстовом формате Prometheus: гистограммы выводятся
+     * как summary в секундах, счетчики — с суффиксом {@code _total}.
+     */
+    public static String toPrometheus(Metrics metrics) {
+        StringBuilder text = new StringBuilder(4096);
+        for (Map.Entry<String, LatencyHistogram> entry : metrics.getTimers().entrySet()) {
+            String name = prometheusName(entry.getKey()) + "_seconds";
+            LatencyHistogram.Snapshot s = entry.getValue().snapshot();
+            text.append("# TYPE ").append(name).append(" summary\n");
+            quantile(text, name, "0.5", s.p50());
+            quantile(text, name, "0.9", s.p90());
+            quantile(text, name, "0.99", s.p99());
+            quantile(text, name, "0.999", s.p999());
+            text.append(name).append("_sum ").append(number(s.sum() / NANOS_PER_SECOND)).append('\n');
+            text.append(name).append("_count ").append(s.count()).append('\n');
+            text.append("# TYPE ").append(name).append("_max gauge\n");
+            text.append(name).append("_max ").append(number(s.max() / NANOS_PER_SECOND)).append('\n');
+        }
+        for (Map.Entry<String, Counter> entry : metrics.getCounters().entrySet()) {
+            String name = prometheusName(entry.getKey()) + "_total";
+            text.append("# TYPE ").append(name).append(" counter\n");
+            text.append(name).append(' ').append(entry.getValue().get()).append('\n');
+        }
+        for (Map.Entry<String, DoubleSupplier> entry : metrics.getGauges().entrySet()) {
+            String name = prometheusName(entry.getKey());
+            text.append("# TYPE ").append(name).append(" gauge\n");
+            text.append(name).append(' ').append(number(read(entry.getValue()))).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static void quantile(StringBuilder text, String name, String quantile, long nanos) {
+        text.append(name).append("{quantile=\"").append(quantile).append("\"} ")
+                .append(number(nanos / NANOS_PER_SECOND)).append('\n');
+    }
+
+    /**
+     * {@code dao.getById} → {@code inventory_dao_get_by_id}.
+     */
+    static String prometheusName(String name) {
+        StringBuilder result = new StringBuilder(PROMETHEUS_PREFIX);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                result.append('_').append(Character.toLowerCase(c));
+            } else if (Character.isLetterOrDigit(c)) {
+                result.append(c);
+            } else {
+                result.append('_');
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Значение показателя; ошибка вычисления не прерывает выгрузку остальных.
+     */
+    private static double read(DoubleSupplier gauge) {
+        try {
+            return gauge.getAsDouble();
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String number(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return "NaN";
+        }
+        return value == Math.rint(value) && Math.abs(value) < 1e15
+                ? Long.toString((long) value)
+                : String.format(Locale.ROOT, "%.6f", value);
+    }
+
+    private static String jsonNumber(double value) {
+        // В JSON нет NaN: недоступный показатель записывается как null
+        return Double.isNaN(value) || Double.isInfinite(value) ? "null" : number(value);
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.inventory.metrics;
+
+import java.time.Instant;
+
+/**
+ * Замеры фаз запуска приложения.
+ * Длительность каждой фазы записывается в таймер {@code startup.<фаза>}
+ * и выводится в журнал вместе со временем от запуска процесса JVM:
+ * в него входит и загрузка классов, которую сокращает архив CDS
+ * (см. профиль {@code cds} в pom.xml). Фазы могут идти параллельно
+ * в разных потоках.
+ */
+public final class StartupTimer {
+    private final Metrics metrics;
+    private final long processStartMillis;
+
+    public StartupTimer(Metrics metrics) {
+        this.metrics = metrics;
+        this.processStartMillis = ProcessHandle.current().info().startInstant()
+                .map(Instant::toEpochMilli)
+                .orElseGet(System::currentTimeMillis);
+    }
+
+    /**
+     * Записывает фазу, начавшуюся в момент {@code startNanos} ({@link System#nanoTime()}).
+     */
+    public void record(String phase, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        metrics.timer("startup." + phase).record(nanos);
+        Log.info("⏱️ Запуск, " + phase + ": " + nanos / 1_000_000 + " мс (от старта JVM "
+                + getElapsedMillis() + " мс)");
+    }
+
+    /**
+     * Записывает фазу, которая началась вместе с процессом JVM.
+     */
+    public void recordSinceProcessStart(String phase) {
+        long millis = getElapsedMillis();
+        metrics.timer("startup." + phase).record(millis * 1_000_000);
+        Log.info("⏱️ Запуск, " + phase + ": " + millis + " мс от старта JVM");
+    }
+
+    /**
+     * Миллисекунды от запуска процесса JVM.
+     */
+    public long getElapsedMillis() {
+        return Math.max(0, System.currentTimeMillis() - processStartMillis);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.inventory.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Результат пакетной операции ItemDAO.
+ * Хранит число успешно обработанных строк и список отклоненных строк
+ * с причиной, чтобы одна ошибка не отменяла весь пакет.
+ */
+public class BatchResult {
+    /**
+     * Отклоненная строка пакета.
+     *
+     * @param index  позиция строки во входной коллекции
+     * @param id     идентификатор товара, если он известен
+     * @param reason причина отказа
+     */
+    public record Failure(int index, UUID id, String reason) {
+    }
+
+    private final int total;
+    private int succeeded;
+    private final List<Failure> failures = new ArrayList<>();
+
+    BatchResult(int total) {
+        this.total = total;
+    }
+
+    void addSuccess() {
+        succeeded++;
+    }
+
+    void addFailure(int index, UUID id, String reason) {
+        failures.add(new Failure(index, id, reason));
+    }
+
+    /**
+     * Отменяет результаты строк, записанных после указанной отметки
+     * (используется, когда незафиксированная транзакция откатывается).
+     */
+    void truncate(int succeededCount, int failureCount) {
+        succeeded = succeededCount;
+        failures.subList(failureCount, failures.size()).clear();
+    }
+
+    /**
+     * Общее число строк во входной коллекции.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Число строк, которые были успешно записаны.
+     */
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    /**
+     * Отклоненные строки в порядке их обработки.
+     */
+    public List<Failure> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{total=" + total + ", succeeded=" + succeeded + ", failed=" + failures.size() + "}";
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.inventory.model;
+
+import com.example.inventory.cache.BoundedCache;
+import com.example.inventory.cache.CacheStats;
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.metrics.Metrics;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * ItemDAO с кэшем товаров по идентификатору.
+ *
+ * {@link #getById} сначала ищет товар в памяти, в том числе среди товаров,
+ * прочитанных страницами или целиком, и запоминает отсутствующие
+ * идентификаторы. Любая запись через этот DAO обновляет или удаляет
+ * записи кэша. Кэш хранит собственные копии товаров, поэтому изменение
+ * возвращенного объекта не портит кэш.
+ *
+ * Размер кэша задается ключом {@code cache.maxEntries}.
+ * Изменения в обход этого DAO кэш видит после {@link #followChanges()}.
+ */
+public class CachedItemDAO extends ItemDAO {
+    private final BoundedCache<UUID, Item> cache;
+
+    /**
+     * Создает DAO поверх общего пула приложения.
+     */
+    public CachedItemDAO() {
+        this(ConnectionPool.getDefault());
+    }
+
+    public CachedItemDAO(ConnectionPool pool) {
+        super(pool);
+        this.cache = new BoundedCache<>(Math.max(1, getConfig().getInt("cache.maxEntries", 10_000)));
+    }
+
+    /**
+     * Записывает в кэш актуальное состояние товара, известное без чтения
+     * из базы ({@code null} — товара нет).
+     */
+    protected void cacheWrite(UUID id, Item item) {
+        cache.put(id, copy(item));
+    }
+
+    /**
+     * Удаляет товар из кэша.
+     */
+    protected void cacheInvalidate(UUID id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Статистика попаданий, промахов и вытеснений.
+     */
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Публикует статистику кэша в реестре метрик ({@code cache.*}).
+     * Показатели вычисляются при чтении и ничего не стоят на горячем пути.
+     */
+    public void registerMetrics(Metrics metrics) {
+        metrics.gauge("cache.hits", () -> cache.stats().hits());
+        metrics.gauge("cache.misses", () -> cache.stats().misses());
+        metrics.gauge("cache.evictions", () -> cache.stats().evictions());
+        metrics.gauge("cache.invalidations", () -> cache.stats().invalidations());
+        metrics.gauge("cache.size", cache::size);
+        metrics.gauge("cache.hitRate", () -> cache.stats().hitRate());
+    }
+
+    /**
+     * Очищает кэш, например после изменения базы в обход DAO.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Подписывает кэш на журнал изменений: записи товаров, измененных
+     * другими DAO или процессами, сбрасываются вскоре после коммита.
+     * Записи, которые уже совпадают с изменением или новее его (например,
+     * после записи через этот DAO), остаются в кэше. Закрытие подписки
+     * возвращает прежнее поведение.
+     */
+    public ChangeFeed.Subscription followChanges() {
+        return getChangeFeed().subscribe(changes -> {
+            for (ItemChange change : changes) {
+                cache.invalidateUnless(change.id(), cached -> isUpToDate(cached, change.item()));
+            }
+        });
+    }
+
+    /**
+     * В кэш попадает только найденный товар или подтвержденное отсутствие:
+     * ошибка базы передается вызывающему и не запоминается.
+     */
+    @Override
+    public Item getById(UUID id) {
+        return copy(cache.get(id, super::getById));
+    }
+
+    @Override
+    public boolean create(Item item) {
+        boolean created = super.create(item);
+        if (created) {
+            cache.put(item.getId(), new Item(item));
+        } else if (item.getId() != null) {
+            cache.invalidate(item.getId());
+        }
+        return created;
+    }
+
+    @Override
+    public boolean update(Item item) {
+        boolean updated;
+        try {
+            updated = super.update(item);
+        } catch (RuntimeException e) {
+            // Записан ли товар, неизвестно: следующее чтение пойдет в базу
+            cache.invalidate(item.getId());
+            throw e;
+        }
+        if (updated) {
+            cache.put(item.getId(), new Item(item));
+        } else {
+            cache.invalidate(item.getId());
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean delete(UUID id) {
+        boolean deleted;
+        try {
+            deleted = super.delete(id);
+        } catch (RuntimeException e) {
+            cache.invalidate(id);
+            throw e;
+        }
+        if (deleted) {
+            // Товара больше нет: повторный поиск не пойдет в базу
+            cache.put(id, null);
+        } else {
+            cache.invalidate(id);
+        }
+        return deleted;
+    }
+
+    @Override
+    public BatchResult createAll(Collection<Item> items) {
+        BatchResult result = super.createAll(items);
+        invalidateItems(items);
+        return result;
+    }
+
+    @Override
+    public BatchResult updateAll(Collection<Item> items) {
+        BatchResult result = super.updateAll(items);
+        invalidateItems(items);
+        return result;
+    }
+
+    @Override
+    public BatchResult deleteAll(Collection<UUID> ids) {
+        BatchResult result = super.deleteAll(ids);
+        for (UUID id : ids) {
+            if (id != null) {
+                cache.invalidate(id);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public BatchResult applyAll(List<ItemMutation> mutations) {
+        BatchResult result = super.applyAll(mutations);
+        for (ItemMutation mutation : mutations) {
+            cache.invalidate(mutation.id());
+        }
+        return result;
+    }
+
+    @Override
+    public List<Item> readAll() {
+        long stamp = cache.stamp();
+        List<Item> items = super.readAll();
+        remember(items, stamp);
+        return items;
+    }
+
+    @Override
+    public ItemPage readPage(PageKey after, int limit, ItemSort sort) {
+        long stamp = cache.stamp();
+        ItemPage page = super.readPage(after, limit, sort);
+        remember(page.items(), stamp);
+        return page;
+    }
+
+    @Override
+    public List<Item> readWindow(int offset, int limit, ItemSort sort) {
+        long stamp = cache.stamp();
+        List<Item> items = super.readWindow(offset, limit, sort);
+        remember(items, stamp);
+        return items;
+    }
+
+    /**
+     * Запоминает прочитанные товары, если за время чтения ничего не изменилось.
+     * Из больших выборок берутся только последние строки, помещающиеся в кэш.
+     */
+    private void remember(List<Item> items, long stamp) {
+        for (Item item : items.subList(Math.max(0, items.size() - cache.getMaxSize()), items.size())) {
+            cache.putIfUnchanged(item.getId(), new Item(item), stamp);
+        }
+    }
+
+    private void invalidateItems(Collection<Item> items) {
+        for (Item item : items) {
+            if (item != null && item.getId() != null) {
+                cache.invalidate(item.getId());
+            }
+        }
+    }
+
+    /**
+     * Проверяет, что запись кэша уже учитывает изменение: совпадает с ним
+     * или изменена позже. {@code null} — товара нет. Запись с той же датой
+     * изменения, но другими данными считается устаревшей.
+     */
+    private static boolean isUpToDate(Item cached, Item changed) {
+        if (cached == null || changed == null) {
+            return cached == changed;
+        }
+        if (cached.getUpdatedAt().isAfter(changed.getUpdatedAt())) {
+            return true;
+        }
+        return cached.getUpdatedAt().equals(changed.getUpdatedAt())
+                && Objects.equals(cached.getName(), changed.getName())
+                && Objects.equals(cached.getDescription(), changed.getDescription())
+                && Objects.equals(cached.getCreatedAt(), changed.getCreatedAt());
+    }
+
+    private static Item copy(Item item) {
+        return item == null ? null : new Item(item);
+    }
+}
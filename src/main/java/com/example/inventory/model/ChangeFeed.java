@@ -0,0 +1,441 @@
+package com.example.inventory.model;
+
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.metrics.Counter;
+import com.example.inventory.metrics.Log;
+import com.example.inventory.metrics.Metrics;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Журнал изменений товаров (change data capture).
+ *
+ * Триггеры таблицы items записывают каждое создание, изменение и удаление
+ * в таблицу item_changes в той же транзакции, поэтому в журнал попадают
+ * только зафиксированные изменения, в порядке фиксации и от любого
+ * писателя — этого DAO, другого DAO того же пула или другого процесса.
+ * Номер изменения ({@code AUTOINCREMENT}) растет и никогда не повторяется.
+ *
+ * Подписчики получают изменения в отдельном потоке рассылки. Поток
+ * просыпается сразу после возврата в пул соединения для записи, а изменения
+ * других процессов забирает раз в {@code changes.pollMs} миллисекунд.
+ * Подписка может начаться с любого номера, например сохраненного при
+ * прошлом запуске: сначала придут пропущенные изменения из журнала.
+ *
+ * Журнал хранит последние {@code changes.retention} изменений; подписчик,
+ * отставший сильнее, получает {@link ChangeListener#onReset}.
+ */
+public class ChangeFeed implements AutoCloseable {
+    private static final int BATCH_SIZE = 1000;
+    private static final long PRUNE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final Map<ConnectionPool, ChangeFeed> feeds = new ConcurrentHashMap<>();
+    private static final Counter delivered = Metrics.getDefault().counter("changes.delivered");
+
+    private final ConnectionPool pool;
+    private final long pollNanos;
+    private final long retention;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition wakeUp = lock.newCondition();
+    private boolean pending;
+    private volatile boolean closed;
+    private final Thread dispatcher;
+
+    // Используются только потоком рассылки
+    private long lastPruneCheck;
+
+    private ChangeFeed(ConnectionPool pool) {
+        this.pool = pool;
+        this.pollNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(10, pool.getConfig().getLong("changes.pollMs", 1000)));
+        this.retention = Math.max(1, pool.getConfig().getLong("changes.retention", 100_000));
+        this.lastPruneCheck = System.nanoTime() - PRUNE_INTERVAL_NANOS;
+
+        this.dispatcher = new Thread(this::run, "change-feed");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+        pool.addWriteListener(this::wake);
+        pool.addCloseHook(this::close);
+    }
+
+    /**
+     * Журнал базы, с которой работает пул. Схема должна быть уже создана,
+     * поэтому журнал берется через {@link ItemDAO#getChangeFeed()}.
+     */
+    static ChangeFeed of(ConnectionPool pool) {
+        return feeds.computeIfAbsent(pool, ChangeFeed::new);
+    }
+
+    /**
+     * Создает таблицу журнала и триггеры, которые его заполняют.
+     * Миграция, пересоздающая таблицу items, должна затем вызвать
+     * {@link #createPreviousKeyTriggers}.
+     */
+    static void createChangeLog(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS item_changes (" +
+                    "seq INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "type TEXT NOT NULL," +
+                    "id BLOB NOT NULL," +
+                    "name TEXT," +
+                    "description TEXT," +
+                    "createdAt INTEGER," +
+                    "updatedAt INTEGER)");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS items_changes_insert AFTER INSERT ON items BEGIN " +
+                    "INSERT INTO item_changes(type, id, name, description, createdAt, updatedAt) " +
+                    "VALUES ('CREATE', new.id, new.name, new.description, new.createdAt, new.updatedAt); END");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS items_changes_update AFTER UPDATE ON items BEGIN " +
+                    "INSERT INTO item_changes(type, id, name, description, createdAt, updatedAt) " +
+                    "VALUES ('UPDATE', new.id, new.name, new.description, new.createdAt, new.updatedAt); END");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS items_changes_delete AFTER DELETE ON items BEGIN " +
+                    "INSERT INTO item_changes(type, id) VALUES ('DELETE', old.id); END");
+        }
+    }
+
+    /**
+     * Добавляет в журнал прежний ключ сортировки (название и дату создания)
+     * измененной или удаленной строки: по нему подписчик находит место строки,
+     * которой нет у него в памяти.
+     */
+    static void addPreviousKeys(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE item_changes ADD COLUMN oldName TEXT");
+            stmt.execute("ALTER TABLE item_changes ADD COLUMN oldCreatedAt INTEGER");
+        }
+        createPreviousKeyTriggers(conn);
+    }
+
+    /**
+     * Пересоздает триггеры изменения и удаления так, чтобы они записывали прежний ключ строки.
+     */
+    static void createPreviousKeyTriggers(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TRIGGER IF EXISTS items_changes_update");
+            stmt.execute("DROP TRIGGER IF EXISTS items_changes_delete");
+            stmt.execute("CREATE TRIGGER items_changes_update AFTER UPDATE ON items BEGIN " +
+                    "INSERT INTO item_changes(type, id, name, description, createdAt, updatedAt, oldName, oldCreatedAt) " +
+                    "VALUES ('UPDATE', new.id, new.name, new.description, new.createdAt, new.updatedAt, " +
+                    "old.name, old.createdAt); END");
+            stmt.execute("CREATE TRIGGER items_changes_delete AFTER DELETE ON items BEGIN " +
+                    "INSERT INTO item_changes(type, id, oldName, oldCreatedAt) " +
+                    "VALUES ('DELETE', old.id, old.name, old.createdAt); END");
+        }
+    }
+
+    /**
+     * Подписывает на изменения, зафиксированные после вызова.
+     */
+    public Subscription subscribe(ChangeListener listener) {
+        return subscribe(getLastSequence(), listener);
+    }
+
+    /**
+     * Подписывает на изменения с номером больше {@code afterSequence}.
+     */
+    public Subscription subscribe(long afterSequence, ChangeListener listener) {
+        if (closed) {
+            throw new IllegalStateException("❌ Журнал изменений закрыт");
+        }
+        Subscription subscription = new Subscription(afterSequence, listener);
+        subscriptions.add(subscription);
+        wake();
+        return subscription;
+    }
+
+    /**
+     * Номер последнего зафиксированного изменения (0, если изменений не было).
+     */
+    public long getLastSequence() {
+        try (Connection conn = pool.acquireReader()) {
+            return readLastSequence(conn);
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при чтении номера изменения: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Проверяет, что изменение с номером {@code sequence} — изменение товара
+     * {@code changedId} и что все изменения после него еще есть в журнале.
+     * Так проверяется сохраненный снимок ({@link ItemSnapshot}): если база
+     * заменена, пересоздана или журнал очищен дальше снимка, проверка не проходит.
+     * Снимок базы без изменений проверить нечем, поэтому он тоже не проходит.
+     */
+    public boolean canResumeFrom(long sequence, UUID changedId) {
+        if (sequence <= 0 || changedId == null) {
+            return false;
+        }
+        try (Connection conn = pool.acquireReader()) {
+            return changedId.equals(readChangedId(conn, sequence));
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при чтении журнала изменений: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Номер последнего изменения, видимый в текущей транзакции соединения.
+     */
+    static long readLastSequence(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT seq FROM sqlite_sequence WHERE name = 'item_changes'")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Идентификатор товара из изменения с указанным номером или {@code null},
+     * если такого изменения в журнале нет.
+     */
+    static UUID readChangedId(Connection conn, long sequence) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT id FROM item_changes WHERE seq = ?")) {
+            pstmt.setLong(1, sequence);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? ColumnCodec.toUuid(rs.getBytes(1)) : null;
+            }
+        }
+    }
+
+    /**
+     * Читает из журнала изменения с номером больше {@code afterSequence}.
+     *
+     * @throws IllegalStateException если часть этих изменений уже удалена из журнала
+     */
+    public List<ItemChange> readSince(long afterSequence, int limit) {
+        List<ItemChange> changes = read(afterSequence, limit);
+        if (!changes.isEmpty() && changes.get(0).sequence() > afterSequence + 1 && isPruned(afterSequence)) {
+            throw new IllegalStateException("❌ Изменения после " + afterSequence + " удалены из журнала");
+        }
+        return changes;
+    }
+
+    /**
+     * Будит поток рассылки. Вызывается пулом после каждого возврата
+     * соединения для записи и поэтому ничего не ждет.
+     */
+    void wake() {
+        lock.lock();
+        try {
+            pending = true;
+            wakeUp.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Останавливает рассылку. Вызывается при закрытии пула.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            wakeUp.signal();
+        } finally {
+            lock.unlock();
+        }
+        feeds.remove(pool, this);
+        if (Thread.currentThread() != dispatcher) {
+            try {
+                dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        while (true) {
+            lock.lock();
+            try {
+                long waitNanos = pollNanos;
+                while (!pending && !closed && waitNanos > 0) {
+                    waitNanos = wakeUp.awaitNanos(waitNanos);
+                }
+                pending = false;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            if (closed) {
+                return;
+            }
+
+            try {
+                deliver();
+                prune();
+            } catch (RuntimeException e) {
+                Log.error("❌ Ошибка рассылки изменений: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Рассылает все изменения, которых еще не получили подписчики.
+     * Журнал читается один раз с позиции самого отстающего подписчика.
+     */
+    private void deliver() {
+        while (!subscriptions.isEmpty() && !closed) {
+            long from = Long.MAX_VALUE;
+            for (Subscription subscription : subscriptions) {
+                from = Math.min(from, subscription.position);
+            }
+            List<ItemChange> batch = read(from, BATCH_SIZE);
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            long first = batch.get(0).sequence();
+            boolean gap = first > from + 1 && isPruned(from);
+            for (Subscription subscription : subscriptions) {
+                if (gap && subscription.position < first - 1) {
+                    subscription.reset(first - 1);
+                }
+                subscription.deliver(batch);
+            }
+            if (batch.size() < BATCH_SIZE) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Удаляет из журнала изменения старше последних {@code changes.retention}.
+     * Проверяется не чаще раза в секунду.
+     */
+    private void prune() {
+        long now = System.nanoTime();
+        if (now - lastPruneCheck < PRUNE_INTERVAL_NANOS) {
+            return;
+        }
+        lastPruneCheck = now;
+
+        long boundary = getLastSequence() - retention;
+        if (boundary <= 0) {
+            return;
+        }
+        try (Connection conn = pool.acquireWriter();
+             PreparedStatement pstmt = conn.prepareStatement("DELETE FROM item_changes WHERE seq <= ?")) {
+            pstmt.setLong(1, boundary);
+            int removed = pstmt.executeUpdate();
+            if (removed > 0) {
+                Log.debug(() -> "🧹 Из журнала изменений удалено записей: " + removed);
+            }
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при очистке журнала изменений: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Проверяет, удалены ли из журнала изменения сразу после указанного номера.
+     */
+    private boolean isPruned(long afterSequence) {
+        try (Connection conn = pool.acquireReader();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MIN(seq) FROM item_changes")) {
+            return rs.next() && rs.getLong(1) > afterSequence + 1;
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при чтении журнала изменений: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private List<ItemChange> read(long afterSequence, int limit) {
+        String sql = "SELECT seq, type, id, name, description, createdAt, updatedAt, oldName, oldCreatedAt " +
+                "FROM item_changes " +
+                "WHERE seq > ? ORDER BY seq LIMIT ?";
+        List<ItemChange> changes = new ArrayList<>();
+        try (Connection conn = pool.acquireReader();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, afterSequence);
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ItemMutation.Type type = ItemMutation.Type.valueOf(rs.getString(2));
+                    UUID id = ColumnCodec.toUuid(rs.getBytes(3));
+                    Item item = type == ItemMutation.Type.DELETE ? null : new Item(id, rs.getString(4),
+                            rs.getString(5), ColumnCodec.toLocalDateTime(rs.getLong(6)),
+                            ColumnCodec.toLocalDateTime(rs.getLong(7)));
+                    // Записи, сделанные до появления прежнего ключа, его не содержат
+                    String oldName = rs.getString(8);
+                    PageKey previous = oldName == null ? null
+                            : new PageKey(oldName, ColumnCodec.toLocalDateTime(rs.getLong(9)), id);
+                    changes.add(new ItemChange(rs.getLong(1), type, id, item, previous));
+                }
+            }
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при чтении журнала изменений: " + e.getMessage());
+        }
+        return changes;
+    }
+
+    /**
+     * Подписка на журнал. Закрытие прекращает рассылку подписчику.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final ChangeListener listener;
+        // Номер последнего доставленного изменения; меняет только поток рассылки
+        private volatile long position;
+
+        private Subscription(long position, ChangeListener listener) {
+            this.position = position;
+            this.listener = listener;
+        }
+
+        /**
+         * Номер последнего доставленного изменения: с него можно продолжить
+         * подписку после перезапуска.
+         */
+        public long getPosition() {
+            return position;
+        }
+
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+        }
+
+        private void reset(long sequence) {
+            position = sequence;
+            try {
+                listener.onReset(sequence);
+            } catch (RuntimeException e) {
+                Log.error("❌ Ошибка подписчика журнала изменений: " + e.getMessage(), e);
+            }
+        }
+
+        private void deliver(List<ItemChange> batch) {
+            int start = 0;
+            while (start < batch.size() && batch.get(start).sequence() <= position) {
+                start++;
+            }
+            if (start == batch.size()) {
+                return;
+            }
+            List<ItemChange> changes = batch.subList(start, batch.size());
+            position = changes.get(changes.size() - 1).sequence();
+            delivered.add(changes.size());
+            try {
+                listener.onChanges(changes);
+            } catch (RuntimeException e) {
+                Log.error("❌ Ошибка подписчика журнала изменений: " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.inventory.model;
+
+import java.util.List;
+
+/**
+ * Подписчик журнала изменений {@link ChangeFeed}.
+ * Вызывается из потока рассылки журнала, изменения приходят по порядку номеров.
+ */
+@FunctionalInterface
+public interface ChangeListener {
+    /**
+     * Очередная порция зафиксированных изменений.
+     */
+    void onChanges(List<ItemChange> changes);
+
+    /**
+     * Изменения после номера, с которого продолжает подписчик, уже удалены
+     * из журнала. Подписчик должен перечитать данные целиком; дальше он
+     * получает изменения с номера {@code sequence + 1}.
+     */
+    default void onReset(long sequence) {
+    }
+}
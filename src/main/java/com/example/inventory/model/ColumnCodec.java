@@ -0,0 +1,95 @@
+package com.example.inventory.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.UUID;
+
+/**
+ * Преобразования значений колонок таблицы items.
+ * Идентификатор хранится как BLOB из 16 байт (старшие байты первыми,
+ * поэтому порядок BLOB совпадает с {@link ItemSort#compareIds}),
+ * а даты — как INTEGER с миллисекундами от эпохи. Чтение строки
+ * не разбирает текст.
+ */
+final class ColumnCodec {
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    /**
+     * Промежуток между переходами часового пояса, в котором смещение
+     * постоянно: даты строк обычно лежат рядом, и правила пояса
+     * не перебираются для каждой даты.
+     */
+    private record OffsetWindow(long fromMillis, long untilMillis, ZoneOffset offset) {
+        boolean contains(long epochMillis) {
+            return epochMillis >= fromMillis && epochMillis < untilMillis;
+        }
+
+        static OffsetWindow around(long epochMillis) {
+            ZoneRules rules = ZONE.getRules();
+            Instant instant = Instant.ofEpochMilli(epochMillis);
+            ZoneOffset offset = rules.getOffset(instant);
+            if (rules.isFixedOffset()) {
+                return new OffsetWindow(Long.MIN_VALUE, Long.MAX_VALUE, offset);
+            }
+            ZoneOffsetTransition previous = rules.previousTransition(instant);
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            // Переход ровно в этот момент: previousTransition вернет более ранний
+            long from = previous == null || !previous.getOffsetAfter().equals(offset)
+                    ? epochMillis : previous.toEpochSecond() * 1000;
+            long until = next == null ? Long.MAX_VALUE : next.toEpochSecond() * 1000;
+            return new OffsetWindow(from, until, offset);
+        }
+    }
+
+    private static volatile OffsetWindow offsetWindow = OffsetWindow.around(System.currentTimeMillis());
+
+    private ColumnCodec() {
+    }
+
+    static byte[] toBytes(UUID id) {
+        byte[] bytes = new byte[16];
+        putLong(bytes, 0, id.getMostSignificantBits());
+        putLong(bytes, 8, id.getLeastSignificantBits());
+        return bytes;
+    }
+
+    static UUID toUuid(byte[] bytes) {
+        if (bytes == null || bytes.length != 16) {
+            throw new IllegalArgumentException("❌ Идентификатор должен занимать 16 байт");
+        }
+        return new UUID(getLong(bytes, 0), getLong(bytes, 8));
+    }
+
+    static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    static LocalDateTime toLocalDateTime(long epochMillis) {
+        OffsetWindow window = offsetWindow;
+        if (!window.contains(epochMillis)) {
+            window = OffsetWindow.around(epochMillis);
+            offsetWindow = window;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000),
+                Math.floorMod(epochMillis, 1000) * 1_000_000, window.offset());
+    }
+
+    private static void putLong(byte[] bytes, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static long getLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = value << 8 | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.inventory.model;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -21,8 +23,8 @@ public class Item {
      * Автоматически устанавливает даты создания и обновления при создании объекта.
      */
     public Item() {
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.createdAt = now();
+        this.updatedAt = createdAt;
     }
 
     /**
@@ -34,6 +36,29 @@ public class Item {
         this.description = description;
     }
 
+    /**
+     * Создает товар из сохраненных значений полей, например из строки базы.
+     * В отличие от сеттеров не обращается к часам и не меняет даты.
+     */
+    public Item(UUID id, String name, String description, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Создает копию товара со всеми полями.
+     */
+    public Item(Item other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.description = other.description;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
     /**
      * Проверяет валидность данных товара.
      */
@@ -44,6 +69,19 @@ public class Item {
                 (description == null || description.length() <= 255);
     }
 
+    /**
+     * Проверяет, содержит ли название или описание строку поиска.
+     *
+     * Регистр приводится по {@link Locale#ROOT}, как в индексах поиска,
+     * чтобы результат не зависел от языка системы.
+     *
+     * @param query строка поиска в нижнем регистре ({@link Locale#ROOT})
+     */
+    public boolean matches(String query) {
+        return name != null && name.toLowerCase(Locale.ROOT).contains(query) ||
+                description != null && description.toLowerCase(Locale.ROOT).contains(query);
+    }
+
     // Геттеры и сеттеры
 
     public UUID getId() {
@@ -63,7 +101,7 @@ public class Item {
      */
     public void setName(String name) {
         this.name = name;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = now();
     }
 
     public String getDescription() {
@@ -75,7 +113,7 @@ public class Item {
      */
     public void setDescription(String description) {
         this.description = description;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = now();
     }
 
     public LocalDateTime getCreatedAt() {
@@ -94,6 +132,13 @@ public class Item {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * Текущее время с точностью до миллисекунд — с такой точностью даты хранятся в базе.
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
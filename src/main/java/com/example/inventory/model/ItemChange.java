@@ -0,0 +1,16 @@
+package com.example.inventory.model;
+
+import java.util.UUID;
+
+/**
+ * Зафиксированное изменение товара из журнала изменений ({@link ChangeFeed}).
+ *
+ * @param sequence номер изменения: растет с каждой записью и не повторяется
+ * @param type     тип изменения
+ * @param id       идентификатор товара
+ * @param item     состояние товара после изменения ({@code null} для удаления)
+ * @param previous ключ сортировки товара до изменения ({@code null} для создания
+ *                 и для записей журнала, сделанных до появления этого поля)
+ */
+public record ItemChange(long sequence, ItemMutation.Type type, UUID id, Item item, PageKey previous) {
+}
@@ -1,33 +1,193 @@
 package com.example.inventory.model;
 
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.db.DatabaseConfig;
+import com.example.inventory.db.SchemaMigrator;
+import com.example.inventory.metrics.Counter;
+import com.example.inventory.metrics.LatencyHistogram;
+import com.example.inventory.metrics.Log;
+import com.example.inventory.metrics.Metrics;
+
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Класс для работы с базой данных товаров.
  * Обеспечивает CRUD операции (создание, чтение, обновление, удаление).
+ * Соединения берутся из {@link ConnectionPool}: запись идет через выделенное
+ * соединение писателя, чтение — через соединения читателей.
+ *
+ * Время каждой операции записывается в гистограмму {@code dao.<операция>},
+ * число прочитанных и записанных строк — в счетчики {@code dao.rows.read}
+ * и {@code dao.rows.written}.
  */
 public class ItemDAO {
-    private static final String DB_URL = "jdbc:sqlite:inventory.db";
+    // Формат дат в схеме до версии 3, нужен только для миграции
     private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
-    // Статический блок инициализации базы данных
-    static {
-        initializeDatabase();
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS %s (" +
+            "id BLOB PRIMARY KEY CHECK(LENGTH(id) = 16)," +
+            "name TEXT NOT NULL CHECK(LENGTH(name) BETWEEN 3 AND 50)," +
+            "description TEXT CHECK(LENGTH(description) <= 255)," +
+            "createdAt INTEGER NOT NULL," +
+            "updatedAt INTEGER NOT NULL)";
+
+    private static final String COLUMNS = "id, name, description, createdAt, updatedAt";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO items(id, name, description, createdAt, updatedAt) VALUES(?,?,?,?,?)";
+    private static final String UPDATE_SQL =
+            "UPDATE items SET name = ?, description = ?, updatedAt = ? WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM items WHERE id = ?";
+    // Код ошибки SQLite при нарушении ограничения (первичного ключа, CHECK и т. п.)
+    private static final int SQLITE_CONSTRAINT = 19;
+
+    // Версии схемы базы; новые миграции добавляются только в конец
+    private static final SchemaMigrator SCHEMA = new SchemaMigrator()
+            .add(1, "таблица товаров и полнотекстовый индекс", ItemDAO::createItemsTable)
+            .add(2, "индексы для сортировки по названию и дате", ItemDAO::createSortIndexes)
+            .add(3, "компактные идентификаторы и даты", ItemDAO::migrateToCompactColumns)
+            .add(4, "журнал изменений товаров", ChangeFeed::createChangeLog)
+            .add(5, "прежние ключи сортировки в журнале изменений", ChangeFeed::addPreviousKeys);
+
+    // Метрики операций
+    private static final Metrics metrics = Metrics.getDefault();
+    private static final LatencyHistogram createTime = metrics.timer("dao.create");
+    private static final LatencyHistogram readAllTime = metrics.timer("dao.readAll");
+    private static final LatencyHistogram readPageTime = metrics.timer("dao.readPage");
+    private static final LatencyHistogram readWindowTime = metrics.timer("dao.readWindow");
+    private static final LatencyHistogram countTime = metrics.timer("dao.count");
+    private static final LatencyHistogram searchTime = metrics.timer("dao.search");
+    private static final LatencyHistogram countBeforeTime = metrics.timer("dao.countBefore");
+    private static final LatencyHistogram updateTime = metrics.timer("dao.update");
+    private static final LatencyHistogram deleteTime = metrics.timer("dao.delete");
+    private static final LatencyHistogram getByIdTime = metrics.timer("dao.getById");
+    private static final LatencyHistogram createAllTime = metrics.timer("dao.createAll");
+    private static final LatencyHistogram updateAllTime = metrics.timer("dao.updateAll");
+    private static final LatencyHistogram deleteAllTime = metrics.timer("dao.deleteAll");
+    private static final LatencyHistogram applyAllTime = metrics.timer("dao.applyAll");
+    private static final Counter rowsRead = metrics.counter("dao.rows.read");
+    private static final Counter rowsWritten = metrics.counter("dao.rows.written");
+
+    // Пулы, для которых схема уже создана
+    private static final Set<ConnectionPool> initializedPools = ConcurrentHashMap.newKeySet();
+
+    private final ConnectionPool pool;
+    private final int batchChunkSize;
+    private final int fetchSize;
+
+    /**
+     * Создает DAO поверх общего пула приложения.
+     */
+    public ItemDAO() {
+        this(ConnectionPool.getDefault());
+    }
+
+    /**
+     * Создает DAO поверх указанного пула соединений.
+     */
+    public ItemDAO(ConnectionPool pool) {
+        this.pool = pool;
+        this.batchChunkSize = Math.max(1, pool.getConfig().getInt("batch.chunkSize", 1000));
+        this.fetchSize = Math.max(1, pool.getConfig().getInt("read.fetchSize", 500));
+        synchronized (initializedPools) {
+            // Пул отмечается только после успешной инициализации: неудачная повторяется
+            if (!initializedPools.contains(pool)) {
+                initializeDatabase(pool);
+                initializedPools.add(pool);
+                // Журнал запускается сразу: он же удаляет старые записи
+                ChangeFeed.of(pool);
+            }
+        }
     }
 
     /**
-     * Инициализирует базу данных при первом обращении к классу.
-     * Создает таблицу товаров, если она не существует.
+     * Настройки базы данных, с которой работает DAO.
      */
-    private static void initializeDatabase() {
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             Statement stmt = conn.createStatement()) {
+    public DatabaseConfig getConfig() {
+        return pool.getConfig();
+    }
+
+    /**
+     * Журнал изменений базы, с которой работает DAO.
+     */
+    public ChangeFeed getChangeFeed() {
+        return ChangeFeed.of(pool);
+    }
+
+    /**
+     * Пул соединений DAO, например для регистрации действий при его закрытии.
+     */
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Номер последнего зафиксированного изменения (0, если изменений не было).
+     * В отличие от {@link ChangeFeed#getLastSequence()} не создает журнал,
+     * поэтому годится и для действий при закрытии пула, когда журнал уже остановлен.
+     */
+    public long getLastSequence() {
+        try (Connection conn = connectReader()) {
+            return ChangeFeed.readLastSequence(conn);
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при чтении номера изменения: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Версия схемы, которую ожидает DAO.
+     */
+    public static int getSchemaVersion() {
+        return SCHEMA.getLatestVersion();
+    }
 
+    /**
+     * Инициализирует базу данных при первом использовании пула:
+     * применяет недостающие миграции схемы.
+     *
+     * Схема ниже последней версии — фатальная ошибка: запросы DAO
+     * написаны для последней схемы и на старой таблице дали бы неверные данные.
+     *
+     * @throws IllegalStateException если миграция не удалась
+     */
+    private static void initializeDatabase(ConnectionPool pool) {
+        try (Connection conn = pool.acquireWriter()) {
+            SCHEMA.migrate(conn);
+            int version = SchemaMigrator.currentVersion(conn);
+            if (version != SCHEMA.getLatestVersion()) {
+                throw new SQLException("Схема базы осталась на версии " + version + " из " +
+                        SCHEMA.getLatestVersion());
+            }
+            Log.info("✅ База данных успешно инициализирована");
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка инициализации базы данных: " + e.getMessage());
+            throw new IllegalStateException("❌ Ошибка инициализации базы данных: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Версия 1: таблица товаров и полнотекстовый индекс.
+     * Базы, созданные до появления версий, уже содержат эти объекты,
+     * поэтому все команды идемпотентны.
+     */
+    private static void createItemsTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
             String sql = "CREATE TABLE IF NOT EXISTS items (" +
                     "id TEXT PRIMARY KEY," +
                     "name TEXT NOT NULL CHECK(LENGTH(name) BETWEEN 3 AND 50)," +
@@ -36,142 +196,870 @@ public class ItemDAO {
                     "updatedAt TEXT NOT NULL)";
 
             stmt.execute(sql);
-            System.out.println("✅ База данных успешно инициализирована");
-        } catch (SQLException e) {
-            System.err.println("❌ Ошибка инициализации базы данных: " + e.getMessage());
+            initializeSearchIndex(stmt);
+        }
+    }
+
+    /**
+     * Версия 2: индексы для каждого варианта {@link ItemSort}.
+     * Порядок колонок совпадает с ORDER BY, а идентификатор в конце
+     * позволяет выполнять keyset-пагинацию и подсчет позиции
+     * ({@link #countBefore}) только по индексу, без сортировки и чтения таблицы.
+     */
+    private static void createSortIndexes(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_items_name ON items(name COLLATE NOCASE, id)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_items_created ON items(createdAt, id)");
+        }
+    }
+
+    /**
+     * Версия 3: идентификатор хранится как BLOB из 16 байт вместо строки
+     * из 36 символов, даты — как INTEGER с миллисекундами от эпохи вместо
+     * строк ISO. Строки переносятся в новую таблицу порциями с теми же rowid,
+     * поэтому полнотекстовый индекс остается действительным. Миграция идет
+     * в одной транзакции: в режиме WAL читатели до ее фиксации видят старую таблицу.
+     * Строка с идентификатором или датой, которые не удается разобрать, прерывает
+     * миграцию с указанием rowid и значения: ее нужно исправить и перезапустить
+     * приложение.
+     */
+    private static void migrateToCompactColumns(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            // Таблица могла остаться от прерванной миграции прежних версий приложения
+            stmt.execute("DROP TABLE IF EXISTS items_compact");
+            stmt.execute(String.format(CREATE_TABLE_SQL, "items_compact"));
+
+            String insert = "INSERT INTO items_compact(rowid, " + COLUMNS + ") VALUES(?,?,?,?,?,?)";
+            int copied = 0;
+            try (ResultSet rs = stmt.executeQuery("SELECT rowid, " + COLUMNS + " FROM items");
+                 PreparedStatement pstmt = conn.prepareStatement(insert)) {
+                while (rs.next()) {
+                    long rowid = rs.getLong(1);
+                    pstmt.setLong(1, rowid);
+                    pstmt.setBytes(2, ColumnCodec.toBytes(parseLegacyId(rowid, rs.getString(2))));
+                    pstmt.setString(3, rs.getString(3));
+                    pstmt.setString(4, rs.getString(4));
+                    pstmt.setLong(5, ColumnCodec.toEpochMillis(parseLegacyDate(rowid, "createdAt", rs.getString(5))));
+                    pstmt.setLong(6, ColumnCodec.toEpochMillis(parseLegacyDate(rowid, "updatedAt", rs.getString(6))));
+                    pstmt.addBatch();
+                    if (++copied % 1000 == 0) {
+                        pstmt.executeBatch();
+                    }
+                }
+                pstmt.executeBatch();
+            }
+
+            // Вместе с таблицей удаляются ее индексы и триггеры полнотекстового поиска
+            stmt.execute("DROP TABLE items");
+            stmt.execute("ALTER TABLE items_compact RENAME TO items");
+            createSortIndexes(conn);
+            initializeSearchIndex(stmt);
+            Log.info("📦 Перенесено товаров в компактную схему: " + copied);
+        }
+    }
+
+    private static UUID parseLegacyId(long rowid, String value) throws SQLException {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new SQLException("строка rowid " + rowid + ": неверный идентификатор '" + value + "'", e);
+        }
+    }
+
+    private static LocalDateTime parseLegacyDate(long rowid, String column, String value) throws SQLException {
+        try {
+            return LocalDateTime.parse(value, formatter);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new SQLException("строка rowid " + rowid + ": неверная дата " + column + " '" + value +
+                    "', ожидается формат ISO (2024-03-01T10:15:30)", e);
+        }
+    }
+
+    /**
+     * Создает полнотекстовый индекс FTS5 по названию и описанию.
+     * Индекс хранит только токены (external content), сами строки берутся
+     * из таблицы items по rowid. Триггеры поддерживают индекс в актуальном
+     * состоянии при любой записи в items.
+     */
+    private static void initializeSearchIndex(Statement stmt) throws SQLException {
+        boolean exists;
+        try (ResultSet rs = stmt.executeQuery(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'items_fts'")) {
+            exists = rs.next();
+        }
+
+        stmt.execute("CREATE VIRTUAL TABLE IF NOT EXISTS items_fts USING fts5(" +
+                "name, description, content='items', content_rowid='rowid', " +
+                "tokenize='unicode61 remove_diacritics 2')");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS items_fts_insert AFTER INSERT ON items BEGIN " +
+                "INSERT INTO items_fts(rowid, name, description) VALUES (new.rowid, new.name, new.description); END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS items_fts_delete AFTER DELETE ON items BEGIN " +
+                "INSERT INTO items_fts(items_fts, rowid, name, description) " +
+                "VALUES ('delete', old.rowid, old.name, old.description); END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS items_fts_update AFTER UPDATE OF name, description ON items BEGIN " +
+                "INSERT INTO items_fts(items_fts, rowid, name, description) " +
+                "VALUES ('delete', old.rowid, old.name, old.description); " +
+                "INSERT INTO items_fts(rowid, name, description) VALUES (new.rowid, new.name, new.description); END");
+
+        if (!exists) {
+            // Индекс создан для уже заполненной таблицы
+            stmt.execute("INSERT INTO items_fts(items_fts) VALUES ('rebuild')");
+            Log.info("🔎 Полнотекстовый индекс построен");
         }
     }
 
     /**
-     * Устанавливает соединение с базой данных.
+     * Берет из пула соединение для записи.
      */
-    private Connection connect() throws SQLException {
-        return DriverManager.getConnection(DB_URL);
+    private Connection connectWriter() throws SQLException {
+        return pool.acquireWriter();
+    }
+
+    /**
+     * Берет из пула соединение для чтения.
+     */
+    private Connection connectReader() throws SQLException {
+        return pool.acquireReader();
     }
 
     /**
      * Создает новый товар в базе данных.
+     *
+     * @return {@code true}, если товар записан, и {@code false}, если товар
+     *         с таким ID уже есть
+     * @throws IllegalStateException при любой другой ошибке базы данных
      */
-    public void create(Item item) {
+    public boolean create(Item item) {
         if (!item.validate()) {
             throw new IllegalArgumentException("❌ Недопустимые данные товара");
         }
 
         // Генерация ID, если отсутствует
         if (item.getId() == null) {
-            item.setId(UUID.randomUUID());
+            item.setId(UuidV7.generate());
         }
 
-        String sql = "INSERT INTO items(id, name, description, createdAt, updatedAt) VALUES(?,?,?,?,?)";
-
-        try (Connection conn = connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, item.getId().toString());
-            pstmt.setString(2, item.getName());
-            pstmt.setString(3, item.getDescription());
-            pstmt.setString(4, item.getCreatedAt().format(formatter));
-            pstmt.setString(5, item.getUpdatedAt().format(formatter));
+        long start = System.nanoTime();
+        try (Connection conn = connectWriter();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
 
+            bindInsert(pstmt, item);
             pstmt.executeUpdate();
-            System.out.println("➕ Товар создан: " + item.getName());
+            rowsWritten.increment();
+            Log.debug(() -> "➕ Товар создан: " + item.getName());
+            return true;
         } catch (SQLException e) {
-            System.err.println("❌ Ошибка при создании товара: " + e.getMessage());
+            Log.error("❌ Ошибка при создании товара: " + e.getMessage());
+            // Данные уже проверены, поэтому нарушить можно только первичный ключ
+            if (e.getErrorCode() == SQLITE_CONSTRAINT) {
+                return false;
+            }
+            throw new IllegalStateException("❌ Ошибка при создании товара: " + e.getMessage(), e);
+        } finally {
+            createTime.recordSince(start);
         }
     }
 
     /**
      * Получает все товары из базы данных.
+     * Для больших таблиц лучше использовать {@link #readPage} или {@link #forEach},
+     * которые не держат всю таблицу в памяти.
      */
     public List<Item> readAll() {
         List<Item> items = new ArrayList<>();
-        String sql = "SELECT * FROM items";
+        String sql = "SELECT " + COLUMNS + " FROM items";
 
-        try (Connection conn = connect();
+        long start = System.nanoTime();
+        try (Connection conn = connectReader();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
-                Item item = new Item();
-                item.setId(UUID.fromString(rs.getString("id")));
-                item.setName(rs.getString("name"));
-                item.setDescription(rs.getString("description"));
-                item.setCreatedAt(LocalDateTime.parse(rs.getString("createdAt"), formatter));
-                item.setUpdatedAt(LocalDateTime.parse(rs.getString("updatedAt"), formatter));
-                items.add(item);
+                items.add(mapRow(rs));
             }
-            System.out.println("📥 Прочитано товаров: " + items.size());
+            Log.debug(() -> "📥 Прочитано товаров: " + items.size());
         } catch (SQLException e) {
-            System.err.println("❌ Ошибка при чтении товаров: " + e.getMessage());
+            Log.error("❌ Ошибка при чтении товаров: " + e.getMessage());
+        } finally {
+            readAllTime.recordSince(start);
         }
         return items;
     }
 
     /**
-     * Обновляет существующий товар в базе данных.
+     * Читает одну страницу товаров в заданном порядке (keyset-пагинация).
+     * Стоимость чтения не зависит от того, насколько далеко страница от начала.
+     *
+     * @param after ключ последней строки предыдущей страницы или {@code null} для первой страницы
+     * @param limit максимальное число товаров на странице
+     * @param sort  порядок сортировки
      */
-    public void update(Item item) {
-        if (!item.validate()) {
-            throw new IllegalArgumentException("❌ Недопустимые данные товара");
+    public ItemPage readPage(PageKey after, int limit, ItemSort sort) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("❌ Размер страницы должен быть положительным");
         }
 
-        String sql = "UPDATE items SET name = ?, description = ?, updatedAt = ? WHERE id = ?";
+        String sql = "SELECT " + COLUMNS + " FROM items" +
+                (after == null ? "" : " WHERE " + sort.getSeekCondition()) +
+                " ORDER BY " + sort.getOrderBy() + " LIMIT ?";
 
-        try (Connection conn = connect();
+        List<Item> items = new ArrayList<>(Math.min(limit, 1024));
+        long start = System.nanoTime();
+        try (Connection conn = connectReader();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, item.getName());
-            pstmt.setString(2, item.getDescription());
-            pstmt.setString(3, item.getUpdatedAt().format(formatter));
-            pstmt.setString(4, item.getId().toString());
+            int index = 1;
+            if (after != null) {
+                index = bindSeekKey(pstmt, index, after, sort);
+            }
+            // Одна лишняя строка показывает, есть ли следующая страница
+            pstmt.setInt(index, limit + 1);
 
-            pstmt.executeUpdate();
-            System.out.println("🔄 Товар обновлен: " + item.getName());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapRow(rs));
+                }
+            }
         } catch (SQLException e) {
-            System.err.println("❌ Ошибка при обновлении товара: " + e.getMessage());
+            Log.error("❌ Ошибка при чтении страницы товаров: " + e.getMessage());
+            return new ItemPage(List.of(), null);
+        } finally {
+            readPageTime.recordSince(start);
         }
+
+        if (items.size() > limit) {
+            items.remove(limit);
+            return new ItemPage(items, PageKey.of(items.get(limit - 1)));
+        }
+        return new ItemPage(items, null);
     }
 
     /**
-     * Удаляет товар по его идентификатору.
+     * Читает окно товаров по смещению от начала.
+     * Нужен для произвольного перехода к середине таблицы (например, при
+     * перетаскивании полосы прокрутки), когда ключ предыдущей страницы неизвестен.
+     * Для последовательного чтения {@link #readPage} быстрее.
      */
-    public void delete(UUID id) {
-        String sql = "DELETE FROM items WHERE id = ?";
+    public List<Item> readWindow(int offset, int limit, ItemSort sort) {
+        String sql = "SELECT " + COLUMNS + " FROM items ORDER BY " + sort.getOrderBy() + " LIMIT ? OFFSET ?";
+        List<Item> items = new ArrayList<>(Math.min(limit, 1024));
 
-        try (Connection conn = connect();
+        long start = System.nanoTime();
+        try (Connection conn = connectReader();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, id.toString());
-            pstmt.executeUpdate();
-            System.out.println("🗑️ Товар удален: " + id);
+            pstmt.setInt(1, limit);
+            pstmt.setInt(2, offset);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при чтении окна товаров: " + e.getMessage());
+        } finally {
+            readWindowTime.recordSince(start);
+        }
+        return items;
+    }
+
+    /**
+     * Возвращает количество товаров в базе данных.
+     */
+    public int count() {
+        long start = System.nanoTime();
+        try (Connection conn = connectReader();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM items")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при подсчете товаров: " + e.getMessage());
+            return 0;
+        } finally {
+            countTime.recordSince(start);
+        }
+    }
+
+    /**
+     * Читает снимок начала таблицы: число товаров, первые {@code limit} товаров
+     * в порядке {@code sort} и номер последнего изменения из журнала.
+     * Все читается в одной транзакции, поэтому снимок согласован с номером
+     * изменения даже при параллельной записи.
+     *
+     * @return снимок или {@code null} при ошибке чтения
+     */
+    public ItemSnapshot readSnapshot(ItemSort sort, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("❌ Размер снимка не может быть отрицательным");
+        }
+
+        String sql = "SELECT " + COLUMNS + " FROM items ORDER BY " + sort.getOrderBy() + " LIMIT ?";
+        try (Connection conn = connectReader()) {
+            conn.setAutoCommit(false);
+            try {
+                long sequence = ChangeFeed.readLastSequence(conn);
+                UUID lastChangeId = sequence > 0 ? ChangeFeed.readChangedId(conn, sequence) : null;
+
+                int totalCount;
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM items")) {
+                    totalCount = rs.next() ? rs.getInt(1) : 0;
+                }
+
+                List<Item> items = new ArrayList<>(Math.min(limit, totalCount));
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setInt(1, limit);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            items.add(mapRow(rs));
+                        }
+                    }
+                }
+                return new ItemSnapshot(sort, sequence, lastChangeId, totalCount, items);
+            } finally {
+                conn.commit();
+            }
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при чтении снимка товаров: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Полнотекстовый поиск по названию и описанию через индекс FTS5.
+     * Каждое слово запроса ищется как префикс ("бол" найдет "болт"),
+     * все слова должны встретиться в товаре. Совпадения в названии весят
+     * больше, чем в описании; результаты упорядочены по релевантности.
+     *
+     * @param query текст запроса в свободной форме
+     * @param limit максимальное число результатов
+     */
+    public List<SearchHit> search(String query, int limit) {
+        String match = toMatchExpression(query);
+        if (match.isEmpty()) {
+            return List.of();
+        }
+
+        String sql = "SELECT i.id, i.name, i.description, i.createdAt, i.updatedAt, " +
+                "bm25(items_fts, 10.0, 1.0) AS rank, " +
+                "highlight(items_fts, 0, ?, ?) AS nameHighlight, " +
+                "snippet(items_fts, 1, ?, ?, '…', 12) AS descriptionSnippet " +
+                "FROM items_fts JOIN items i ON i.rowid = items_fts.rowid " +
+                "WHERE items_fts MATCH ? ORDER BY rank LIMIT ?";
+
+        List<SearchHit> hits = new ArrayList<>();
+        long start = System.nanoTime();
+        try (Connection conn = connectReader();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, SearchHit.MARK_START);
+            pstmt.setString(2, SearchHit.MARK_END);
+            pstmt.setString(3, SearchHit.MARK_START);
+            pstmt.setString(4, SearchHit.MARK_END);
+            pstmt.setString(5, match);
+            pstmt.setInt(6, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    hits.add(new SearchHit(mapRow(rs), rs.getDouble(6), rs.getString(7), rs.getString(8)));
+                }
+            }
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка полнотекстового поиска: " + e.getMessage());
+        } finally {
+            searchTime.recordSince(start);
+        }
+        return hits;
+    }
+
+    /**
+     * Перестраивает полнотекстовый индекс по таблице items.
+     * Нужно, например, после VACUUM, который может поменять rowid строк.
+     */
+    public void rebuildSearchIndex() {
+        try (Connection conn = connectWriter();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO items_fts(items_fts) VALUES ('rebuild')");
+            Log.info("🔎 Полнотекстовый индекс перестроен");
         } catch (SQLException e) {
-            System.err.println("❌ Ошибка при удалении товара: " + e.getMessage());
+            Log.error("❌ Ошибка перестроения полнотекстового индекса: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Превращает пользовательский запрос в выражение FTS5: каждое слово
+     * становится строкой в кавычках с префиксным поиском, поэтому операторы
+     * FTS5 (AND, OR, NEAR, *) из запроса не интерпретируются.
+     */
+    static String toMatchExpression(String query) {
+        StringBuilder match = new StringBuilder();
+        for (String token : query.trim().split("[\\s\\p{Punct}\\p{IsPunctuation}]+")) {
+            if (token.isBlank()) {
+                continue;
+            }
+            if (match.length() > 0) {
+                match.append(' ');
+            }
+            match.append('"').append(token.replace("\"", "\"\"")).append("\"*");
+        }
+        return match.toString();
+    }
+
+    /**
+     * Возвращает позицию, которую товар занимает (или занял бы) в заданном
+     * порядке сортировки, — число товаров, стоящих перед ним.
+     */
+    public int countBefore(Item item, ItemSort sort) {
+        return countBefore(PageKey.of(item), sort);
+    }
+
+    /**
+     * Возвращает число товаров, стоящих в заданном порядке сортировки
+     * перед ключом, например прежним ключом удаленного товара.
+     */
+    public int countBefore(PageKey key, ItemSort sort) {
+        String sql = "SELECT COUNT(*) FROM items WHERE " + sort.getPrecedingCondition();
+
+        long start = System.nanoTime();
+        try (Connection conn = connectReader();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            bindSeekKey(pstmt, 1, key, sort);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при поиске позиции товара: " + e.getMessage());
+            return 0;
+        } finally {
+            countBeforeTime.recordSince(start);
+        }
+    }
+
+    /**
+     * Передает все товары обработчику по одному, не накапливая их в памяти.
+     * Строки читаются однонаправленным курсором порциями по {@code read.fetchSize}.
+     */
+    public void forEach(ItemSort sort, Consumer<? super Item> action) {
+        try (Stream<Item> items = stream(sort)) {
+            items.forEach(action);
+        }
+    }
+
+    /**
+     * Возвращает ленивый поток товаров поверх открытого курсора.
+     * Поток держит соединение из пула, поэтому его обязательно нужно закрыть
+     * (например, через try-with-resources).
+     */
+    public Stream<Item> stream(ItemSort sort) {
+        String sql = "SELECT " + COLUMNS + " FROM items" + (sort == null ? "" : " ORDER BY " + sort.getOrderBy());
+
+        Connection conn = null;
+        Statement stmt = null;
+        try {
+            conn = connectReader();
+            stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(fetchSize);
+            ResultSet rs = stmt.executeQuery(sql);
+
+            Spliterator<Item> cursor = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super Item> action) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(mapRow(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new IllegalStateException("❌ Ошибка при чтении товаров: " + e.getMessage(), e);
+                    }
+                }
+            };
+
+            Connection leasedConn = conn;
+            Statement cursorStmt = stmt;
+            return StreamSupport.stream(cursor, false).onClose(() -> closeCursor(leasedConn, cursorStmt));
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при чтении товаров: " + e.getMessage());
+            closeCursor(conn, stmt);
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * Закрывает курсор потока и возвращает соединение в пул.
+     */
+    private static void closeCursor(Connection conn, Statement stmt) {
+        try {
+            if (stmt != null) {
+                stmt.close();
+            }
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при закрытии курсора: " + e.getMessage());
+        }
+        try {
+            if (conn != null) {
+                conn.close();
+            }
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при закрытии соединения: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Обновляет существующий товар в базе данных.
+     *
+     * @return {@code true}, если товар найден и обновлен
+     * @throws IllegalStateException при ошибке базы данных: ее нельзя
+     *                               принять за отсутствие товара
+     */
+    public boolean update(Item item) {
+        if (!item.validate()) {
+            throw new IllegalArgumentException("❌ Недопустимые данные товара");
+        }
+
+        long start = System.nanoTime();
+        try (Connection conn = connectWriter();
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
+
+            bindUpdate(pstmt, item);
+            boolean updated = pstmt.executeUpdate() > 0;
+            if (updated) {
+                rowsWritten.increment();
+            }
+            Log.debug(() -> "🔄 Товар обновлен: " + item.getName());
+            return updated;
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при обновлении товара: " + e.getMessage());
+            throw new IllegalStateException("❌ Ошибка при обновлении товара: " + e.getMessage(), e);
+        } finally {
+            updateTime.recordSince(start);
+        }
+    }
+
+    /**
+     * Удаляет товар по его идентификатору.
+     *
+     * @return {@code true}, если товар был найден и удален
+     * @throws IllegalStateException при ошибке базы данных
+     */
+    public boolean delete(UUID id) {
+        long start = System.nanoTime();
+        try (Connection conn = connectWriter();
+             PreparedStatement pstmt = conn.prepareStatement(DELETE_SQL)) {
+
+            pstmt.setBytes(1, ColumnCodec.toBytes(id));
+            boolean deleted = pstmt.executeUpdate() > 0;
+            if (deleted) {
+                rowsWritten.increment();
+            }
+            Log.debug(() -> "🗑️ Товар удален: " + id);
+            return deleted;
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при удалении товара: " + e.getMessage());
+            throw new IllegalStateException("❌ Ошибка при удалении товара: " + e.getMessage(), e);
+        } finally {
+            deleteTime.recordSince(start);
         }
     }
 
     /**
      * Находит товар по его идентификатору.
+     *
+     * @return товар или {@code null}, если его нет
+     * @throws IllegalStateException при ошибке базы данных: ее нельзя
+     *                               принять за отсутствие товара
      */
     public Item getById(UUID id) {
-        String sql = "SELECT * FROM items WHERE id = ?";
-        try (Connection conn = connect();
+        String sql = "SELECT " + COLUMNS + " FROM items WHERE id = ?";
+        long start = System.nanoTime();
+        try (Connection conn = connectReader();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, id.toString());
+            pstmt.setBytes(1, ColumnCodec.toBytes(id));
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    Item item = new Item();
-                    item.setId(UUID.fromString(rs.getString("id")));
-                    item.setName(rs.getString("name"));
-                    item.setDescription(rs.getString("description"));
-                    item.setCreatedAt(LocalDateTime.parse(rs.getString("createdAt"), formatter));
-                    item.setUpdatedAt(LocalDateTime.parse(rs.getString("updatedAt"), formatter));
-                    return item;
+                    return mapRow(rs);
                 }
             }
         } catch (SQLException e) {
-            System.err.println("❌ Ошибка при поиске товара по ID: " + e.getMessage());
+            Log.error("❌ Ошибка при поиске товара по ID: " + e.getMessage());
+            throw new IllegalStateException("❌ Ошибка при поиске товара по ID: " + e.getMessage(), e);
+        } finally {
+            getByIdTime.recordSince(start);
         }
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Создает товары пакетом.
+     * Все товары проверяются до начала транзакции, недопустимые попадают
+     * в список отказов, остальные вставляются порциями по {@code batch.chunkSize}
+     * строк, по одной транзакции на порцию.
+     */
+    public BatchResult createAll(Collection<Item> items) {
+        long start = System.nanoTime();
+        List<Item> rows = new ArrayList<>(items);
+        BatchResult result = new BatchResult(rows.size());
+        List<Integer> accepted = new ArrayList<>(rows.size());
+
+        for (int i = 0; i < rows.size(); i++) {
+            Item item = rows.get(i);
+            if (item == null || !item.validate()) {
+                result.addFailure(i, item == null ? null : item.getId(), "Недопустимые данные товара");
+                continue;
+            }
+            if (item.getId() == null) {
+                item.setId(UuidV7.generate());
+            }
+            accepted.add(i);
+        }
+
+        executeBatch("создании", INSERT_SQL, rows, accepted, this::bindInsert, Item::getId, result);
+        createAllTime.recordSince(start);
+        Log.info("➕ Пакетное создание товаров: " + result);
+        return result;
+    }
+
+    /**
+     * Обновляет товары пакетом. Товары без идентификатора или с недопустимыми
+     * данными отклоняются до начала транзакции, отсутствующие в базе — после.
+     */
+    public BatchResult updateAll(Collection<Item> items) {
+        long start = System.nanoTime();
+        List<Item> rows = new ArrayList<>(items);
+        BatchResult result = new BatchResult(rows.size());
+        List<Integer> accepted = new ArrayList<>(rows.size());
+
+        for (int i = 0; i < rows.size(); i++) {
+            Item item = rows.get(i);
+            if (item == null || item.getId() == null) {
+                result.addFailure(i, null, "Не указан идентификатор товара");
+            } else if (!item.validate()) {
+                result.addFailure(i, item.getId(), "Недопустимые данные товара");
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        executeBatch("обновлении", UPDATE_SQL, rows, accepted, this::bindUpdate, Item::getId, result);
+        updateAllTime.recordSince(start);
+        Log.info("🔄 Пакетное обновление товаров: " + result);
+        return result;
+    }
+
+    /**
+     * Удаляет товары по идентификаторам пакетом.
+     */
+    public BatchResult deleteAll(Collection<UUID> ids) {
+        long start = System.nanoTime();
+        List<UUID> rows = new ArrayList<>(ids);
+        BatchResult result = new BatchResult(rows.size());
+        List<Integer> accepted = new ArrayList<>(rows.size());
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i) == null) {
+                result.addFailure(i, null, "Не указан идентификатор товара");
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        executeBatch("удалении", DELETE_SQL, rows, accepted,
+                (pstmt, id) -> pstmt.setBytes(1, ColumnCodec.toBytes(id)), Function.identity(), result);
+        deleteAllTime.recordSince(start);
+        Log.info("🗑️ Пакетное удаление товаров: " + result);
+        return result;
+    }
+
+    /**
+     * Применяет смешанный набор изменений: порциями по {@code batch.chunkSize},
+     * по одной транзакции на порцию. Ошибочная строка отменяется одна
+     * (SQLite откатывает только неудавшуюся команду), остальные строки
+     * порции фиксируются вместе с ней одним коммитом.
+     */
+    public BatchResult applyAll(List<ItemMutation> mutations) {
+        BatchResult result = new BatchResult(mutations.size());
+        if (mutations.isEmpty()) {
+            return result;
+        }
+
+        long start = System.nanoTime();
+        int done = 0;
+        int succeededBefore = 0;
+        int failedBefore = 0;
+        try (Connection conn = connectWriter();
+             PreparedStatement insert = conn.prepareStatement(INSERT_SQL);
+             PreparedStatement update = conn.prepareStatement(UPDATE_SQL);
+             PreparedStatement delete = conn.prepareStatement(DELETE_SQL)) {
+
+            conn.setAutoCommit(false);
+            while (done < mutations.size()) {
+                int end = Math.min(done + batchChunkSize, mutations.size());
+                for (int i = done; i < end; i++) {
+                    ItemMutation mutation = mutations.get(i);
+                    try {
+                        PreparedStatement pstmt = switch (mutation.type()) {
+                            case CREATE -> {
+                                bindInsert(insert, mutation.item());
+                                yield insert;
+                            }
+                            case UPDATE -> {
+                                bindUpdate(update, mutation.item());
+                                yield update;
+                            }
+                            case DELETE -> {
+                                delete.setBytes(1, ColumnCodec.toBytes(mutation.id()));
+                                yield delete;
+                            }
+                            case REPLACE -> {
+                                delete.setBytes(1, ColumnCodec.toBytes(mutation.id()));
+                                delete.executeUpdate();
+                                bindInsert(insert, mutation.item());
+                                yield insert;
+                            }
+                        };
+                        recordRow(result, i, mutation.id(), pstmt.executeUpdate());
+                    } catch (SQLException rowError) {
+                        result.addFailure(i, mutation.id(), rowError.getMessage());
+                    }
+                }
+                conn.commit();
+                done = end;
+                succeededBefore = result.getSucceeded();
+                failedBefore = result.getFailures().size();
+            }
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при групповой записи изменений: " + e.getMessage());
+            result.truncate(succeededBefore, failedBefore);
+            for (int i = done; i < mutations.size(); i++) {
+                result.addFailure(i, mutations.get(i).id(), e.getMessage());
+            }
+        }
+        applyAllTime.recordSince(start);
+        return result;
+    }
+
+    /**
+     * Привязывает параметры одной строки к подготовленному запросу.
+     */
+    @FunctionalInterface
+    private interface StatementBinder<T> {
+        void bind(PreparedStatement pstmt, T row) throws SQLException;
+    }
+
+    /**
+     * Выполняет пакет строк порциями через JDBC batch.
+     * Каждая порция — отдельная транзакция. Если пакет порции отклонен базой,
+     * порция откатывается до точки сохранения и повторяется построчно,
+     * чтобы записать все корректные строки и отчитаться об ошибочных.
+     */
+    private <T> void executeBatch(String action, String sql, List<T> rows, List<Integer> accepted,
+                                  StatementBinder<T> binder, Function<T, UUID> idOf, BatchResult result) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        int done = 0;
+        int succeededBefore = result.getSucceeded();
+        int failedBefore = result.getFailures().size();
+        try (Connection conn = connectWriter();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            conn.setAutoCommit(false);
+            while (done < accepted.size()) {
+                List<Integer> chunk = accepted.subList(done, Math.min(done + batchChunkSize, accepted.size()));
+                Savepoint savepoint = conn.setSavepoint();
+                try {
+                    for (int index : chunk) {
+                        binder.bind(pstmt, rows.get(index));
+                        pstmt.addBatch();
+                    }
+                    int[] counts = pstmt.executeBatch();
+                    for (int i = 0; i < chunk.size(); i++) {
+                        recordRow(result, chunk.get(i), idOf.apply(rows.get(chunk.get(i))), counts[i]);
+                    }
+                } catch (SQLException batchError) {
+                    pstmt.clearBatch();
+                    conn.rollback(savepoint);
+                    for (int index : chunk) {
+                        T row = rows.get(index);
+                        try {
+                            binder.bind(pstmt, row);
+                            recordRow(result, index, idOf.apply(row), pstmt.executeUpdate());
+                        } catch (SQLException rowError) {
+                            result.addFailure(index, idOf.apply(row), rowError.getMessage());
+                        }
+                    }
+                }
+                conn.commit();
+                done += chunk.size();
+                succeededBefore = result.getSucceeded();
+                failedBefore = result.getFailures().size();
+            }
+        } catch (SQLException e) {
+            Log.error("❌ Ошибка при пакетном " + action + " товаров: " + e.getMessage());
+            // Незафиксированная порция откатывается при возврате соединения в пул
+            result.truncate(succeededBefore, failedBefore);
+            for (int index : accepted.subList(done, accepted.size())) {
+                result.addFailure(index, idOf.apply(rows.get(index)), e.getMessage());
+            }
+        }
+    }
+
+    private static void recordRow(BatchResult result, int index, UUID id, int updateCount) {
+        if (updateCount == 0) {
+            result.addFailure(index, id, "Товар не найден");
+        } else {
+            result.addSuccess();
+            rowsWritten.increment();
+        }
+    }
+
+    /**
+     * Преобразует текущую строку результата в товар.
+     * Идентификатор и даты читаются как байты и числа, без разбора строк.
+     */
+    private static Item mapRow(ResultSet rs) throws SQLException {
+        rowsRead.increment();
+        return new Item(
+                ColumnCodec.toUuid(rs.getBytes(1)),
+                rs.getString(2),
+                rs.getString(3),
+                ColumnCodec.toLocalDateTime(rs.getLong(4)),
+                ColumnCodec.toLocalDateTime(rs.getLong(5)));
+    }
+
+    /**
+     * Привязывает ключ страницы к условию {@link ItemSort#getSeekCondition()}
+     * или {@link ItemSort#getPrecedingCondition()}.
+     *
+     * @return индекс следующего свободного параметра
+     */
+    private static int bindSeekKey(PreparedStatement pstmt, int index, PageKey key, ItemSort sort)
+            throws SQLException {
+        switch (sort) {
+            case NAME_ASC, NAME_DESC -> pstmt.setString(index, key.name());
+            case CREATED_DESC -> pstmt.setLong(index, ColumnCodec.toEpochMillis(key.createdAt()));
+        }
+        pstmt.setBytes(index + 1, ColumnCodec.toBytes(key.id()));
+        return index + 2;
+    }
+
+    private void bindInsert(PreparedStatement pstmt, Item item) throws SQLException {
+        pstmt.setBytes(1, ColumnCodec.toBytes(item.getId()));
+        pstmt.setString(2, item.getName());
+        pstmt.setString(3, item.getDescription());
+        pstmt.setLong(4, ColumnCodec.toEpochMillis(item.getCreatedAt()));
+        pstmt.setLong(5, ColumnCodec.toEpochMillis(item.getUpdatedAt()));
+    }
+
+    private void bindUpdate(PreparedStatement pstmt, Item item) throws SQLException {
+        pstmt.setString(1, item.getName());
+        pstmt.setString(2, item.getDescription());
+        pstmt.setLong(3, ColumnCodec.toEpochMillis(item.getUpdatedAt()));
+        pstmt.setBytes(4, ColumnCodec.toBytes(item.getId()));
+    }
+}
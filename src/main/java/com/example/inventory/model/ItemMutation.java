@@ -0,0 +1,60 @@
+package com.example.inventory.model;
+
+import java.util.UUID;
+
+/**
+ * Отложенное изменение одного товара: создание, обновление или удаление.
+ * Тип {@link Type#REPLACE} возникает только при объединении удаления
+ * с последующим созданием и в журнале изменений не встречается.
+ *
+ * @param type тип изменения
+ * @param id   идентификатор товара
+ * @param item новое состояние товара ({@code null} для удаления)
+ */
+public record ItemMutation(Type type, UUID id, Item item) {
+    public enum Type {
+        CREATE, UPDATE, DELETE,
+        /** Удаление строки и вставка новой: все колонки, включая дату создания, — из нового товара. */
+        REPLACE
+    }
+
+    public static ItemMutation create(Item item) {
+        return new ItemMutation(Type.CREATE, item.getId(), item);
+    }
+
+    public static ItemMutation update(Item item) {
+        return new ItemMutation(Type.UPDATE, item.getId(), item);
+    }
+
+    public static ItemMutation delete(UUID id) {
+        return new ItemMutation(Type.DELETE, id, null);
+    }
+
+    public static ItemMutation replace(Item item) {
+        return new ItemMutation(Type.REPLACE, item.getId(), item);
+    }
+
+    /**
+     * Объединяет это изменение с более поздним изменением того же товара
+     * так, чтобы итог в базе был тем же, что и после обоих по очереди.
+     *
+     * @return объединенное изменение или {@code null}, если изменения
+     * взаимно уничтожились (товар создан и удален до записи в базу)
+     */
+    public ItemMutation then(ItemMutation next) {
+        return switch (type) {
+            case CREATE -> switch (next.type) {
+                case CREATE, UPDATE, REPLACE -> create(next.item);
+                case DELETE -> null;
+            };
+            case UPDATE -> next.type == Type.CREATE ? update(next.item) : next;
+            // Удаленный товар создан заново: обновление не записало бы дату создания,
+            // а журнал показал бы UPDATE вместо DELETE и CREATE
+            case DELETE -> next.type == Type.CREATE || next.type == Type.REPLACE ? replace(next.item) : this;
+            case REPLACE -> switch (next.type) {
+                case CREATE, UPDATE, REPLACE -> replace(next.item);
+                case DELETE -> next;
+            };
+        };
+    }
+}
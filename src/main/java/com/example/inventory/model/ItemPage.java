@@ -0,0 +1,16 @@
+package com.example.inventory.model;
+
+import java.util.List;
+
+/**
+ * Страница товаров, прочитанная через {@link ItemDAO#readPage}.
+ *
+ * @param items   товары страницы в порядке сортировки
+ * @param nextKey ключ для чтения следующей страницы или {@code null}, если страница последняя
+ */
+public record ItemPage(List<Item> items, PageKey nextKey) {
+
+    public boolean hasMore() {
+        return nextKey != null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.inventory.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Согласованный снимок начала таблицы, прочитанный через {@link ItemDAO#readSnapshot}.
+ * Все поля прочитаны в одной транзакции чтения, поэтому снимок соответствует
+ * состоянию базы сразу после изменения {@code sequence}: более поздние
+ * изменения можно получить из {@link ChangeFeed} и применить поверх снимка.
+ *
+ * @param sort         порядок сортировки строк
+ * @param sequence     номер последнего изменения из журнала, вошедшего в снимок
+ * @param lastChangeId идентификатор товара из этого изменения ({@code null}, если изменений не было)
+ * @param totalCount   число товаров в базе
+ * @param items        первые товары в порядке {@code sort}
+ */
+public record ItemSnapshot(ItemSort sort, long sequence, UUID lastChangeId, int totalCount, List<Item> items) {
+}
@@ -0,0 +1,126 @@
+package com.example.inventory.model;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Порядок сортировки товаров.
+ * Каждый вариант описывает одинаковый порядок для базы данных (ORDER BY
+ * и условие keyset-пагинации) и для списков в памяти (компаратор).
+ * Идентификатор всегда участвует в сортировке последним, чтобы порядок
+ * был полным и страницы не пересекались.
+ *
+ * Название сравнивается без учета регистра (COLLATE NOCASE), а для каждого
+ * варианта в базе есть индекс с теми же колонками, поэтому ORDER BY
+ * не требует сортировки всей таблицы.
+ */
+public enum ItemSort {
+    NAME_ASC("По названию (А-Я)", "name COLLATE NOCASE ASC, id ASC",
+            "(name COLLATE NOCASE, id) > (?, ?)", "(name COLLATE NOCASE, id) < (?, ?)",
+            Comparator.comparing(Item::getName, ItemSort::compareNoCase).thenComparing(Item::getId, ItemSort::compareIds)),
+    NAME_DESC("По названию (Я-А)", "name COLLATE NOCASE DESC, id DESC",
+            "(name COLLATE NOCASE, id) < (?, ?)", "(name COLLATE NOCASE, id) > (?, ?)",
+            Comparator.comparing(Item::getName, ItemSort::compareNoCase).thenComparing(Item::getId, ItemSort::compareIds)
+                    .reversed()),
+    CREATED_DESC("По дате (новые)", "createdAt DESC, id DESC", "(createdAt, id) < (?, ?)", "(createdAt, id) > (?, ?)",
+            Comparator.comparing(Item::getCreatedAt).thenComparing(Item::getId, ItemSort::compareIds).reversed());
+
+    private final String label;
+    private final String orderBy;
+    private final String seekCondition;
+    private final String precedingCondition;
+    private final Comparator<Item> comparator;
+
+    ItemSort(String label, String orderBy, String seekCondition, String precedingCondition,
+             Comparator<Item> comparator) {
+        this.label = label;
+        this.orderBy = orderBy;
+        this.seekCondition = seekCondition;
+        this.precedingCondition = precedingCondition;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Название варианта для списка сортировки в интерфейсе.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Выражение для ORDER BY.
+     */
+    public String getOrderBy() {
+        return orderBy;
+    }
+
+    /**
+     * Условие WHERE, которое выбирает строки строго после ключа страницы.
+     * Первый параметр — значение колонки сортировки, второй — идентификатор.
+     */
+    public String getSeekCondition() {
+        return seekCondition;
+    }
+
+    /**
+     * Условие WHERE, которое выбирает строки строго перед ключом.
+     * Параметры те же, что у {@link #getSeekCondition()}.
+     */
+    public String getPrecedingCondition() {
+        return precedingCondition;
+    }
+
+    /**
+     * Компаратор, согласованный с порядком в базе данных.
+     */
+    public Comparator<Item> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Ищет вариант сортировки по названию из интерфейса.
+     */
+    public static ItemSort fromLabel(String label) {
+        for (ItemSort sort : values()) {
+            if (sort.label.equals(label)) {
+                return sort;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Сравнивает строки так же, как SQLite с COLLATE NOCASE: без учета
+     * регистра только для латинских букв A-Z, остальные символы — по коду.
+     */
+    public static int compareNoCase(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            char x = a.charAt(i);
+            char y = b.charAt(i);
+            if (x != y) {
+                x = x >= 'A' && x <= 'Z' ? (char) (x + ('a' - 'A')) : x;
+                y = y >= 'A' && y <= 'Z' ? (char) (y + ('a' - 'A')) : y;
+                if (x != y) {
+                    return x - y;
+                }
+            }
+        }
+        return a.length() - b.length();
+    }
+
+    /**
+     * Сравнивает идентификаторы так же, как SQLite сравнивает их 16-байтовые
+     * BLOB (memcmp): побайтно без знака в порядке big-endian, то есть
+     * по беззнаковым старшим, затем младшим 64 битам.
+     */
+    public static int compareIds(UUID a, UUID b) {
+        int cmp = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return cmp != 0 ? cmp : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
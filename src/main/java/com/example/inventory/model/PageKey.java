@@ -0,0 +1,23 @@
+package com.example.inventory.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ключ keyset-пагинации: значения колонок сортировки последней строки
+ * предыдущей страницы. Следующая страница начинается строго после него,
+ * поэтому ее чтение не зависит от номера страницы (в отличие от OFFSET).
+ *
+ * @param name      название товара
+ * @param createdAt дата создания товара
+ * @param id        идентификатор товара
+ */
+public record PageKey(String name, LocalDateTime createdAt, UUID id) {
+
+    /**
+     * Строит ключ по строке, после которой нужно продолжить чтение.
+     */
+    public static PageKey of(Item item) {
+        return new PageKey(item.getName(), item.getCreatedAt(), item.getId());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.inventory.model;
+
+/**
+ * Результат полнотекстового поиска {@link ItemDAO#search}.
+ * Найденные слова в названии и фрагменте описания обрамлены
+ * маркерами {@link #MARK_START} и {@link #MARK_END}.
+ *
+ * @param item               найденный товар
+ * @param rank               релевантность по BM25: чем меньше, тем лучше
+ * @param highlightedName    название с выделенными совпадениями
+ * @param descriptionSnippet фрагмент описания вокруг совпадения или {@code null}
+ */
+public record SearchHit(Item item, double rank, String highlightedName, String descriptionSnippet) {
+    public static final String MARK_START = "[";
+    public static final String MARK_END = "]";
+}
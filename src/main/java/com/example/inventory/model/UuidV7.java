@@ -0,0 +1,40 @@
+package com.example.inventory.model;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Генератор идентификаторов UUID версии 7 (RFC 9562).
+ * Старшие 48 бит содержат время в миллисекундах, поэтому новые товары
+ * получают возрастающие идентификаторы и вставляются в конец индекса
+ * первичного ключа, а не в случайные его страницы.
+ * В пределах одной миллисекунды порядок сохраняется счетчиком.
+ */
+public final class UuidV7 {
+    private static final SecureRandom random = new SecureRandom();
+
+    private static long lastMillis;
+    private static int sequence;
+
+    private UuidV7() {
+    }
+
+    /**
+     * Создает новый идентификатор, больший всех ранее созданных в этом процессе.
+     */
+    public static synchronized UUID generate() {
+        long millis = System.currentTimeMillis();
+        if (millis > lastMillis) {
+            lastMillis = millis;
+            sequence = random.nextInt(1 << 11);
+        } else if (++sequence >= 1 << 12) {
+            // Счетчик исчерпан: занимаем следующую миллисекунду
+            lastMillis++;
+            sequence = 0;
+        }
+
+        long msb = lastMillis << 16 | 0x7000L | sequence;
+        long lsb = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
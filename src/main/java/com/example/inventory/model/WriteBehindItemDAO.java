@@ -0,0 +1,346 @@
+package com.example.inventory.model;
+
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.metrics.LatencyHistogram;
+import com.example.inventory.metrics.Log;
+import com.example.inventory.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ItemDAO с отложенной записью (write-behind).
+ *
+ * {@link #create}, {@link #update} и {@link #delete} не ждут записи на диск:
+ * изменение ставится в очередь, где изменения одного товара объединяются
+ * (побеждает последнее), и сразу видно через {@link #getById}. Фоновый поток
+ * записывает очередь одной транзакцией с одним коммитом — когда в ней
+ * накопилось {@code writeBehind.flushSize} товаров или самое старое изменение
+ * ждет {@code writeBehind.maxDelayMs} миллисекунд. Последнее значение — граница
+ * потери данных при аварийном завершении процесса.
+ *
+ * Если в очереди {@code writeBehind.maxPending} товаров, пишущие потоки ждут
+ * записи. Пакетные операции сначала записывают очередь, чтобы не обогнать ее.
+ * Чтение страниц и поиск видят изменения после записи очереди.
+ * Перед закрытием пула соединений очередь записывается полностью.
+ *
+ * Ошибки отложенной записи (например, нарушение ограничений базы) выводятся
+ * в журнал, а соответствующие записи кэша сбрасываются.
+ */
+public class WriteBehindItemDAO extends CachedItemDAO implements AutoCloseable {
+    private static final LatencyHistogram writeTime = Metrics.getDefault().timer("writeBehind.write");
+
+    private final long maxDelayNanos;
+    private final int flushSize;
+    private final int maxPending;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Condition spaceAvailable = lock.newCondition();
+    private final Condition batchWritten = lock.newCondition();
+
+    private LinkedHashMap<UUID, ItemMutation> pending = new LinkedHashMap<>();
+    // Изменения, которые сейчас записываются в базу
+    private Map<UUID, ItemMutation> inFlight = Map.of();
+    private long oldestPendingNanos;
+    // Номера последнего поставленного в очередь и последнего записанного изменения
+    private long enqueuedSequence;
+    private long writtenSequence;
+    private boolean flushRequested;
+    private boolean closed;
+
+    private final Thread flusher;
+
+    /**
+     * Создает DAO поверх общего пула приложения.
+     */
+    public WriteBehindItemDAO() {
+        this(ConnectionPool.getDefault());
+    }
+
+    public WriteBehindItemDAO(ConnectionPool pool) {
+        super(pool);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(
+                Math.max(1, getConfig().getLong("writeBehind.maxDelayMs", 50)));
+        this.flushSize = Math.max(1, getConfig().getInt("writeBehind.flushSize", 500));
+        this.maxPending = Math.max(flushSize, getConfig().getInt("writeBehind.maxPending", 10_000));
+
+        this.flusher = new Thread(this::runFlusher, "write-behind");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+        pool.addCloseHook(this::close);
+    }
+
+    @Override
+    public boolean create(Item item) {
+        if (!item.validate()) {
+            throw new IllegalArgumentException("❌ Недопустимые данные товара");
+        }
+        if (item.getId() == null) {
+            item.setId(UuidV7.generate());
+        }
+        enqueue(ItemMutation.create(new Item(item)));
+        cacheWrite(item.getId(), item);
+        return true;
+    }
+
+    @Override
+    public boolean update(Item item) {
+        if (!item.validate()) {
+            throw new IllegalArgumentException("❌ Недопустимые данные товара");
+        }
+        if (getById(item.getId()) == null) {
+            return false;
+        }
+        enqueue(ItemMutation.update(new Item(item)));
+        cacheWrite(item.getId(), item);
+        return true;
+    }
+
+    @Override
+    public boolean delete(UUID id) {
+        if (getById(id) == null) {
+            return false;
+        }
+        enqueue(ItemMutation.delete(id));
+        cacheWrite(id, null);
+        return true;
+    }
+
+    /**
+     * Возвращает товар с учетом еще не записанных изменений.
+     */
+    @Override
+    public Item getById(UUID id) {
+        ItemMutation mutation;
+        lock.lock();
+        try {
+            mutation = pending.get(id);
+            if (mutation == null) {
+                mutation = inFlight.get(id);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (mutation != null) {
+            return mutation.type() == ItemMutation.Type.DELETE ? null : new Item(mutation.item());
+        }
+        return super.getById(id);
+    }
+
+    @Override
+    public BatchResult createAll(Collection<Item> items) {
+        flush();
+        return super.createAll(items);
+    }
+
+    @Override
+    public BatchResult updateAll(Collection<Item> items) {
+        flush();
+        return super.updateAll(items);
+    }
+
+    @Override
+    public BatchResult deleteAll(Collection<UUID> ids) {
+        flush();
+        return super.deleteAll(ids);
+    }
+
+    @Override
+    public BatchResult applyAll(List<ItemMutation> mutations) {
+        flush();
+        return super.applyAll(mutations);
+    }
+
+    @Override
+    public void registerMetrics(Metrics metrics) {
+        super.registerMetrics(metrics);
+        metrics.gauge("writeBehind.pending", this::getPendingCount);
+    }
+
+    /**
+     * Число товаров, изменения которых еще не записаны.
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size() + inFlight.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Записывает все изменения, поставленные в очередь до вызова, и ждет коммита.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            long target = enqueuedSequence;
+            if (writtenSequence >= target) {
+                return;
+            }
+            flushRequested = true;
+            workAvailable.signal();
+            while (writtenSequence < target && flusher.isAlive()) {
+                batchWritten.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Записывает очередь и останавливает фоновый поток. Изменения после
+     * закрытия отклоняются.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            workAvailable.signal();
+            spaceAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(ItemMutation mutation) {
+        lock.lock();
+        try {
+            while (pending.size() >= maxPending && !closed) {
+                // Обратное давление: очередь не растет быстрее, чем пишется диск
+                spaceAvailable.awaitUninterruptibly();
+            }
+            if (closed) {
+                throw new IllegalStateException("❌ Отложенная запись остановлена");
+            }
+
+            if (pending.isEmpty()) {
+                oldestPendingNanos = System.nanoTime();
+                workAvailable.signal();
+            }
+            ItemMutation previous = pending.get(mutation.id());
+            ItemMutation merged = previous == null ? mutation : previous.then(mutation);
+            if (merged == null) {
+                pending.remove(mutation.id());
+            } else {
+                pending.put(mutation.id(), merged);
+            }
+            enqueuedSequence++;
+
+            if (pending.size() >= flushSize) {
+                workAvailable.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        while (true) {
+            List<ItemMutation> batch;
+            long batchSequence;
+            lock.lock();
+            try {
+                if (!awaitBatch()) {
+                    return;
+                }
+                batch = new ArrayList<>(pending.values());
+                inFlight = pending;
+                pending = new LinkedHashMap<>();
+                batchSequence = enqueuedSequence;
+                flushRequested = false;
+                spaceAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            write(batch);
+
+            lock.lock();
+            try {
+                inFlight = Map.of();
+                writtenSequence = batchSequence;
+                batchWritten.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Ждет, пока очередь нужно записывать: по размеру, по времени,
+     * по запросу {@link #flush()} или при закрытии.
+     *
+     * @return {@code false}, если DAO закрыт и записывать больше нечего
+     */
+    private boolean awaitBatch() {
+        while (true) {
+            if (closed && pending.isEmpty()) {
+                // Изменения, взаимно уничтожившиеся в очереди, тоже считаются записанными
+                writtenSequence = enqueuedSequence;
+                batchWritten.signalAll();
+                return false;
+            }
+            if (pending.isEmpty()) {
+                writtenSequence = enqueuedSequence;
+                batchWritten.signalAll();
+                workAvailable.awaitUninterruptibly();
+                continue;
+            }
+
+            long waitNanos = maxDelayNanos - (System.nanoTime() - oldestPendingNanos);
+            if (closed || flushRequested || pending.size() >= flushSize || waitNanos <= 0) {
+                return true;
+            }
+            try {
+                workAvailable.awaitNanos(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Записывает пакет изменений одной группой транзакций.
+     */
+    private void write(List<ItemMutation> batch) {
+        long start = System.nanoTime();
+        try {
+            BatchResult result = super.applyAll(batch);
+            for (BatchResult.Failure failure : result.getFailures()) {
+                Log.error("❌ Отложенная запись товара " + failure.id() + " не удалась: " + failure.reason());
+            }
+            if (result.getTotal() > 1) {
+                Log.debug(() -> "💾 Записано отложенных изменений: " + result);
+            }
+        } catch (RuntimeException e) {
+            Log.error("❌ Ошибка отложенной записи: " + e.getMessage());
+            for (ItemMutation mutation : batch) {
+                cacheInvalidate(mutation.id());
+            }
+        } finally {
+            writeTime.recordSince(start);
+        }
+    }
+}
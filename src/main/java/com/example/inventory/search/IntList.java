@@ -0,0 +1,148 @@
+package com.example.inventory.search;
+
+import java.util.Arrays;
+
+/**
+ * Растущий массив int без упаковки в Integer.
+ * Используется как список вхождений (posting list) в поисковых индексах:
+ * значения хранятся по возрастанию, поэтому пересечение списков — линейный проход.
+ */
+public final class IntList {
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this(4);
+    }
+
+    public IntList(int capacity) {
+        values = new int[Math.max(1, capacity)];
+    }
+
+    private IntList(int[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return values[index];
+    }
+
+    /**
+     * Добавляет значение в конец списка.
+     */
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Удаляет и возвращает последнее значение.
+     */
+    public int removeLast() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Список пуст");
+        }
+        return values[--size];
+    }
+
+    /**
+     * Вставляет значение, сохраняя порядок возрастания. Повторы не добавляются.
+     */
+    public void addSorted(int value) {
+        if (size == 0 || values[size - 1] < value) {
+            add(value);
+            return;
+        }
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return;
+        }
+        int insertAt = -index - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = value;
+        size++;
+    }
+
+    /**
+     * Удаляет значение из упорядоченного списка.
+     *
+     * @return {@code true}, если значение было в списке
+     */
+    public boolean removeSorted(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Проверяет наличие значения в упорядоченном списке.
+     */
+    public boolean containsSorted(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    /**
+     * Оставляет только значения, которые есть и в другом упорядоченном списке.
+     * Если другой список намного длиннее, значения ищутся двоичным поиском,
+     * иначе оба списка проходятся параллельно.
+     */
+    public void retainSorted(IntList other) {
+        int kept = 0;
+        if (other.size > size * 8) {
+            for (int i = 0; i < size; i++) {
+                if (other.containsSorted(values[i])) {
+                    values[kept++] = values[i];
+                }
+            }
+        } else {
+            int j = 0;
+            for (int i = 0; i < size && j < other.size; ) {
+                int a = values[i];
+                int b = other.values[j];
+                if (a == b) {
+                    values[kept++] = a;
+                    i++;
+                    j++;
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+        }
+        size = kept;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public IntList copy() {
+        return new IntList(Arrays.copyOf(values, Math.max(1, size)), size);
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
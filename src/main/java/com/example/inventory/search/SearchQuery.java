@@ -0,0 +1,192 @@
+package com.example.inventory.search;
+
+import com.example.inventory.model.Item;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Разобранный поисковый запрос.
+ *
+ * Товар подходит под запрос, если его название или описание содержит
+ * текст запроса как подстроку (так ищет {@link TrigramIndex}) либо каждое
+ * слово запроса является началом какого-нибудь слова товара (так ищет
+ * полнотекстовый индекс базы). Поэтому результаты обоих поисков можно
+ * сужать локально, не обращаясь повторно к базе.
+ */
+public final class SearchQuery {
+    public static final SearchQuery EMPTY = new SearchQuery("");
+
+    // Те же разделители слов, что и при построении запроса к FTS5 в ItemDAO
+    private static final String WORD_SEPARATORS = "[\\s\\p{Punct}\\p{IsPunctuation}]+";
+
+    private final String text;
+    private final String[] tokens;
+
+    private SearchQuery(String text) {
+        this.text = text;
+        this.tokens = words(text);
+    }
+
+    /**
+     * Разбирает запрос, введенный пользователем.
+     */
+    public static SearchQuery parse(String query) {
+        return query == null || query.isEmpty() ? EMPTY : new SearchQuery(query.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Текст запроса в нижнем регистре.
+     */
+    public String getText() {
+        return text;
+    }
+
+    public boolean isEmpty() {
+        return text.isEmpty();
+    }
+
+    /**
+     * Проверяет, что запрос уточняет предыдущий: все товары, подходящие
+     * под этот запрос, подходят и под предыдущий. Тогда результаты
+     * предыдущего запроса достаточно отфильтровать.
+     */
+    public boolean narrows(SearchQuery previous) {
+        if (previous.isEmpty()) {
+            return true;
+        }
+        if (!text.contains(previous.text)) {
+            return false;
+        }
+        for (String previousToken : previous.tokens) {
+            boolean extended = false;
+            for (String token : tokens) {
+                if (token.startsWith(previousToken)) {
+                    extended = true;
+                    break;
+                }
+            }
+            if (!extended) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Проверяет, подходит ли товар под запрос.
+     */
+    public boolean matches(Item item) {
+        return matches(item.getName(), item.getDescription());
+    }
+
+    /**
+     * Проверяет название и описание товара без создания Item
+     * (например, строку {@link com.example.inventory.store.ItemStore}).
+     */
+    public boolean matches(String name, String description) {
+        if (isEmpty() || containsText(name) || containsText(description)) {
+            return true;
+        }
+        long allTokens = allTokens();
+        if (allTokens != 0) {
+            return (matchedTokens(name) | matchedTokens(description)) == allTokens;
+        }
+        if (tokens.length == 0) {
+            return false;
+        }
+
+        String itemText = (name == null ? "" : name) + " " + (description == null ? "" : description);
+        String[] words = words(itemText.toLowerCase(Locale.ROOT));
+        for (String token : tokens) {
+            if (!startsAnyWord(words, token)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Маска слов запроса, с которых начинается какое-нибудь слово текста:
+     * бит i соответствует i-му слову запроса. Товар подходит, если маски
+     * названия и описания вместе покрывают {@link #allTokens()}, поэтому
+     * маску одной строки можно вычислить один раз для многих товаров.
+     */
+    public long matchedTokens(String value) {
+        if (value == null || tokens.length == 0) {
+            return 0;
+        }
+        // Слова не выделяются в массив: слово запроса не содержит разделителей,
+        // поэтому достаточно сравнить его с текстом в начале каждого слова
+        String lower = value.toLowerCase(Locale.ROOT);
+        int count = Math.min(tokens.length, Long.SIZE);
+        long mask = 0;
+        boolean wordStart = true;
+        for (int i = 0; i < lower.length(); i++) {
+            boolean separator = isSeparator(lower.charAt(i));
+            if (wordStart && !separator) {
+                for (int t = 0; t < count; t++) {
+                    if ((mask & 1L << t) == 0 && lower.startsWith(tokens[t], i)) {
+                        mask |= 1L << t;
+                    }
+                }
+            }
+            wordStart = separator;
+        }
+        return mask;
+    }
+
+    /**
+     * Маска всех слов запроса для {@link #matchedTokens}; 0, если слов нет
+     * или их больше 64 и маски неприменимы.
+     */
+    public long allTokens() {
+        if (tokens.length == 0 || tokens.length > Long.SIZE) {
+            return 0;
+        }
+        return tokens.length == Long.SIZE ? -1L : (1L << tokens.length) - 1;
+    }
+
+    /**
+     * Та же проверка подстроки, что в {@link Item#matches(String)}.
+     */
+    private boolean containsText(String value) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(text);
+    }
+
+    /**
+     * Символ из {@link #WORD_SEPARATORS}: пробельный, знак препинания ASCII
+     * или любой знак препинания Unicode.
+     */
+    private static boolean isSeparator(char c) {
+        if (c < 128) {
+            return c == ' ' || c >= '\t' && c <= '\r' || c > ' ' && c < 127 && !Character.isLetterOrDigit(c);
+        }
+        return switch (Character.getType(c)) {
+            case Character.CONNECTOR_PUNCTUATION, Character.DASH_PUNCTUATION, Character.START_PUNCTUATION,
+                 Character.END_PUNCTUATION, Character.INITIAL_QUOTE_PUNCTUATION,
+                 Character.FINAL_QUOTE_PUNCTUATION, Character.OTHER_PUNCTUATION -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean startsAnyWord(String[] words, String token) {
+        for (String word : words) {
+            if (word.startsWith(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String[] words(String text) {
+        return Arrays.stream(text.trim().split(WORD_SEPARATORS))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
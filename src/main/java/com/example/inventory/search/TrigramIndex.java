@@ -0,0 +1,343 @@
+package com.example.inventory.search;
+
+import com.example.inventory.model.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Индекс триграмм для поиска подстроки в названии и описании товаров.
+ *
+ * Каждому товару выделяется номер слота, а для каждой триграммы (трех
+ * подряд идущих символов текста в нижнем регистре) и каждой биграммы хранится
+ * упорядоченный список слотов в виде {@link IntList}. Запрос разбивается на триграммы,
+ * их списки пересекаются, начиная с самого короткого, и оставшиеся
+ * кандидаты проверяются на точное вхождение подстроки. Поэтому поиск
+ * не перебирает все товары и не создает строк на каждый товар.
+ * Запрос из двух символов отвечается списком биграммы, из одного — перебором
+ * заранее приведенных к нижнему регистру текстов.
+ *
+ * Индекс обновляется по одному товару ({@link #put}, {@link #remove}).
+ * Семантика совпадает с {@link Item#matches(String)}: регистр в обоих
+ * приводится по {@link Locale#ROOT}. Списки, опустевшие после удаления
+ * товаров, удаляются из таблицы, так что она не растет от правок.
+ *
+ * Класс не потокобезопасен.
+ */
+public class TrigramIndex {
+    private static final int GRAM = 3;
+    // Разделитель полей: не встречается в запросе, поэтому триграммы на стыке не совпадут
+    private static final char FIELD_SEPARATOR = '\n';
+
+    private final Map<UUID, Integer> slotsById = new HashMap<>();
+    private final IntList freeSlots = new IntList();
+    private final PostingMap postings = new PostingMap();
+    private Item[] items = new Item[16];
+    private String[] texts = new String[16];
+    private int slotCount;
+
+    /**
+     * Добавляет товар в индекс или заменяет ранее добавленный товар с тем же id.
+     */
+    public void put(Item item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+        remove(item.getId());
+
+        int slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.removeLast();
+        ensureCapacity(slotCount);
+        String text = normalize(item);
+        items[slot] = item;
+        texts[slot] = text;
+        slotsById.put(item.getId(), slot);
+
+        for (long gram : distinctGrams(text)) {
+            postings.getOrCreate(gram).addSorted(slot);
+        }
+    }
+
+    public void putAll(Collection<? extends Item> added) {
+        for (Item item : added) {
+            put(item);
+        }
+    }
+
+    /**
+     * Удаляет товар из индекса.
+     *
+     * @return {@code true}, если товар был в индексе
+     */
+    public boolean remove(UUID id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return false;
+        }
+
+        for (long gram : distinctGrams(texts[slot])) {
+            IntList list = postings.get(gram);
+            if (list != null) {
+                list.removeSorted(slot);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+        items[slot] = null;
+        texts[slot] = null;
+        freeSlots.add(slot);
+        return true;
+    }
+
+    public void removeAll(Collection<? extends Item> removed) {
+        for (Item item : removed) {
+            if (item != null && item.getId() != null) {
+                remove(item.getId());
+            }
+        }
+    }
+
+    public void clear() {
+        slotsById.clear();
+        freeSlots.clear();
+        postings.clear();
+        Arrays.fill(items, 0, slotCount, null);
+        Arrays.fill(texts, 0, slotCount, null);
+        slotCount = 0;
+    }
+
+    /**
+     * Число товаров в индексе.
+     */
+    public int size() {
+        return slotsById.size();
+    }
+
+    /**
+     * Число различных триграмм и биграмм в индексе.
+     */
+    public int gramCount() {
+        return postings.size();
+    }
+
+    /**
+     * Ищет товары, в названии или описании которых есть подстрока запроса
+     * (без учета регистра). Пустой запрос возвращает все товары.
+     * Порядок результатов не определен.
+     */
+    public List<Item> search(String query) {
+        String needle = query == null ? "" : query.toLowerCase(Locale.ROOT);
+
+        if (needle.length() == GRAM - 1) {
+            IntList list = postings.get(packBigram(needle.charAt(0), needle.charAt(1)));
+            List<Item> result = new ArrayList<>(list == null ? 0 : list.size());
+            for (int i = 0; list != null && i < list.size(); i++) {
+                result.add(items[list.get(i)]);
+            }
+            return result;
+        }
+        if (needle.length() < GRAM) {
+            List<Item> result = new ArrayList<>();
+            // Один символ: проверяем уже приведенные к нижнему регистру тексты
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (texts[slot] != null && texts[slot].contains(needle)) {
+                    result.add(items[slot]);
+                }
+            }
+            return result;
+        }
+
+        IntList candidates = candidates(needle);
+        List<Item> result = new ArrayList<>(candidates.size());
+        boolean exact = needle.length() == GRAM;
+        for (int i = 0; i < candidates.size(); i++) {
+            int slot = candidates.get(i);
+            // Все триграммы есть, но не обязательно подряд
+            if (exact || texts[slot].contains(needle)) {
+                result.add(items[slot]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Пересекает списки слотов всех триграмм запроса.
+     */
+    private IntList candidates(String needle) {
+        long[] grams = new long[needle.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = pack(needle.charAt(i), needle.charAt(i + 1), needle.charAt(i + 2));
+        }
+        IntList[] lists = new IntList[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null || lists[i].isEmpty()) {
+                return new IntList(1);
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+
+        IntList result = lists[0].copy();
+        for (int i = 1; i < lists.length && !result.isEmpty(); i++) {
+            result.retainSorted(lists[i]);
+        }
+        return result;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > items.length) {
+            int newLength = Math.max(capacity, items.length * 2);
+            items = Arrays.copyOf(items, newLength);
+            texts = Arrays.copyOf(texts, newLength);
+        }
+    }
+
+    private static String normalize(Item item) {
+        String name = item.getName() == null ? "" : item.getName();
+        String description = item.getDescription() == null ? "" : item.getDescription();
+        return (name + FIELD_SEPARATOR + description).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Возвращает различные триграммы и биграммы текста, упакованные в long по 16 бит на символ.
+     */
+    private static long[] distinctGrams(String text) {
+        int trigrams = Math.max(0, text.length() - GRAM + 1);
+        int bigrams = Math.max(0, text.length() - GRAM + 2);
+        int count = trigrams + bigrams;
+        if (count == 0) {
+            return new long[0];
+        }
+
+        long[] grams = new long[count];
+        for (int i = 0; i < trigrams; i++) {
+            grams[i] = pack(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2));
+        }
+        for (int i = 0; i < bigrams; i++) {
+            grams[trigrams + i] = packBigram(text.charAt(i), text.charAt(i + 1));
+        }
+        Arrays.sort(grams);
+
+        int unique = 1;
+        for (int i = 1; i < count; i++) {
+            if (grams[i] != grams[unique - 1]) {
+                grams[unique++] = grams[i];
+            }
+        }
+        return unique == count ? grams : Arrays.copyOf(grams, unique);
+    }
+
+    private static long pack(char a, char b, char c) {
+        // Старший бит метки гарантирует ненулевой ключ (0 — пустая ячейка таблицы)
+        return 1L << 48 | (long) a << 32 | (long) b << 16 | c;
+    }
+
+    private static long packBigram(char a, char b) {
+        return 1L << 49 | (long) a << 16 | b;
+    }
+
+    /**
+     * Хеш-таблица с открытой адресацией: ключ триграммы (long) → список слотов.
+     * Ключи не упаковываются в Long.
+     */
+    private static final class PostingMap {
+        private long[] keys = new long[1024];
+        private IntList[] values = new IntList[1024];
+        private int size;
+
+        IntList get(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        IntList getOrCreate(long key) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            for (; keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+
+            IntList list = new IntList();
+            keys[i] = key;
+            values[i] = list;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return list;
+        }
+
+        /**
+         * Удаляет ключ, сдвигая следующие ключи цепочки на освободившееся
+         * место: без надгробий поиск по-прежнему останавливается на пустой ячейке.
+         */
+        void remove(long key) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != key) {
+                if (keys[i] == 0) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            for (int j = (i + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                int home = hash(keys[j]) & mask;
+                // Ключ можно сдвинуть, если его домашняя ячейка не лежит между i и j
+                boolean movable = i <= j ? home <= i || home > j : home <= i && home > j;
+                if (movable) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            keys[i] = 0;
+            values[i] = null;
+            size--;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            Arrays.fill(keys, 0);
+            Arrays.fill(values, null);
+            size = 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            IntList[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new IntList[oldValues.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] != 0) {
+                    int i = hash(oldKeys[j]) & mask;
+                    while (keys[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    values[i] = oldValues[j];
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ h >>> 32);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.inventory.server;
+
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.db.DatabaseConfig;
+import com.example.inventory.metrics.Log;
+import com.example.inventory.metrics.Metrics;
+import com.example.inventory.metrics.MetricsExporter;
+import com.example.inventory.model.CachedItemDAO;
+import com.example.inventory.model.ItemDAO;
+import com.example.inventory.model.WriteBehindItemDAO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Сервер без графического интерфейса: тот же склад по HTTP для нескольких
+ * терминалов и скриптов. Основан на встроенном в JDK {@link HttpServer}.
+ *
+ * Каждый запрос выполняется в своем виртуальном потоке, если JVM их
+ * поддерживает (Java 21+), иначе — в пуле из {@code server.threads} потоков.
+ * Число одновременных обращений к базе в любом случае ограничено пулом
+ * соединений ItemDAO: лишние запросы ждут свободного соединения.
+ *
+ * Сервер не использует JavaFX и запускается с обычным classpath:
+ * <pre>
+ * java -cp target/classes:sqlite-jdbc.jar com.example.inventory.server.InventoryServer
+ * </pre>
+ * Адрес и порт задаются ключами {@code server.host} и {@code server.port}
+ * в database.properties или системными свойствами ({@code -Dserver.port=9090}).
+ * Кроме {@code /items} (см. {@link ItemHandler}) доступны {@code /health}
+ * и {@code /metrics} (формат Prometheus).
+ */
+public class InventoryServer implements AutoCloseable {
+    static {
+        // Без TCP_NODELAY заголовки и тело ответа уходят разными пакетами,
+        // и алгоритм Нейгла вместе с отложенным ACK клиента добавляет ~40 мс
+        // к каждому запросу. Свойство читается при создании первого HttpServer.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Создает и запускает сервер.
+     *
+     * @throws IOException если порт занят
+     */
+    public InventoryServer(ItemDAO itemDAO) throws IOException {
+        DatabaseConfig config = itemDAO.getConfig();
+        InetSocketAddress address = new InetSocketAddress(config.get("server.host", "127.0.0.1"),
+                config.getInt("server.port", 8080));
+        this.server = HttpServer.create(address, config.getInt("server.backlog", 256));
+        this.executor = createExecutor(config.getInt("server.threads", 64));
+
+        server.createContext("/items", new ItemHandler(itemDAO, config.getLong("server.maxBodyBytes", 16 << 20)));
+        server.createContext("/health", exchange -> sendText(exchange, "ok\n"));
+        server.createContext("/metrics", exchange -> sendText(exchange, MetricsExporter.toPrometheus(Metrics.getDefault())));
+        server.setExecutor(executor);
+        server.start();
+        Log.info("🌐 Сервер запущен: http://" + address.getHostString() + ":" + getPort() + "/items");
+    }
+
+    /**
+     * Порт, на котором слушает сервер (полезно при {@code server.port=0}).
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Останавливает прием запросов и ждет завершения начатых (до 5 секунд).
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        Log.info("🌐 Сервер остановлен");
+    }
+
+    /**
+     * Виртуальный поток на запрос, если доступен. Метод вызывается через
+     * отражение, потому что приложение собирается для Java 17.
+     */
+    static ExecutorService createExecutor(int fallbackThreads) {
+        try {
+            ExecutorService virtual = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            Log.info("🌐 Запросы обрабатываются в виртуальных потоках");
+            return virtual;
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // Java 17–18: виртуальных потоков нет
+        } catch (InvocationTargetException e) {
+            // Java 19–20 без --enable-preview
+            Log.debug(() -> "🌐 Виртуальные потоки недоступны: " + e.getCause());
+        }
+        AtomicInteger counter = new AtomicInteger();
+        Log.info("🌐 Запросы обрабатываются пулом из " + fallbackThreads + " потоков");
+        return Executors.newFixedThreadPool(fallbackThreads, runnable -> {
+            Thread thread = new Thread(runnable, "http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static void sendText(HttpExchange exchange, String text) throws IOException {
+        try (exchange) {
+            byte[] body = text.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Точка входа сервера. Останавливается по Ctrl+C (SIGTERM): начатые
+     * запросы завершаются, очередь отложенной записи сбрасывается.
+     */
+    public static void main(String[] args) throws IOException {
+        ConnectionPool pool = ConnectionPool.getDefault();
+        DatabaseConfig config = pool.getConfig();
+        Log.setLevel(config.get("log.level", "INFO"));
+
+        CachedItemDAO itemDAO = config.getBoolean("writeBehind.enabled", false)
+                ? new WriteBehindItemDAO(pool)
+                : new CachedItemDAO(pool);
+        itemDAO.registerMetrics(Metrics.getDefault());
+        // Кэш сбрасывает товары, измененные другими процессами; подписка закрывается вместе с пулом
+        pool.addCloseHook(itemDAO.followChanges()::close);
+
+        InventoryServer server = new InventoryServer(itemDAO);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            ConnectionPool.shutdownDefault();
+            Log.flush();
+        }, "server-shutdown"));
+    }
+}
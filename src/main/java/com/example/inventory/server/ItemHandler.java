@@ -0,0 +1,591 @@
+package com.example.inventory.server;
+
+import com.example.inventory.io.ItemJson;
+import com.example.inventory.metrics.LatencyHistogram;
+import com.example.inventory.metrics.Log;
+import com.example.inventory.metrics.Metrics;
+import com.example.inventory.model.BatchResult;
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemChange;
+import com.example.inventory.model.ItemDAO;
+import com.example.inventory.model.ItemPage;
+import com.example.inventory.model.ItemSort;
+import com.example.inventory.model.SearchHit;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Обработчик {@code /items}: CRUD, страницы, поиск и пакетные операции.
+ *
+ * <pre>
+ * GET    /items?limit=&amp;sort=&amp;after=   страница товаров и курсор следующей
+ * GET    /items/stream?sort=           все товары построчно (NDJSON)
+ * GET    /items/search?q=&amp;limit=        полнотекстовый поиск
+ * GET    /items/changes?after=&amp;limit=   изменения с номером больше after
+ * POST   /items                        создать товар (409, если id уже занят)
+ * POST   /items/batch                  создать товары (массив JSON или NDJSON)
+ * PUT    /items/batch                  обновить товары (с идентификаторами)
+ * GET    /items/{id}                   товар
+ * PUT    /items/{id}                   обновить товар (If-Match — проверка версии)
+ * DELETE /items/{id}                   удалить товар
+ * </pre>
+ * Ответы GET на товар и страницу несут ETag; при совпадении с
+ * {@code If-None-Match} возвращается 304 без тела. Списки пишутся в ответ
+ * по мере чтения (chunked), а не собираются целиком в памяти.
+ * Клиент, отставший от журнала изменений, получает 410 и перечитывает товары.
+ */
+final class ItemHandler implements HttpHandler {
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String NDJSON = "application/x-ndjson; charset=utf-8";
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    private static final LatencyHistogram requestTime = Metrics.getDefault().timer("http.request");
+
+    private final ItemDAO itemDAO;
+    private final long maxBodyBytes;
+
+    ItemHandler(ItemDAO itemDAO, long maxBodyBytes) {
+        this.itemDAO = itemDAO;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try {
+            route(exchange);
+        } catch (HttpStatusException e) {
+            sendError(exchange, e.status, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (IOException e) {
+            // Клиент закрыл соединение посреди ответа
+            Log.debug(() -> "🌐 Ответ не отправлен: " + e.getMessage());
+        } catch (RuntimeException e) {
+            Log.error("❌ Ошибка обработки запроса " + exchange.getRequestURI() + ": " + e.getMessage(), e);
+            sendError(exchange, 500, "Внутренняя ошибка сервера");
+        } finally {
+            exchange.close();
+            requestTime.recordSince(start);
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().substring(exchange.getHttpContext().getPath().length());
+        if (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+
+        switch (path) {
+            case "" -> {
+                switch (method) {
+                    case "GET" -> readPage(exchange);
+                    case "POST" -> create(exchange);
+                    default -> throw methodNotAllowed(exchange, "GET, POST");
+                }
+            }
+            case "stream" -> {
+                requireMethod(exchange, "GET");
+                stream(exchange);
+            }
+            case "search" -> {
+                requireMethod(exchange, "GET");
+                search(exchange);
+            }
+            case "changes" -> {
+                requireMethod(exchange, "GET");
+                changes(exchange);
+            }
+            case "batch" -> {
+                switch (method) {
+                    case "POST" -> batch(exchange, false);
+                    case "PUT" -> batch(exchange, true);
+                    default -> throw methodNotAllowed(exchange, "POST, PUT");
+                }
+            }
+            default -> {
+                UUID id = parseId(path);
+                switch (method) {
+                    case "GET" -> read(exchange, id);
+                    case "PUT" -> update(exchange, id);
+                    case "DELETE" -> delete(exchange, id);
+                    default -> throw methodNotAllowed(exchange, "GET, PUT, DELETE");
+                }
+            }
+        }
+    }
+
+    private void read(HttpExchange exchange, UUID id) throws IOException {
+        Item item = itemDAO.getById(id);
+        if (item == null) {
+            throw new HttpStatusException(404, "Товар не найден: " + id);
+        }
+        String etag = etag(fingerprint(0, item));
+        if (notModified(exchange, etag)) {
+            return;
+        }
+        StringBuilder json = new StringBuilder(256);
+        ItemJson.append(json, item);
+        exchange.getResponseHeaders().set("ETag", etag);
+        send(exchange, 200, json);
+    }
+
+    private void create(HttpExchange exchange) throws IOException {
+        Item item = ItemJson.parse(readBody(exchange));
+        // Отложенная запись не сообщает о дубликате, поэтому занятый id проверяется заранее
+        if (item.getId() != null && itemDAO.getById(item.getId()) != null) {
+            throw new HttpStatusException(409, "Товар уже существует: " + item.getId());
+        }
+        // false — товар с этим id создан между проверкой и записью; ошибка базы — исключение (500)
+        if (!itemDAO.create(item)) {
+            throw new HttpStatusException(409, "Товар уже существует: " + item.getId());
+        }
+        StringBuilder json = new StringBuilder(256);
+        ItemJson.append(json, item);
+        exchange.getResponseHeaders().set("Location", exchange.getHttpContext().getPath() + "/" + item.getId());
+        exchange.getResponseHeaders().set("ETag", etag(fingerprint(0, item)));
+        send(exchange, 201, json);
+    }
+
+    private void update(HttpExchange exchange, UUID id) throws IOException {
+        Item item = ItemJson.parse(readBody(exchange));
+        item.setId(id);
+
+        String expected = exchange.getRequestHeaders().getFirst("If-Match");
+        if (expected != null) {
+            // Проверка и запись не атомарны: If-Match защищает от устаревших
+            // правок, но не от одновременных
+            Item current = itemDAO.getById(id);
+            if (current == null || !matches(expected, etag(fingerprint(0, current)))) {
+                throw new HttpStatusException(412, "Товар изменен другим клиентом");
+            }
+        }
+        if (!itemDAO.update(item)) {
+            throw new HttpStatusException(404, "Товар не найден: " + id);
+        }
+        // Дата создания в ответе — из базы, а не из тела запроса
+        Item stored = itemDAO.getById(id);
+        if (stored != null) {
+            item = stored;
+        }
+        StringBuilder json = new StringBuilder(256);
+        ItemJson.append(json, item);
+        exchange.getResponseHeaders().set("ETag", etag(fingerprint(0, item)));
+        send(exchange, 200, json);
+    }
+
+    private void delete(HttpExchange exchange, UUID id) throws IOException {
+        if (!itemDAO.delete(id)) {
+            throw new HttpStatusException(404, "Товар не найден: " + id);
+        }
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private void readPage(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange);
+        int limit = parseLimit(query.get("limit"));
+        ItemSort sort = parseSort(query.get("sort"));
+        String after = query.get("after");
+
+        ItemPage page = itemDAO.readPage(after == null ? null : PageCursor.decode(after), limit, sort);
+        String next = page.hasMore() ? PageCursor.encode(page.nextKey()) : null;
+
+        long fingerprint = next == null ? 0 : next.hashCode();
+        for (Item item : page.items()) {
+            fingerprint = fingerprint(fingerprint, item);
+        }
+        String etag = etag(fingerprint);
+        if (notModified(exchange, etag)) {
+            return;
+        }
+        exchange.getResponseHeaders().set("ETag", etag);
+
+        try (ChunkedJsonWriter out = ChunkedJsonWriter.open(exchange, JSON)) {
+            StringBuilder json = out.buffer();
+            json.append("{\"items\":[");
+            for (int i = 0; i < page.items().size(); i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                ItemJson.append(json, page.items().get(i));
+                out.flushIfFull();
+            }
+            json.append("],\"next\":");
+            ItemJson.appendString(json, next);
+            json.append('}');
+        }
+    }
+
+    private void stream(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange);
+        ItemSort sort = query.containsKey("sort") ? parseSort(query.get("sort")) : null;
+
+        try (Stream<Item> items = itemDAO.stream(sort);
+             ChunkedJsonWriter out = ChunkedJsonWriter.open(exchange, NDJSON)) {
+            StringBuilder json = out.buffer();
+            for (Item item : (Iterable<Item>) items::iterator) {
+                ItemJson.append(json, item);
+                json.append('\n');
+                out.flushIfFull();
+            }
+        }
+    }
+
+    private void search(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange);
+        String text = query.get("q");
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("❌ Не указан параметр q");
+        }
+        List<SearchHit> hits = itemDAO.search(text, parseLimit(query.get("limit")));
+
+        try (ChunkedJsonWriter out = ChunkedJsonWriter.open(exchange, JSON)) {
+            StringBuilder json = out.buffer();
+            json.append('[');
+            for (int i = 0; i < hits.size(); i++) {
+                SearchHit hit = hits.get(i);
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append("{\"item\":");
+                ItemJson.append(json, hit.item());
+                json.append(",\"rank\":").append(hit.rank()).append(",\"highlightedName\":");
+                ItemJson.appendString(json, hit.highlightedName());
+                json.append(",\"descriptionSnippet\":");
+                ItemJson.appendString(json, hit.descriptionSnippet());
+                json.append('}');
+                out.flushIfFull();
+            }
+            json.append(']');
+        }
+    }
+
+    private void changes(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange);
+        long after = parseSequence(query.get("after"));
+        List<ItemChange> changes;
+        try {
+            changes = itemDAO.getChangeFeed().readSince(after, parseLimit(query.get("limit")));
+        } catch (IllegalStateException e) {
+            throw new HttpStatusException(410, "Изменения после " + after + " удалены из журнала");
+        }
+
+        try (ChunkedJsonWriter out = ChunkedJsonWriter.open(exchange, JSON)) {
+            StringBuilder json = out.buffer();
+            json.append("{\"changes\":[");
+            for (int i = 0; i < changes.size(); i++) {
+                ItemChange change = changes.get(i);
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append("{\"sequence\":").append(change.sequence()).append(",\"type\":");
+                ItemJson.appendString(json, change.type().name());
+                json.append(",\"id\":");
+                ItemJson.appendString(json, change.id().toString());
+                if (change.item() != null) {
+                    json.append(",\"item\":");
+                    ItemJson.append(json, change.item());
+                }
+                json.append('}');
+                out.flushIfFull();
+            }
+            long last = changes.isEmpty() ? after : changes.get(changes.size() - 1).sequence();
+            json.append("],\"last\":").append(last).append('}');
+        }
+    }
+
+    private void batch(HttpExchange exchange, boolean update) throws IOException {
+        List<Item> items;
+        try (InputStreamReader reader = new InputStreamReader(limitedBody(exchange), StandardCharsets.UTF_8)) {
+            items = ItemJson.parseAll(reader);
+        }
+        BatchResult result = update ? itemDAO.updateAll(items) : itemDAO.createAll(items);
+
+        StringBuilder json = new StringBuilder(64 + 48 * items.size());
+        json.append("{\"total\":").append(result.getTotal())
+                .append(",\"succeeded\":").append(result.getSucceeded())
+                .append(",\"failures\":[");
+        boolean[] failed = new boolean[items.size()];
+        for (int i = 0; i < result.getFailures().size(); i++) {
+            BatchResult.Failure failure = result.getFailures().get(i);
+            failed[failure.index()] = true;
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"index\":").append(failure.index()).append(",\"reason\":");
+            ItemJson.appendString(json, failure.reason());
+            json.append('}');
+        }
+        json.append("],\"ids\":[");
+        boolean first = true;
+        for (int i = 0; i < items.size(); i++) {
+            if (!failed[i]) {
+                json.append(first ? "" : ",");
+                ItemJson.appendString(json, items.get(i).getId().toString());
+                first = false;
+            }
+        }
+        json.append("]}");
+        send(exchange, result.hasFailures() && result.getSucceeded() == 0 ? 422 : 200, json);
+    }
+
+    // Вспомогательные методы
+
+    private String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = limitedBody(exchange)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Тело запроса с ограничением {@code server.maxBodyBytes}: больший запрос
+     * отклоняется с кодом 413, не занимая память.
+     */
+    private InputStream limitedBody(HttpExchange exchange) {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null && Long.parseLong(length) > maxBodyBytes) {
+            throw new HttpStatusException(413, "Тело запроса больше " + maxBodyBytes + " байт");
+        }
+        InputStream body = exchange.getRequestBody();
+        return new InputStream() {
+            private long remaining = maxBodyBytes;
+
+            @Override
+            public int read() throws IOException {
+                int b = body.read();
+                if (b >= 0 && --remaining < 0) {
+                    throw new HttpStatusException(413, "Тело запроса больше " + maxBodyBytes + " байт");
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = body.read(buffer, offset, length);
+                if (n > 0 && (remaining -= n) < 0) {
+                    throw new HttpStatusException(413, "Тело запроса больше " + maxBodyBytes + " байт");
+                }
+                return n;
+            }
+
+            @Override
+            public void close() throws IOException {
+                body.close();
+            }
+        };
+    }
+
+    private static Map<String, String> parseQuery(HttpExchange exchange) {
+        Map<String, String> result = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return result;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            result.putIfAbsent(key, value);
+        }
+        return result;
+    }
+
+    private static int parseLimit(String value) {
+        if (value == null) {
+            return DEFAULT_LIMIT;
+        }
+        try {
+            int limit = Integer.parseInt(value);
+            if (limit < 1 || limit > MAX_LIMIT) {
+                throw new IllegalArgumentException("❌ Параметр limit должен быть от 1 до " + MAX_LIMIT);
+            }
+            return limit;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("❌ Некорректный параметр limit: " + value);
+        }
+    }
+
+    private static long parseSequence(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            long sequence = Long.parseLong(value);
+            if (sequence < 0) {
+                throw new IllegalArgumentException("❌ Параметр after не может быть отрицательным");
+            }
+            return sequence;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("❌ Некорректный параметр after: " + value);
+        }
+    }
+
+    private static ItemSort parseSort(String value) {
+        if (value == null) {
+            return ItemSort.NAME_ASC;
+        }
+        try {
+            return ItemSort.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("❌ Неизвестная сортировка: " + value);
+        }
+    }
+
+    private static UUID parseId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new HttpStatusException(404, "Неизвестный адрес: " + value);
+        }
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) {
+        if (!exchange.getRequestMethod().equals(method)) {
+            throw methodNotAllowed(exchange, method);
+        }
+    }
+
+    private static HttpStatusException methodNotAllowed(HttpExchange exchange, String allowed) {
+        exchange.getResponseHeaders().set("Allow", allowed);
+        return new HttpStatusException(405, "Метод " + exchange.getRequestMethod() + " не поддерживается");
+    }
+
+    /**
+     * Добавляет к отпечатку идентификатор, время изменения и данные товара.
+     * Время хранится с точностью до миллисекунды, поэтому две записи в одну
+     * миллисекунду различаются только по названию и описанию.
+     */
+    private static long fingerprint(long hash, Item item) {
+        hash = hash * 31 + item.getId().getMostSignificantBits();
+        hash = hash * 31 + item.getId().getLeastSignificantBits();
+        hash = hash * 31 + item.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        hash = hash * 31 + Objects.hashCode(item.getName());
+        return hash * 31 + Objects.hashCode(item.getDescription());
+    }
+
+    private static String etag(long fingerprint) {
+        return '"' + Long.toHexString(fingerprint) + '"';
+    }
+
+    /**
+     * Отвечает 304, если у клиента та же версия ответа.
+     */
+    private static boolean notModified(HttpExchange exchange, String etag) throws IOException {
+        String header = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (header == null || !matches(header, etag)) {
+            return false;
+        }
+        exchange.getResponseHeaders().set("ETag", etag);
+        exchange.sendResponseHeaders(304, -1);
+        return true;
+    }
+
+    /**
+     * Проверяет список ETag из заголовка If-None-Match или If-Match.
+     */
+    private static boolean matches(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void send(HttpExchange exchange, int status, CharSequence json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        ItemJson.appendString(json, message);
+        json.append('}');
+        try {
+            send(exchange, status, json);
+        } catch (IOException | RuntimeException e) {
+            // Заголовки уже отправлены или клиент отключился: ответ оборвется
+            Log.debug(() -> "🌐 Ошибка не отправлена клиенту: " + message);
+        }
+    }
+
+    /**
+     * Ошибка с кодом ответа HTTP.
+     */
+    static final class HttpStatusException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        HttpStatusException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Ответ неизвестной длины (chunked): JSON копится в буфере и уходит
+     * в сеть блоками, так что размер ответа не ограничен памятью.
+     */
+    static final class ChunkedJsonWriter implements AutoCloseable {
+        private static final int FLUSH_THRESHOLD = 16 * 1024;
+
+        private final OutputStream out;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+
+        private ChunkedJsonWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        static ChunkedJsonWriter open(HttpExchange exchange, String contentType) throws IOException {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, 0);
+            return new ChunkedJsonWriter(exchange.getResponseBody());
+        }
+
+        StringBuilder buffer() {
+            return buffer;
+        }
+
+        void flushIfFull() throws IOException {
+            if (buffer.length() >= FLUSH_THRESHOLD) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            out.write(buffer.toString().getBytes(StandardCharsets.UTF_8));
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.inventory.server;
+
+import com.example.inventory.model.PageKey;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Непрозрачный курсор страницы для клиентов HTTP: ключ keyset-пагинации
+ * ({@link PageKey}), закодированный в base64url. Клиент передает курсор
+ * из ответа в параметре {@code after}, не разбирая его.
+ */
+final class PageCursor {
+    private static final char SEPARATOR = '\u0000';
+
+    private PageCursor() {
+    }
+
+    static String encode(PageKey key) {
+        String text = key.name() + SEPARATOR + key.createdAt() + SEPARATOR + key.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException если курсор поврежден
+     */
+    static PageKey decode(String cursor) {
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // Название может содержать что угодно, поэтому поля отделяются с конца
+            int idStart = text.lastIndexOf(SEPARATOR);
+            int timeStart = text.lastIndexOf(SEPARATOR, idStart - 1);
+            if (timeStart < 0) {
+                throw new IllegalArgumentException("❌ Некорректный курсор страницы");
+            }
+            return new PageKey(text.substring(0, timeStart),
+                    LocalDateTime.parse(text.substring(timeStart + 1, idStart)),
+                    UUID.fromString(text.substring(idStart + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("❌ Некорректный курсор страницы", e);
+        }
+    }
+}
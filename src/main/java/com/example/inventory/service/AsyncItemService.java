@@ -0,0 +1,232 @@
+package com.example.inventory.service;
+
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemDAO;
+import com.example.inventory.model.ItemPage;
+import com.example.inventory.model.ItemSort;
+import com.example.inventory.model.PageKey;
+import com.example.inventory.model.SearchHit;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Асинхронная обертка над ItemDAO для интерфейса.
+ * Запросы к базе выполняются на ограниченном фоновом исполнителе,
+ * а результаты возвращаются в UI-поток через {@link FxBatchExecutor}:
+ * все колбэки {@code thenAccept} и т.п. выполняются уже в потоке JavaFX.
+ *
+ * Запросы, отправленные через {@link #submitLatest}, вытесняют предыдущий
+ * запрос того же канала: устаревший результат не доставляется.
+ */
+public class AsyncItemService implements AutoCloseable {
+    private final ItemDAO itemDAO;
+    private final ExecutorService executor;
+    private final Executor uiExecutor;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ReadOnlyBooleanWrapper busy = new ReadOnlyBooleanWrapper(false);
+    private final Map<String, AtomicBoolean> latestRequests = new ConcurrentHashMap<>();
+
+    /**
+     * Создает сервис, доставляющий результаты в поток JavaFX.
+     */
+    public AsyncItemService(ItemDAO itemDAO) {
+        this(itemDAO, new FxBatchExecutor());
+    }
+
+    /**
+     * Создает сервис с произвольным исполнителем для доставки результатов.
+     */
+    public AsyncItemService(ItemDAO itemDAO, Executor uiExecutor) {
+        this.itemDAO = itemDAO;
+        this.uiExecutor = uiExecutor;
+        this.executor = ExecutorFactory.newBoundedExecutor("item-dao",
+                itemDAO.getConfig().getInt("async.threads", 5),
+                itemDAO.getConfig().getInt("async.queueCapacity", 256));
+    }
+
+    public ItemDAO getItemDAO() {
+        return itemDAO;
+    }
+
+    /**
+     * Признак того, что есть незавершенные запросы (для индикатора загрузки).
+     * Меняется только в UI-потоке.
+     */
+    public ReadOnlyBooleanProperty busyProperty() {
+        return busy.getReadOnlyProperty();
+    }
+
+    /**
+     * Выполняет задачу в фоне и доставляет результат в UI-поток.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return run(cancelled -> task.get(), () -> false);
+    }
+
+    /**
+     * Выполняет задачу в фоне, отменяя предыдущую задачу того же канала.
+     * Задача получает признак отмены и может прервать долгую работу досрочно;
+     * результат отмененной задачи завершается {@link CancellationException}.
+     */
+    public <T> CompletableFuture<T> submitLatest(String channel, Function<BooleanSupplier, T> task) {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicBoolean previous = latestRequests.put(channel, cancelled);
+        if (previous != null) {
+            previous.set(true);
+        }
+        return run(task, cancelled::get);
+    }
+
+    /**
+     * Отменяет текущую задачу канала, если она есть.
+     */
+    public void cancel(String channel) {
+        AtomicBoolean current = latestRequests.remove(channel);
+        if (current != null) {
+            current.set(true);
+        }
+    }
+
+    private <T> CompletableFuture<T> run(Function<BooleanSupplier, T> task, BooleanSupplier cancelled) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        pending.incrementAndGet();
+        updateBusy();
+        try {
+            executor.execute(() -> {
+                T value = null;
+                Throwable error = null;
+                try {
+                    if (!cancelled.getAsBoolean()) {
+                        value = task.apply(cancelled);
+                    }
+                } catch (Throwable t) {
+                    error = t;
+                }
+                deliver(result, value, error, cancelled);
+            });
+        } catch (RejectedExecutionException e) {
+            deliver(result, null, e, cancelled);
+        }
+        return result;
+    }
+
+    private <T> void deliver(CompletableFuture<T> result, T value, Throwable error, BooleanSupplier cancelled) {
+        uiExecutor.execute(() -> {
+            pending.decrementAndGet();
+            updateBusy();
+            if (cancelled.getAsBoolean()) {
+                result.completeExceptionally(new CancellationException("Запрос устарел"));
+            } else if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private void updateBusy() {
+        uiExecutor.execute(() -> busy.set(pending.get() > 0));
+    }
+
+    // Операции ItemDAO
+
+    public CompletableFuture<Integer> count() {
+        return submit(itemDAO::count);
+    }
+
+    public CompletableFuture<ItemPage> readPage(PageKey after, int limit, ItemSort sort) {
+        return submit(() -> itemDAO.readPage(after, limit, sort));
+    }
+
+    public CompletableFuture<List<Item>> readWindow(int offset, int limit, ItemSort sort) {
+        return submit(() -> itemDAO.readWindow(offset, limit, sort));
+    }
+
+    public CompletableFuture<Item> getById(UUID id) {
+        return submit(() -> itemDAO.getById(id));
+    }
+
+    public CompletableFuture<Integer> countBefore(Item item, ItemSort sort) {
+        return submit(() -> itemDAO.countBefore(item, sort));
+    }
+
+    public CompletableFuture<Integer> countBefore(PageKey key, ItemSort sort) {
+        return submit(() -> itemDAO.countBefore(key, sort));
+    }
+
+    /**
+     * Создает товар. Результат — созданный товар с присвоенным идентификатором.
+     */
+    public CompletableFuture<Item> create(Item item) {
+        return submit(() -> {
+            if (!itemDAO.create(item)) {
+                throw new IllegalStateException("Не удалось сохранить товар: " + item.getName());
+            }
+            return item;
+        });
+    }
+
+    /**
+     * Обновляет товар. Результат — {@code false}, если товара уже нет в базе.
+     */
+    public CompletableFuture<Boolean> update(Item item) {
+        return submit(() -> itemDAO.update(item));
+    }
+
+    /**
+     * Удаляет товар. Результат — {@code false}, если товара уже не было в базе.
+     */
+    public CompletableFuture<Boolean> delete(UUID id) {
+        return submit(() -> itemDAO.delete(id));
+    }
+
+    /**
+     * Полнотекстовый поиск через индекс FTS5. Новый поиск отменяет предыдущий.
+     */
+    public CompletableFuture<List<SearchHit>> search(String query, int limit) {
+        return submitLatest("filter", cancelled -> itemDAO.search(query, limit));
+    }
+
+    /**
+     * Ищет товары, у которых название или описание содержит строку в любом месте слова.
+     * Таблица читается потоком целиком, поэтому для больших таблиц лучше {@link #search}.
+     * Новый поиск отменяет предыдущий.
+     */
+    public CompletableFuture<List<Item>> findMatching(String filter, ItemSort sort) {
+        String needle = filter.toLowerCase(Locale.ROOT);
+        return submitLatest("filter", cancelled -> {
+            try (Stream<Item> items = itemDAO.stream(sort)) {
+                return items.takeWhile(item -> !cancelled.getAsBoolean())
+                        .filter(item -> item.matches(needle))
+                        .collect(Collectors.toList());
+            }
+        });
+    }
+
+    /**
+     * Останавливает фоновый исполнитель.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
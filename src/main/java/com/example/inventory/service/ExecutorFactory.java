@@ -0,0 +1,82 @@
+package com.example.inventory.service;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Создает исполнители для фоновой работы с базой данных.
+ * Если JVM поддерживает виртуальные потоки (Java 21+), они используются
+ * вместо обычных: блокирующий JDBC-вызов тогда не занимает поток ОС.
+ * Проект собирается под Java 17, поэтому виртуальные потоки подключаются через reflection.
+ */
+public final class ExecutorFactory {
+    private static final ThreadFactory VIRTUAL_FACTORY = lookupVirtualFactory();
+
+    private ExecutorFactory() {
+    }
+
+    /**
+     * Проверяет, доступны ли виртуальные потоки в текущей JVM.
+     */
+    public static boolean virtualThreadsAvailable() {
+        return VIRTUAL_FACTORY != null;
+    }
+
+    /**
+     * Создает фабрику потоков: виртуальных, если возможно, иначе фоновых платформенных.
+     */
+    public static ThreadFactory threadFactory(String name) {
+        if (VIRTUAL_FACTORY != null) {
+            return VIRTUAL_FACTORY;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Создает исполнитель с ограниченным числом потоков и ограниченной очередью.
+     * При переполнении очереди задача отклоняется, а не накапливается без предела.
+     */
+    public static ExecutorService newBoundedExecutor(String name, int threads, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(name), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Создает исполнитель "поток на задачу": виртуальный поток на каждую задачу,
+     * если это возможно, иначе кэширующий пул платформенных потоков.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String name) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            if (VIRTUAL_FACTORY != null) {
+                return (ExecutorService) method.invoke(null);
+            }
+        } catch (ReflectiveOperationException ignored) {
+            // Java 17: виртуальных потоков нет
+        }
+        return Executors.newCachedThreadPool(threadFactory(name));
+    }
+
+    private static ThreadFactory lookupVirtualFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
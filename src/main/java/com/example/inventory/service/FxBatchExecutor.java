@@ -0,0 +1,68 @@
+package com.example.inventory.service;
+
+import com.example.inventory.metrics.LatencyHistogram;
+import com.example.inventory.metrics.Log;
+import com.example.inventory.metrics.Metrics;
+import javafx.application.Platform;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Передает задачи в поток JavaFX пачками.
+ * Вместо отдельного {@code Platform.runLater} на каждый результат задачи
+ * накапливаются в очереди и выполняются за один проход. Проход ограничен
+ * по времени, чтобы не пропускать кадры: остаток переносится на следующий.
+ * Длительность проходов записывается в метрику {@code fx.batch}.
+ */
+public class FxBatchExecutor implements Executor {
+    private static final long FRAME_BUDGET_NANOS = 8_000_000L; // половина кадра при 60 fps
+    private static final LatencyHistogram batchTime = Metrics.getDefault().timer("fx.batch");
+
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Consumer<Runnable> scheduler;
+
+    public FxBatchExecutor() {
+        this(Platform::runLater);
+    }
+
+    /**
+     * @param scheduler способ запустить проход в UI-потоке
+     */
+    public FxBatchExecutor(Consumer<Runnable> scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        queue.add(task);
+        if (scheduled.compareAndSet(false, true)) {
+            scheduler.accept(this::drain);
+        }
+    }
+
+    private void drain() {
+        scheduled.set(false);
+        long start = System.nanoTime();
+        long deadline = start + FRAME_BUDGET_NANOS;
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                Log.error("❌ Ошибка в задаче интерфейса: " + e.getMessage(), e);
+            }
+            if (System.nanoTime() > deadline) {
+                break;
+            }
+        }
+        batchTime.recordSince(start);
+        if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+            scheduler.accept(this::drain);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.inventory.service;
+
+import com.example.inventory.metrics.Counter;
+import com.example.inventory.metrics.LatencyHistogram;
+import com.example.inventory.metrics.Metrics;
+import javafx.application.Platform;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Измеряет, насколько поток JavaFX занят и не отвечает на события.
+ *
+ * Каждые 100 мс в очередь потока ставится пустая задача; время от постановки
+ * до выполнения записывается в {@code fx.queue.delay}. Если задача ждала
+ * дольше кадра (16 мс), превышение добавляется к счетчику
+ * {@code fx.blocked.ms} — это время, когда интерфейс не перерисовывался.
+ * Следующая задача не ставится, пока не выполнена предыдущая, поэтому
+ * долгая блокировка учитывается один раз.
+ */
+public class FxThreadMonitor implements AutoCloseable {
+    private static final long PROBE_INTERVAL_MILLIS = 100;
+    private static final long FRAME_NANOS = 16_666_667L;
+
+    private final Consumer<Runnable> scheduler;
+    private final LatencyHistogram queueDelay;
+    private final Counter blockedMillis;
+    private final AtomicBoolean probePending = new AtomicBoolean();
+    private final ScheduledExecutorService timer;
+
+    public FxThreadMonitor(Metrics metrics) {
+        this(metrics, Platform::runLater);
+    }
+
+    /**
+     * @param scheduler способ поставить задачу в UI-поток
+     */
+    public FxThreadMonitor(Metrics metrics, Consumer<Runnable> scheduler) {
+        this.scheduler = scheduler;
+        this.queueDelay = metrics.timer("fx.queue.delay");
+        this.blockedMillis = metrics.counter("fx.blocked.ms");
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(this::probe, PROBE_INTERVAL_MILLIS, PROBE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void probe() {
+        if (!probePending.compareAndSet(false, true)) {
+            return;
+        }
+        long posted = System.nanoTime();
+        scheduler.accept(() -> {
+            long delay = System.nanoTime() - posted;
+            queueDelay.record(delay);
+            if (delay > FRAME_NANOS) {
+                blockedMillis.add(TimeUnit.NANOSECONDS.toMillis(delay - FRAME_NANOS));
+            }
+            probePending.set(false);
+        });
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+}
@@ -0,0 +1,543 @@
+package com.example.inventory.store;
+
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemSort;
+import com.example.inventory.search.SearchQuery;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.RandomAccess;
+import java.util.UUID;
+
+/**
+ * Компактное хранилище товаров в памяти: по массиву на каждое поле
+ * (struct-of-arrays) вместо объекта {@link Item} на каждую строку.
+ *
+ * Идентификатор хранится парой long, даты — числом миллисекунд (локальное
+ * время, как в колоночном формате экспорта), название и описание — кодами
+ * в {@link StringDictionary}. Строка занимает около
+ * 60 байт плюс ее доля в словаре, тогда как объект Item с UUID и двумя
+ * LocalDateTime — больше 200 байт без учета строк, и все эти объекты
+ * сборщик мусора обходит при каждой полной сборке.
+ *
+ * Поиск по идентификатору идет через хеш-таблицу с открытой адресацией
+ * по тем же массивам. Порядок строк не определен: удаление переносит
+ * на место удаленной последнюю строку. Упорядоченные и отфильтрованные
+ * наборы строк возвращаются как массивы номеров ({@link #sortedRows},
+ * {@link #filter}) и легкие представления ({@link #view}), которые
+ * создают Item только при обращении к элементу.
+ *
+ * Класс не потокобезопасен.
+ */
+public class ItemStore {
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private final StringDictionary dictionary;
+
+    private long[] idHigh;
+    private long[] idLow;
+    private long[] createdAt;
+    private long[] updatedAt;
+    private int[] names;
+    private int[] descriptions;
+    private int size;
+
+    // Открытая адресация с линейным пробированием: номер строки + 1, 0 — пусто
+    private int[] slots;
+
+    /**
+     * Создает пустое хранилище со своим словарем строк.
+     */
+    public ItemStore() {
+        this(new StringDictionary(), 16);
+    }
+
+    /**
+     * Создает пустое хранилище с общим словарем строк.
+     *
+     * @param capacity ожидаемое число строк
+     */
+    public ItemStore(StringDictionary dictionary, int capacity) {
+        this.dictionary = dictionary;
+        int initial = Math.max(4, capacity);
+        idHigh = new long[initial];
+        idLow = new long[initial];
+        createdAt = new long[initial];
+        updatedAt = new long[initial];
+        names = new int[initial];
+        descriptions = new int[initial];
+        slots = new int[tableSize(initial)];
+    }
+
+    /**
+     * Создает хранилище с товарами в порядке коллекции.
+     */
+    public static ItemStore of(Collection<? extends Item> items, StringDictionary dictionary) {
+        ItemStore store = new ItemStore(dictionary, items.size());
+        for (Item item : items) {
+            store.put(item);
+        }
+        return store;
+    }
+
+    public StringDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Добавляет товар или заменяет строку товара с тем же идентификатором.
+     * Объект товара не запоминается.
+     *
+     * @return номер строки товара
+     */
+    public int put(Item item) {
+        UUID id = item.getId();
+        if (id == null) {
+            throw new IllegalArgumentException("❌ Товар без идентификатора нельзя добавить в хранилище");
+        }
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+        int slot = findSlot(high, low);
+        int row;
+        if (slots[slot] != 0) {
+            row = slots[slot] - 1;
+            dictionary.release(names[row]);
+            dictionary.release(descriptions[row]);
+        } else {
+            if (size == idHigh.length) {
+                grow();
+            }
+            row = size++;
+            idHigh[row] = high;
+            idLow[row] = low;
+            slots[slot] = row + 1;
+            if (size * 2 > slots.length) {
+                rehash(slots.length * 2);
+            }
+        }
+        names[row] = dictionary.acquire(item.getName());
+        descriptions[row] = dictionary.acquire(item.getDescription());
+        createdAt[row] = toMillis(item.getCreatedAt());
+        updatedAt[row] = toMillis(item.getUpdatedAt());
+        return row;
+    }
+
+    public void putAll(Collection<? extends Item> items) {
+        for (Item item : items) {
+            put(item);
+        }
+    }
+
+    /**
+     * Удаляет товар. На его место переносится последняя строка.
+     *
+     * @return {@code true}, если товар был в хранилище
+     */
+    public boolean remove(UUID id) {
+        int slot = findSlot(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (slots[slot] == 0) {
+            return false;
+        }
+        int row = slots[slot] - 1;
+        dictionary.release(names[row]);
+        dictionary.release(descriptions[row]);
+        deleteSlot(slot);
+
+        int last = --size;
+        if (row != last) {
+            idHigh[row] = idHigh[last];
+            idLow[row] = idLow[last];
+            createdAt[row] = createdAt[last];
+            updatedAt[row] = updatedAt[last];
+            names[row] = names[last];
+            descriptions[row] = descriptions[last];
+            slots[findSlot(idHigh[row], idLow[row])] = row + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Удаляет все строки и освобождает их строки в словаре.
+     */
+    public void clear() {
+        for (int row = 0; row < size; row++) {
+            dictionary.release(names[row]);
+            dictionary.release(descriptions[row]);
+        }
+        Arrays.fill(slots, 0);
+        size = 0;
+    }
+
+    /**
+     * Номер строки товара или -1.
+     */
+    public int indexOf(UUID id) {
+        int slot = findSlot(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return slots[slot] - 1;
+    }
+
+    /**
+     * Товар по идентификатору или {@code null}.
+     */
+    public Item get(UUID id) {
+        int row = indexOf(id);
+        return row < 0 ? null : toItem(row);
+    }
+
+    // Поля строки без создания Item
+
+    public UUID getId(int row) {
+        return new UUID(idHigh[checkRow(row)], idLow[row]);
+    }
+
+    public String getName(int row) {
+        return dictionary.get(names[checkRow(row)]);
+    }
+
+    public String getDescription(int row) {
+        return dictionary.get(descriptions[checkRow(row)]);
+    }
+
+    public LocalDateTime getCreatedAt(int row) {
+        return toTime(createdAt[checkRow(row)]);
+    }
+
+    public LocalDateTime getUpdatedAt(int row) {
+        return toTime(updatedAt[checkRow(row)]);
+    }
+
+    /**
+     * Создает товар из строки хранилища.
+     */
+    public Item toItem(int row) {
+        checkRow(row);
+        return new Item(new UUID(idHigh[row], idLow[row]), dictionary.get(names[row]),
+                dictionary.get(descriptions[row]), toTime(createdAt[row]), toTime(updatedAt[row]));
+    }
+
+    /**
+     * Все товары в порядке строк.
+     */
+    public List<Item> toItems() {
+        List<Item> items = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            items.add(toItem(row));
+        }
+        return items;
+    }
+
+    /**
+     * Представление строк в указанном порядке. Item создается при каждом
+     * обращении к элементу и не хранится; представление отражает текущее
+     * содержимое строк и не должно переживать удаление товаров.
+     */
+    public List<Item> view(int[] rows) {
+        return new RowView(rows);
+    }
+
+    /**
+     * Номера строк в порядке сортировки — том же, что у {@link ItemSort#comparator()}.
+     * Если названия часто повторяются, различные названия сортируются один раз,
+     * а строки — по целочисленному рангу названия.
+     */
+    public int[] sortedRows(ItemSort sort) {
+        int[] rows = new int[size];
+        for (int row = 0; row < size; row++) {
+            rows[row] = row;
+        }
+        RowComparator comparator = switch (sort) {
+            case NAME_ASC -> byName(nameRanks());
+            case NAME_DESC -> {
+                RowComparator ascending = byName(nameRanks());
+                yield (a, b) -> ascending.compare(b, a);
+            }
+            case CREATED_DESC -> (a, b) -> {
+                int cmp = Long.compare(createdAt[b], createdAt[a]);
+                return cmp != 0 ? cmp : compareIds(b, a);
+            };
+        };
+        mergeSort(rows, new int[size], 0, size, comparator);
+        return rows;
+    }
+
+    /**
+     * Номера строк, подходящих под запрос (в порядке строк). Каждая различная
+     * строка словаря проверяется один раз, а не на каждой строке хранилища.
+     */
+    public int[] filter(SearchQuery query) {
+        int[] matched = new int[size];
+        int count = 0;
+        if (query.isEmpty()) {
+            for (int row = 0; row < size; row++) {
+                matched[count++] = row;
+            }
+            return matched;
+        }
+
+        String text = query.getText();
+        long allTokens = query.allTokens();
+        // Для каждого кода в младших битах: 0 — не проверен, 1 — без подстроки, 2 — с подстрокой
+        byte[] contains = new byte[dictionary.capacity()];
+        long[] tokens = allTokens != 0 ? new long[dictionary.capacity()] : null;
+        for (int row = 0; row < size; row++) {
+            int name = names[row];
+            int description = descriptions[row];
+            boolean matches = containsText(contains, name, text) || containsText(contains, description, text);
+            if (!matches && tokens != null) {
+                matches = (matchedTokens(tokens, contains, name, query) |
+                        matchedTokens(tokens, contains, description, query)) == allTokens;
+            }
+            if (matches) {
+                matched[count++] = row;
+            }
+        }
+        return Arrays.copyOf(matched, count);
+    }
+
+    private boolean containsText(byte[] cache, int code, String text) {
+        if (code == StringDictionary.NONE) {
+            return false;
+        }
+        if ((cache[code] & 3) == 0) {
+            cache[code] |= (byte) (dictionary.get(code).toLowerCase(Locale.ROOT).contains(text) ? 2 : 1);
+        }
+        return (cache[code] & 3) == 2;
+    }
+
+    /**
+     * Маска слов запроса, найденных в начале слов строки. Маска кэшируется
+     * по коду; признак вычисленной маски — бит 4 в кэше подстрок.
+     */
+    private long matchedTokens(long[] cache, byte[] state, int code, SearchQuery query) {
+        if (code == StringDictionary.NONE) {
+            return 0;
+        }
+        if ((state[code] & 4) == 0) {
+            cache[code] = query.matchedTokens(dictionary.get(code));
+            state[code] |= 4;
+        }
+        return cache[code];
+    }
+
+    /**
+     * Ранг каждого названия в порядке NOCASE: равные без учета регистра
+     * названия получают одинаковый ранг.
+     *
+     * @return {@code null}, если названия почти не повторяются и ранги
+     * не окупают лишнюю сортировку
+     */
+    private int[] nameRanks() {
+        int[] ranks = new int[dictionary.capacity()];
+        Arrays.fill(ranks, -1);
+        int[] codes = new int[Math.min(size, ranks.length)];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            int code = names[row];
+            if (code != StringDictionary.NONE && ranks[code] == -1) {
+                ranks[code] = 0;
+                codes[count++] = code;
+            }
+        }
+        if (count * 2 > size) {
+            return null;
+        }
+        RowComparator byText = (a, b) -> ItemSort.compareNoCase(dictionary.get(a), dictionary.get(b));
+        mergeSort(codes, new int[count], 0, count, byText);
+
+        int rank = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && byText.compare(codes[i - 1], codes[i]) != 0) {
+                rank++;
+            }
+            ranks[codes[i]] = rank;
+        }
+        return ranks;
+    }
+
+    private RowComparator byName(int[] ranks) {
+        if (ranks == null) {
+            return (a, b) -> {
+                int nameA = names[a];
+                int nameB = names[b];
+                int cmp = nameA == nameB ? 0 : ItemSort.compareNoCase(dictionary.get(nameA), dictionary.get(nameB));
+                return cmp != 0 ? cmp : compareIds(a, b);
+            };
+        }
+        return (a, b) -> {
+            int rankA = names[a] == StringDictionary.NONE ? -1 : ranks[names[a]];
+            int rankB = names[b] == StringDictionary.NONE ? -1 : ranks[names[b]];
+            return rankA != rankB ? Integer.compare(rankA, rankB) : compareIds(a, b);
+        };
+    }
+
+    /**
+     * Сравнивает идентификаторы строк так же, как {@link ItemSort#compareIds}.
+     */
+    private int compareIds(int a, int b) {
+        int cmp = Long.compareUnsigned(idHigh[a], idHigh[b]);
+        return cmp != 0 ? cmp : Long.compareUnsigned(idLow[a], idLow[b]);
+    }
+
+    @FunctionalInterface
+    private interface RowComparator {
+        int compare(int a, int b);
+    }
+
+    /**
+     * Сортировка слиянием номеров строк без упаковки в Integer.
+     */
+    private static void mergeSort(int[] rows, int[] buffer, int from, int to, RowComparator comparator) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++) {
+                int row = rows[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(rows[j], row) > 0) {
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                rows[j + 1] = row;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(rows, buffer, from, middle, comparator);
+        mergeSort(rows, buffer, middle, to, comparator);
+        if (comparator.compare(rows[middle - 1], rows[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(rows, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || left < middle && comparator.compare(buffer[left], buffer[right]) <= 0) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
+    }
+
+    // Хеш-таблица идентификаторов
+
+    private static int tableSize(int capacity) {
+        int tableSize = 16;
+        while (tableSize < capacity * 2) {
+            tableSize <<= 1;
+        }
+        return tableSize;
+    }
+
+    private static int hash(long high, long low) {
+        long h = (high ^ low) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ h >>> 32);
+    }
+
+    /**
+     * Ячейка с указанным идентификатором или пустая ячейка, где он был бы.
+     */
+    private int findSlot(long high, long low) {
+        int mask = slots.length - 1;
+        int slot = hash(high, low) & mask;
+        while (slots[slot] != 0) {
+            int row = slots[slot] - 1;
+            if (idHigh[row] == high && idLow[row] == low) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Освобождает ячейку, сдвигая назад следующие за ней ячейки цепочки,
+     * чтобы поиск не обрывался на образовавшейся дыре.
+     */
+    private void deleteSlot(int slot) {
+        int mask = slots.length - 1;
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (slots[next] == 0) {
+                break;
+            }
+            int row = slots[next] - 1;
+            int home = hash(idHigh[row], idLow[row]) & mask;
+            // Ячейку можно перенести в дыру, если ее начальная позиция не лежит между дырой и ею
+            boolean between = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (!between) {
+                slots[hole] = slots[next];
+                hole = next;
+            }
+        }
+        slots[hole] = 0;
+    }
+
+    private void rehash(int tableSize) {
+        slots = new int[tableSize];
+        for (int row = 0; row < size; row++) {
+            slots[findSlot(idHigh[row], idLow[row])] = row + 1;
+        }
+    }
+
+    private void grow() {
+        int capacity = idHigh.length * 2;
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        updatedAt = Arrays.copyOf(updatedAt, capacity);
+        names = Arrays.copyOf(names, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+        }
+        return row;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time == null ? NO_TIME : time.toEpochSecond(ZoneOffset.UTC) * 1000 + time.getNano() / 1_000_000;
+    }
+
+    private static LocalDateTime toTime(long millis) {
+        return millis == NO_TIME ? null : LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Список товаров по номерам строк.
+     */
+    private final class RowView extends AbstractList<Item> implements RandomAccess {
+        private final int[] rows;
+
+        RowView(int[] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public Item get(int index) {
+            return toItem(rows[index]);
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+    }
+}
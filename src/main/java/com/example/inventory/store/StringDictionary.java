@@ -0,0 +1,95 @@
+package com.example.inventory.store;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Словарь строк с подсчетом ссылок.
+ *
+ * Каждая различная строка хранится один раз и получает целочисленный код;
+ * столбцы {@link ItemStore} хранят коды вместо ссылок на строки. Одинаковые
+ * названия и описания (а в реальном складе их много: «Болт М8», «Со склада
+ * поставщика») занимают память один раз. Код освобождается, когда на строку
+ * не остается ссылок, и переиспользуется.
+ *
+ * Словарь можно разделять между несколькими хранилищами. Класс не потокобезопасен.
+ */
+public final class StringDictionary {
+    /**
+     * Код отсутствующей строки ({@code null}).
+     */
+    public static final int NONE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] strings = new String[16];
+    private int[] refCounts = new int[16];
+    private int[] freeCodes = new int[16];
+    private int freeCount;
+    private int nextCode;
+
+    /**
+     * Возвращает код строки, увеличивая число ссылок на нее.
+     * Каждому вызову должен соответствовать {@link #release(int)}.
+     */
+    public int acquire(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer existing = codes.get(value);
+        if (existing != null) {
+            refCounts[existing]++;
+            return existing;
+        }
+
+        int code = freeCount > 0 ? freeCodes[--freeCount] : nextCode++;
+        if (code >= strings.length) {
+            int capacity = strings.length * 2;
+            strings = Arrays.copyOf(strings, capacity);
+            refCounts = Arrays.copyOf(refCounts, capacity);
+        }
+        strings[code] = value;
+        refCounts[code] = 1;
+        codes.put(value, code);
+        return code;
+    }
+
+    /**
+     * Уменьшает число ссылок на строку; последняя ссылка освобождает код.
+     */
+    public void release(int code) {
+        if (code == NONE) {
+            return;
+        }
+        if (--refCounts[code] == 0) {
+            codes.remove(strings[code]);
+            strings[code] = null;
+            if (freeCount == freeCodes.length) {
+                freeCodes = Arrays.copyOf(freeCodes, freeCount * 2);
+            }
+            freeCodes[freeCount++] = code;
+        }
+    }
+
+    /**
+     * Строка по коду ({@code null} для {@link #NONE}).
+     */
+    public String get(int code) {
+        return code == NONE ? null : strings[code];
+    }
+
+    /**
+     * Число различных строк в словаре.
+     */
+    public int size() {
+        return codes.size();
+    }
+
+    /**
+     * Верхняя граница кодов: все коды меньше этого числа. Подходит как
+     * размер массива, индексируемого кодом.
+     */
+    public int capacity() {
+        return nextCode;
+    }
+}
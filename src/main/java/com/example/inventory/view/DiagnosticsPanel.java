@@ -0,0 +1,148 @@
+package com.example.inventory.view;
+
+import com.example.inventory.metrics.Counter;
+import com.example.inventory.metrics.LatencyHistogram;
+import com.example.inventory.metrics.Log;
+import com.example.inventory.metrics.Metrics;
+import com.example.inventory.metrics.MetricsExporter;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * Окно диагностики: задержки операций (перцентили), счетчики и показатели
+ * из {@link Metrics}. Таблица обновляется раз в секунду, пока окно открыто;
+ * снимок можно сохранить в файл JSON или Prometheus.
+ */
+public class DiagnosticsPanel {
+    private static final Duration REFRESH_INTERVAL = Duration.seconds(1);
+
+    /**
+     * Строка таблицы: для гистограмм заполнены все колонки, для счетчиков
+     * и показателей — только значение.
+     */
+    private record Row(String name, String value, String mean, String p50, String p90, String p99, String max) {
+    }
+
+    private final Metrics metrics;
+    private final Stage stage = new Stage();
+    private final ObservableList<Row> rows = FXCollections.observableArrayList();
+    private final Timeline refresher = new Timeline(new KeyFrame(REFRESH_INTERVAL, event -> refresh()));
+
+    public DiagnosticsPanel(Metrics metrics, Window owner) {
+        this.metrics = metrics;
+
+        TableView<Row> table = new TableView<>(rows);
+        table.getColumns().add(column("Метрика", 220, Row::name));
+        table.getColumns().add(column("Количество / значение", 150, Row::value));
+        table.getColumns().add(column("Среднее", 90, Row::mean));
+        table.getColumns().add(column("p50", 90, Row::p50));
+        table.getColumns().add(column("p90", 90, Row::p90));
+        table.getColumns().add(column("p99", 90, Row::p99));
+        table.getColumns().add(column("Максимум", 90, Row::max));
+        VBox.setVgrow(table, Priority.ALWAYS);
+
+        Button save = new Button("Сохранить…");
+        save.setOnAction(event -> save());
+        Label hint = new Label("Длительности в миллисекундах");
+        HBox buttons = new HBox(10, save, hint);
+
+        VBox root = new VBox(10, table, buttons);
+        root.setPadding(new Insets(10));
+
+        stage.initOwner(owner);
+        stage.setTitle("Диагностика");
+        stage.setScene(new Scene(root, 860, 500));
+        stage.setOnHidden(event -> refresher.stop());
+        refresher.setCycleCount(Timeline.INDEFINITE);
+    }
+
+    /**
+     * Показывает окно и начинает обновлять таблицу.
+     */
+    public void show() {
+        refresh();
+        refresher.play();
+        stage.show();
+        stage.toFront();
+    }
+
+    private void refresh() {
+        List<Row> snapshot = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> entry : metrics.getTimers().entrySet()) {
+            LatencyHistogram.Snapshot s = entry.getValue().snapshot();
+            snapshot.add(new Row(entry.getKey(), Long.toString(s.count()), millis(s.mean()),
+                    millis(s.p50()), millis(s.p90()), millis(s.p99()), millis(s.max())));
+        }
+        for (Map.Entry<String, Counter> entry : metrics.getCounters().entrySet()) {
+            snapshot.add(new Row(entry.getKey(), Long.toString(entry.getValue().get()), "", "", "", "", ""));
+        }
+        for (Map.Entry<String, DoubleSupplier> entry : metrics.getGauges().entrySet()) {
+            snapshot.add(new Row(entry.getKey(), gauge(entry.getValue()), "", "", "", "", ""));
+        }
+        rows.setAll(snapshot);
+    }
+
+    private void save() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Сохранить метрики");
+        chooser.setInitialFileName("metrics.json");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("JSON", "*.json"),
+                new FileChooser.ExtensionFilter("Prometheus", "*.prom", "*.txt"));
+        File file = chooser.showSaveDialog(stage);
+        if (file == null) {
+            return;
+        }
+        try {
+            MetricsExporter.write(metrics, file.toPath());
+            Log.info("📊 Метрики сохранены в " + file);
+        } catch (IOException e) {
+            Log.error("❌ Не удалось сохранить метрики: " + e.getMessage());
+        }
+    }
+
+    private static TableColumn<Row, String> column(String title, double width, Function<Row, String> value) {
+        TableColumn<Row, String> column = new TableColumn<>(title);
+        column.setPrefWidth(width);
+        column.setCellValueFactory(cell -> new SimpleStringProperty(value.apply(cell.getValue())));
+        return column;
+    }
+
+    private static String millis(double nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    private static String gauge(DoubleSupplier value) {
+        try {
+            double v = value.getAsDouble();
+            return v == Math.rint(v) ? Long.toString((long) v) : String.format(Locale.ROOT, "%.3f", v);
+        } catch (RuntimeException e) {
+            return "—";
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.inventory.view;
+
+import com.example.inventory.io.ExportProgress;
+import com.example.inventory.io.ExportResult;
+import com.example.inventory.io.ItemExporter;
+import com.example.inventory.metrics.Log;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Окно хода экспорта: индикатор выгруженной части товаров и кнопка
+ * остановки. Экспорт идет в отдельном потоке; как и в {@link ImportDialog},
+ * в очереди JavaFX держится не больше одного обновления хода.
+ */
+public class ExportDialog {
+    private final ItemExporter exporter;
+    private final Path output;
+
+    private final Stage stage = new Stage();
+    private final ProgressBar progressBar = new ProgressBar(0);
+    private final Label status = new Label("Чтение базы…");
+    private final Button button = new Button("Остановить");
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicReference<ExportProgress> latest = new AtomicReference<>();
+    private final AtomicBoolean updateScheduled = new AtomicBoolean();
+    private boolean finished;
+
+    public ExportDialog(ItemExporter exporter, Path output, Window owner) {
+        this.exporter = exporter;
+        this.output = output;
+
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        button.setOnAction(event -> {
+            if (finished) {
+                stage.close();
+            } else {
+                cancelled.set(true);
+                button.setDisable(true);
+                status.setText("Остановка…");
+            }
+        });
+
+        VBox root = new VBox(10, new Label("Файл: " + output.getFileName()), progressBar, status, button);
+        root.setPadding(new Insets(15));
+
+        stage.initOwner(owner);
+        stage.initModality(Modality.WINDOW_MODAL);
+        stage.setTitle("Экспорт товаров");
+        stage.setScene(new Scene(root, 460, 170));
+        // Закрытие окна во время экспорта его останавливает
+        stage.setOnCloseRequest(event -> cancelled.set(true));
+    }
+
+    /**
+     * Показывает окно и запускает экспорт в фоне.
+     */
+    public void show() {
+        stage.show();
+        Thread worker = new Thread(this::runExport, "item-export");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void runExport() {
+        try {
+            ExportResult result = exporter.export(output, this::publish, cancelled::get);
+            Platform.runLater(() -> complete(result, null));
+        } catch (Exception e) {
+            Log.error("❌ Ошибка экспорта: " + e.getMessage());
+            Platform.runLater(() -> complete(null, e));
+        }
+    }
+
+    private void publish(ExportProgress progress) {
+        latest.set(progress);
+        if (updateScheduled.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                updateScheduled.set(false);
+                ExportProgress current = latest.get();
+                if (!finished && current != null) {
+                    progressBar.setProgress(current.fraction());
+                    status.setText("Товаров: " + current.rows() + " из " + current.totalRows() +
+                            ", записано байт: " + current.bytesWritten());
+                }
+            });
+        }
+    }
+
+    private void complete(ExportResult result, Exception error) {
+        finished = true;
+        button.setText("Закрыть");
+        button.setDisable(false);
+        status.setWrapText(true);
+        if (error != null) {
+            status.setText(error.getMessage());
+        } else {
+            progressBar.setProgress(result.cancelled() ? 0 : 1);
+            status.setText(result.cancelled() ? "Экспорт остановлен, файл не записан" : "Готово: " + result);
+        }
+    }
+}
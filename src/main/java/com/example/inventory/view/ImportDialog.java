@@ -0,0 +1,129 @@
+package com.example.inventory.view;
+
+import com.example.inventory.io.ImportProgress;
+import com.example.inventory.io.ImportResult;
+import com.example.inventory.io.ItemImporter;
+import com.example.inventory.metrics.Log;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Окно хода импорта: индикатор прочитанной части файла, счетчики
+ * и кнопка остановки. Импорт идет в отдельном потоке; обновления хода
+ * объединяются, так что поток JavaFX перерисовывает окно не чаще,
+ * чем успевает, сколько бы порций ни записывалось.
+ */
+public class ImportDialog {
+    private final ItemImporter importer;
+    private final Path input;
+    private final Path errorFile;
+    private final Runnable onFinished;
+
+    private final Stage stage = new Stage();
+    private final ProgressBar progressBar = new ProgressBar(0);
+    private final Label status = new Label("Чтение файла…");
+    private final Button button = new Button("Остановить");
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicReference<ImportProgress> latest = new AtomicReference<>();
+    private final AtomicBoolean updateScheduled = new AtomicBoolean();
+    private boolean finished;
+
+    /**
+     * @param onFinished вызывается в потоке JavaFX после импорта, в том числе
+     *                   остановленного или прерванного ошибкой: часть товаров уже может быть записана
+     */
+    public ImportDialog(ItemImporter importer, Path input, Window owner, Runnable onFinished) {
+        this.importer = importer;
+        this.input = input;
+        this.errorFile = ItemImporter.defaultErrorFile(input);
+        this.onFinished = onFinished;
+
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        button.setOnAction(event -> {
+            if (finished) {
+                stage.close();
+            } else {
+                cancelled.set(true);
+                button.setDisable(true);
+                status.setText("Остановка…");
+            }
+        });
+
+        VBox root = new VBox(10, new Label("Файл: " + input.getFileName()), progressBar, status, button);
+        root.setPadding(new Insets(15));
+
+        stage.initOwner(owner);
+        stage.initModality(Modality.WINDOW_MODAL);
+        stage.setTitle("Импорт товаров");
+        stage.setScene(new Scene(root, 460, 170));
+        // Закрытие окна во время импорта его останавливает
+        stage.setOnCloseRequest(event -> cancelled.set(true));
+    }
+
+    /**
+     * Показывает окно и запускает импорт в фоне.
+     */
+    public void show() {
+        stage.show();
+        Thread worker = new Thread(this::runImport, "item-import");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void runImport() {
+        try {
+            ImportResult result = importer.importFile(input, errorFile, this::publish, cancelled::get);
+            Platform.runLater(() -> complete(result, null));
+        } catch (Exception e) {
+            Log.error("❌ Ошибка импорта: " + e.getMessage());
+            Platform.runLater(() -> complete(null, e));
+        }
+    }
+
+    /**
+     * Вызывается потоком записи после каждой порции. В очереди JavaFX
+     * держится не больше одного обновления.
+     */
+    private void publish(ImportProgress progress) {
+        latest.set(progress);
+        if (updateScheduled.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                updateScheduled.set(false);
+                ImportProgress current = latest.get();
+                if (!finished && current != null) {
+                    progressBar.setProgress(current.fraction());
+                    status.setText("Записей: " + current.records() + ", импортировано: " + current.imported() +
+                            ", отклонено: " + current.rejected());
+                }
+            });
+        }
+    }
+
+    private void complete(ImportResult result, Exception error) {
+        finished = true;
+        button.setText("Закрыть");
+        button.setDisable(false);
+        status.setWrapText(true);
+        if (error != null) {
+            status.setText(error.getMessage());
+        } else {
+            progressBar.setProgress(1);
+            status.setText("Готово: " + result +
+                    (result.errorFile() == null ? "" : "\nОтклоненные записи: " + result.errorFile()));
+        }
+        onFinished.run();
+    }
+}
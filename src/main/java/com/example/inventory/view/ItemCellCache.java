@@ -0,0 +1,168 @@
+package com.example.inventory.view;
+
+import com.example.inventory.model.Item;
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Значения ячеек таблицы товаров без отражения и без мусора при прокрутке.
+ *
+ * TableView запрашивает значение ячейки при каждой ее перерисовке, в том
+ * числе при каждом шаге прокрутки. Здесь значения для строки создаются
+ * один раз — вместе с текстом идентификатора и отформатированной датой —
+ * и при следующих запросах возвращаются те же объекты.
+ *
+ * Кэш — массив с прямой адресацией по {@link System#identityHashCode}: поиск
+ * не выделяет памяти, а строка, вытесненная другой, просто создается заново.
+ * Товары в списке не изменяются на месте (измененный товар приходит новым
+ * объектом), поэтому запись кэша не устаревает, пока товар в таблице.
+ *
+ * Все методы вызываются только из потока JavaFX.
+ */
+public final class ItemCellCache {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    private final Row[] rows;
+    private final int mask;
+
+    /**
+     * @param capacity число строк в кэше (округляется вверх до степени двойки);
+     *                 должно быть заметно больше числа видимых строк
+     */
+    public ItemCellCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("❌ Размер кэша ячеек должен быть положительным");
+        }
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.rows = new Row[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Идентификатор товара текстом.
+     */
+    public ObservableValue<String> id(Item item) {
+        if (item == null) {
+            return null;
+        }
+        Row row = row(item);
+        if (row.id == null) {
+            row.id = new Constant<>(item.getId().toString());
+        }
+        return row.id;
+    }
+
+    public ObservableValue<String> name(Item item) {
+        if (item == null) {
+            return null;
+        }
+        Row row = row(item);
+        if (row.name == null) {
+            row.name = new Constant<>(item.getName());
+        }
+        return row.name;
+    }
+
+    public ObservableValue<String> description(Item item) {
+        if (item == null) {
+            return null;
+        }
+        Row row = row(item);
+        if (row.description == null) {
+            row.description = new Constant<>(item.getDescription());
+        }
+        return row.description;
+    }
+
+    /**
+     * Дата создания как значение ячейки: по ней сортируется колонка.
+     */
+    public ObservableValue<LocalDateTime> createdAt(Item item) {
+        if (item == null) {
+            return null;
+        }
+        Row row = row(item);
+        if (row.createdAt == null) {
+            row.createdAt = new Constant<>(item.getCreatedAt());
+        }
+        return row.createdAt;
+    }
+
+    /**
+     * Дата создания в формате таблицы ({@code дд.ММ.гггг чч:мм}).
+     */
+    public String createdAtText(Item item) {
+        if (item == null || item.getCreatedAt() == null) {
+            return "";
+        }
+        Row row = row(item);
+        if (row.createdAtText == null) {
+            row.createdAtText = DATE_FORMAT.format(item.getCreatedAt());
+        }
+        return row.createdAtText;
+    }
+
+    private Row row(Item item) {
+        int slot = System.identityHashCode(item) & mask;
+        Row row = rows[slot];
+        if (row == null || row.item != item) {
+            row = new Row(item);
+            rows[slot] = row;
+        }
+        return row;
+    }
+
+    /**
+     * Значения ячеек одной строки; создаются по мере запроса колонок.
+     */
+    private static final class Row {
+        final Item item;
+        Constant<String> id;
+        Constant<String> name;
+        Constant<String> description;
+        Constant<LocalDateTime> createdAt;
+        String createdAtText;
+
+        Row(Item item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * Неизменяемое значение ячейки. Ячейка подписывается на значение при
+     * каждой перерисовке; значение никогда не меняется, поэтому подписчики
+     * не хранятся и подписка ничего не выделяет.
+     */
+    private static final class Constant<T> implements ObservableValue<T> {
+        private final T value;
+
+        Constant(T value) {
+            this.value = value;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public void addListener(ChangeListener<? super T> listener) {
+        }
+
+        @Override
+        public void removeListener(ChangeListener<? super T> listener) {
+        }
+
+        @Override
+        public void addListener(InvalidationListener listener) {
+        }
+
+        @Override
+        public void removeListener(InvalidationListener listener) {
+        }
+    }
+}
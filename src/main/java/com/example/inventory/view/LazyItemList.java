@@ -0,0 +1,711 @@
+package com.example.inventory.view;
+
+import com.example.inventory.metrics.Log;
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemSnapshot;
+import com.example.inventory.model.ItemSort;
+import com.example.inventory.model.PageKey;
+import com.example.inventory.service.AsyncItemService;
+import com.example.inventory.store.ItemStore;
+import com.example.inventory.store.StringDictionary;
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Виртуальный список товаров для TableView.
+ * Размер списка равен числу строк в базе, но в памяти хранятся только
+ * страницы, к которым обращалась таблица. TableView запрашивает лишь видимые
+ * строки, поэтому объем памяти и время первой отрисовки не зависят от размера таблицы.
+ *
+ * Загруженные страницы хранятся в LRU-кэше ограниченного размера.
+ * Вытесненные страницы можно держать во втором, компактном кэше
+ * ({@link ItemStore} с общим словарем строк): он занимает в несколько раз
+ * меньше памяти, а страница из него возвращается без обращения к базе.
+ * Страницы читаются в фоне через {@link AsyncItemService}: пока страница
+ * не загружена, ее строки равны {@code null}, а после загрузки список
+ * сообщает о замене этих строк. После загрузки страницы следующая
+ * по направлению прокрутки подгружается заранее.
+ *
+ * Изменения одного товара применяются точечно ({@link #applyInsert},
+ * {@link #applyReplace}, {@link #applyRemove}): строка встает на свое место
+ * в текущем порядке сортировки, а загруженные страницы сдвигаются без перечитывания.
+ *
+ * Набор загруженных строк можно наблюдать через {@link LoadedItemsListener},
+ * не обращаясь к {@link #get}, который запускает загрузку страниц.
+ *
+ * Все методы вызываются только из потока JavaFX.
+ */
+public class LazyItemList extends ObservableListBase<Item> {
+    /**
+     * Получает изменения набора строк, находящихся в памяти:
+     * загрузку и выгрузку страниц, а также точечные изменения товаров.
+     */
+    @FunctionalInterface
+    public interface LoadedItemsListener {
+        /**
+         * @param unloaded товары, которые больше не находятся в памяти
+         * @param loaded   товары, которые появились в памяти (обрабатываются после unloaded)
+         */
+        void loadedItemsChanged(List<Item> unloaded, List<Item> loaded);
+    }
+
+    private final AsyncItemService service;
+    private final int pageSize;
+    private final int maxCachedPages;
+    private final int maxCompactPages;
+
+    private final Map<Integer, List<Item>> pages;
+    // Вытесненные страницы в компактном виде; не пересекаются с pages
+    private final Map<Integer, ItemStore> compactPages;
+    private final StringDictionary dictionary = new StringDictionary();
+    private final Set<Integer> loadingPages = new HashSet<>();
+    // Ключ последней строки каждой просмотренной страницы для keyset-чтения следующей
+    private final Map<Integer, PageKey> anchors = new HashMap<>();
+    // Строки страниц, вытесненных из LRU-кэша во время последней вставки страницы
+    private final List<Item> evicted = new ArrayList<>();
+    private LoadedItemsListener loadedItemsListener = (unloaded, loaded) -> { };
+
+    private ItemSort sort;
+    private int size;
+    private int lastRequestedPage;
+    private int generation;
+    // Меняется при любом сдвиге строк: загрузки, начатые до сдвига, отбрасываются
+    private int layoutVersion;
+
+    /**
+     * @param service        источник данных
+     * @param sort           начальный порядок сортировки
+     * @param pageSize       число строк в одной странице
+     * @param maxCachedPages сколько страниц одновременно держать в памяти
+     */
+    public LazyItemList(AsyncItemService service, ItemSort sort, int pageSize, int maxCachedPages) {
+        this(service, sort, pageSize, maxCachedPages, 0);
+    }
+
+    /**
+     * @param maxCompactPages сколько вытесненных страниц держать в компактном кэше (0 — не держать)
+     */
+    public LazyItemList(AsyncItemService service, ItemSort sort, int pageSize, int maxCachedPages,
+                        int maxCompactPages) {
+        this.service = service;
+        this.sort = sort;
+        this.pageSize = pageSize;
+        this.maxCachedPages = maxCachedPages;
+        this.maxCompactPages = maxCompactPages;
+        this.compactPages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, ItemStore> eldest) {
+                if (size() > LazyItemList.this.maxCompactPages) {
+                    // Освобождает строки страницы в общем словаре
+                    eldest.getValue().clear();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.pages = new LinkedHashMap<>(maxCachedPages * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Item>> eldest) {
+                if (size() > LazyItemList.this.maxCachedPages) {
+                    evicted.addAll(eldest.getValue());
+                    if (LazyItemList.this.maxCompactPages > 0) {
+                        compactPages.put(eldest.getKey(), ItemStore.of(eldest.getValue(), dictionary));
+                    }
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Возвращает товар по индексу или {@code null}, если его страница еще загружается.
+     */
+    @Override
+    public Item get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        int pageIndex = index / pageSize;
+        List<Item> page = pages.get(pageIndex);
+        if (page == null) {
+            requestPage(pageIndex, false);
+        }
+        lastRequestedPage = pageIndex;
+
+        int offset = index - pageIndex * pageSize;
+        // Строки могли быть удалены из базы после подсчета размера
+        return page != null && offset < page.size() ? page.get(offset) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public ItemSort getSort() {
+        return sort;
+    }
+
+    /**
+     * Меняет порядок сортировки и перечитывает список.
+     */
+    public CompletableFuture<Integer> setSort(ItemSort sort) {
+        this.sort = sort;
+        return refresh();
+    }
+
+    /**
+     * Сбрасывает загруженные страницы и заново получает число строк.
+     * Таблица перечитает только видимые строки. Если обновление запрошено
+     * повторно до завершения предыдущего, предыдущее отменяется.
+     */
+    public CompletableFuture<Integer> refresh() {
+        int requestedGeneration = ++generation;
+        layoutVersion++;
+        loadingPages.clear();
+        dropCompactPagesFrom(0);
+        return service.submitLatest("lazy-list-count", cancelled -> service.getItemDAO().count())
+                .thenApply(count -> {
+                    if (requestedGeneration == generation) {
+                        reset(count);
+                    }
+                    return count;
+                });
+    }
+
+    /**
+     * Заполняет список из снимка без обращения к базе: размер списка берется
+     * из снимка, а его строки становятся первыми загруженными страницами.
+     * Изменения после снимка применяются обычным образом ({@link #applyInsert} и т. д.).
+     *
+     * @return {@code false}, если снимок снят в другом порядке сортировки
+     */
+    public boolean seed(ItemSnapshot snapshot) {
+        if (snapshot.sort() != sort) {
+            return false;
+        }
+        generation++;
+        layoutVersion++;
+        loadingPages.clear();
+        reset(snapshot.totalCount());
+
+        List<Item> seeded = snapshot.items();
+        for (int from = 0; from < seeded.size(); from += pageSize) {
+            int to = Math.min(seeded.size(), from + pageSize);
+            if (to - from < pageSize && to < size) {
+                // Неполная страница в середине списка дочитается из базы целиком
+                break;
+            }
+            pageLoaded(from / pageSize, seeded.subList(from, to));
+        }
+        return true;
+    }
+
+    /**
+     * Устанавливает получателя изменений набора загруженных строк.
+     * Сразу после установки он получает уже загруженные строки.
+     */
+    public void setLoadedItemsListener(LoadedItemsListener listener) {
+        this.loadedItemsListener = listener;
+        listener.loadedItemsChanged(List.of(), loadedItems());
+    }
+
+    /**
+     * Число страниц, которые сейчас находятся в памяти.
+     */
+    public int getCachedPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Число страниц в компактном кэше.
+     */
+    public int getCompactPageCount() {
+        return compactPages.size();
+    }
+
+    /**
+     * Вставляет новый товар на его место в текущем порядке сортировки.
+     * Если место попадает в загруженные страницы, оно вычисляется в памяти,
+     * иначе позиция запрашивается у базы.
+     */
+    public void applyInsert(Item item) {
+        if (indexOf(item.getId()) >= 0) {
+            // Строка уже загружена вместе со страницей, прочитанной после коммита
+            applyReplace(item, null);
+            return;
+        }
+        int position = localPosition(item);
+        if (position >= 0) {
+            insertAt(position, item);
+            return;
+        }
+
+        int requestedGeneration = generation;
+        ItemSort requestedSort = sort;
+        service.countBefore(item, requestedSort).whenComplete((count, error) -> {
+            if (error == null && requestedGeneration == generation && requestedSort == sort) {
+                insertAt(Math.min(count, size), item);
+            }
+        });
+    }
+
+    /**
+     * Заменяет измененный товар. Если изменение не сдвигает товар
+     * в порядке сортировки, строка обновляется на месте, иначе переезжает.
+     * Место незагруженной строки находится по ее ключу сортировки до изменения.
+     *
+     * @param previous ключ товара до изменения ({@code null}, если неизвестен)
+     */
+    public void applyReplace(Item item, PageKey previous) {
+        int position = indexOf(item.getId());
+        if (position < 0) {
+            replaceUnloaded(item, previous);
+            return;
+        }
+
+        if (staysInPlace(position, item)) {
+            int pageIndex = position / pageSize;
+            Item old = pages.get(pageIndex).set(position - pageIndex * pageSize, item);
+            loadedItemsListener.loadedItemsChanged(List.of(old), List.of(item));
+            beginChange();
+            nextSet(position, old);
+            endChange();
+        } else {
+            removeAt(position);
+            applyInsert(item);
+        }
+    }
+
+    /**
+     * Удаляет товар из списка. Место незагруженной строки берется из компактной
+     * страницы, а если строки нет и там, запрашивается у базы по ключу
+     * сортировки удаленного товара.
+     *
+     * @param previous ключ товара до удаления ({@code null}, если неизвестен)
+     */
+    public void applyRemove(UUID id, PageKey previous) {
+        int position = indexOf(id);
+        if (position >= 0) {
+            removeAt(position);
+            return;
+        }
+        position = compactIndexOf(id);
+        if (position >= 0) {
+            removeUnloadedAt(position);
+            return;
+        }
+        if (previous == null) {
+            // Место строки найти не по чему
+            refresh();
+            return;
+        }
+
+        int requestedGeneration = generation;
+        ItemSort requestedSort = sort;
+        // Строки уже нет в базе, поэтому число строк перед ее ключом — ее прежняя позиция
+        service.countBefore(previous, requestedSort).whenComplete((count, error) -> {
+            if (error == null && requestedGeneration == generation && requestedSort == sort
+                    && indexOf(id) < 0 && count < size) {
+                removeUnloadedAt(count);
+            }
+        });
+    }
+
+    /**
+     * Заменяет незагруженную строку. Если ключ сортировки не изменился,
+     * выбрасывается только компактная страница со строкой, иначе строка
+     * удаляется с прежнего места и вставляется на новое.
+     */
+    private void replaceUnloaded(Item item, PageKey previous) {
+        int compactPosition = compactIndexOf(item.getId());
+        if (compactPosition >= 0) {
+            int compactPage = compactPosition / pageSize;
+            ItemStore store = compactPages.get(compactPage);
+            Item old = store.get(item.getId());
+            if (sort.comparator().compare(item, old) == 0) {
+                compactPages.remove(compactPage);
+                store.clear();
+            } else {
+                removeUnloadedAt(compactPosition);
+                applyInsert(item);
+            }
+            return;
+        }
+        if (previous == null) {
+            // Прежнее место строки неизвестно
+            refresh();
+            return;
+        }
+        Comparator<Item> comparator = sort.comparator();
+        Item old = new Item(previous.id(), previous.name(), null, previous.createdAt(), previous.createdAt());
+        int move = comparator.compare(item, old);
+        if (move == 0) {
+            // Строки нет ни в одной странице, а ее место не изменилось
+            return;
+        }
+
+        int requestedGeneration = generation;
+        ItemSort requestedSort = sort;
+        service.countBefore(previous, requestedSort).whenComplete((count, error) -> {
+            if (error != null || requestedGeneration != generation || requestedSort != sort
+                    || indexOf(item.getId()) >= 0) {
+                // Строка загружена со страницей, прочитанной уже после изменения
+                return;
+            }
+            // В базе строка уже на новом месте: если оно раньше прежнего, строка попала в подсчет
+            int position = move < 0 ? count - 1 : count;
+            if (position >= 0 && position < size) {
+                removeUnloadedAt(position);
+            }
+            applyInsert(item);
+        });
+    }
+
+    private void reset(int newSize) {
+        int oldSize = size;
+        loadedItemsListener.loadedItemsChanged(loadedItems(), List.of());
+        pages.clear();
+        anchors.clear();
+        dropCompactPagesFrom(0);
+        size = newSize;
+
+        beginChange();
+        if (oldSize > 0) {
+            nextRemove(0, Collections.nCopies(oldSize, null));
+        }
+        if (size > 0) {
+            nextAdd(0, size);
+        }
+        endChange();
+    }
+
+    /**
+     * Запускает фоновую загрузку страницы: через keyset, если известен
+     * ключ предыдущей страницы, иначе по смещению.
+     */
+    private void requestPage(int pageIndex, boolean prefetch) {
+        if (!loadingPages.add(pageIndex)) {
+            return;
+        }
+
+        int requestedLayout = layoutVersion;
+        ItemStore compact = compactPages.remove(pageIndex);
+        if (compact != null) {
+            // Страница есть в памяти, но вставляется, как и прочитанная, вне текущей отрисовки таблицы
+            List<Item> restored = compact.toItems();
+            compact.clear();
+            Platform.runLater(() -> {
+                if (requestedLayout != layoutVersion) {
+                    return;
+                }
+                loadingPages.remove(pageIndex);
+                pageLoaded(pageIndex, restored);
+                if (!prefetch) {
+                    prefetch(pageIndex);
+                }
+            });
+            return;
+        }
+
+        ItemSort requestedSort = sort;
+        PageKey previous = anchors.get(pageIndex - 1);
+        CompletableFuture<List<Item>> load;
+        if (pageIndex == 0) {
+            load = service.readPage(null, pageSize, requestedSort).thenApply(page -> page.items());
+        } else if (previous != null) {
+            load = service.readPage(previous, pageSize, requestedSort).thenApply(page -> page.items());
+        } else {
+            load = service.readWindow(pageIndex * pageSize, pageSize, requestedSort);
+        }
+
+        load.whenComplete((page, error) -> {
+            if (requestedLayout != layoutVersion) {
+                return;
+            }
+            loadingPages.remove(pageIndex);
+            if (error != null) {
+                Log.error("❌ Ошибка загрузки страницы " + pageIndex + ": " + error.getMessage());
+                return;
+            }
+            pageLoaded(pageIndex, page);
+            if (!prefetch) {
+                prefetch(pageIndex);
+            }
+        });
+    }
+
+    /**
+     * Кладет страницу в кэш и сообщает таблице, что ее строки появились.
+     */
+    private void pageLoaded(int pageIndex, List<Item> loaded) {
+        // Своя изменяемая копия: страницы сдвигаются при вставке и удалении строк
+        List<Item> page = new ArrayList<>(loaded);
+        List<Item> replaced = pages.put(pageIndex, page);
+        updateAnchor(pageIndex, page);
+
+        List<Item> unloaded = new ArrayList<>(evicted);
+        evicted.clear();
+        if (replaced != null) {
+            unloaded.addAll(replaced);
+        }
+        loadedItemsListener.loadedItemsChanged(unloaded, page);
+
+        int from = pageIndex * pageSize;
+        int to = Math.min(size, from + pageSize);
+        if (from < to) {
+            beginChange();
+            nextReplace(from, to, Collections.nCopies(to - from, null));
+            endChange();
+        }
+    }
+
+    /**
+     * Подгружает соседнюю страницу по направлению прокрутки.
+     * Предзагруженные страницы сами ничего не подгружают, иначе загрузка
+     * прошла бы по всей таблице.
+     */
+    private void prefetch(int pageIndex) {
+        int next = pageIndex >= lastRequestedPage ? pageIndex + 1 : pageIndex - 1;
+        if (next >= 0 && next * pageSize < size && !pages.containsKey(next)) {
+            requestPage(next, true);
+        }
+    }
+
+    /**
+     * Ищет загруженную строку с указанным идентификатором.
+     */
+    private int indexOf(UUID id) {
+        for (Map.Entry<Integer, List<Item>> entry : pages.entrySet()) {
+            List<Item> page = entry.getValue();
+            for (int i = 0; i < page.size(); i++) {
+                if (page.get(i).getId().equals(id)) {
+                    return entry.getKey() * pageSize + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ищет строку с указанным идентификатором в компактных страницах.
+     * Строки компактной страницы идут в порядке списка.
+     */
+    private int compactIndexOf(UUID id) {
+        for (Map.Entry<Integer, ItemStore> entry : compactPages.entrySet()) {
+            int row = entry.getValue().indexOf(id);
+            if (row >= 0) {
+                return entry.getKey() * pageSize + row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Вычисляет позицию товара по загруженным страницам.
+     *
+     * @return позиция или -1, если место товара вне загруженных страниц
+     */
+    private int localPosition(Item item) {
+        if (size == 0) {
+            return 0;
+        }
+
+        Comparator<Item> comparator = sort.comparator();
+        for (int pageIndex : new TreeSet<>(pages.keySet())) {
+            List<Item> page = pages.get(pageIndex);
+            if (page.isEmpty()) {
+                continue;
+            }
+            boolean afterFirst = comparator.compare(item, page.get(0)) >= 0;
+            if (!afterFirst) {
+                return pageIndex == 0 ? 0 : -1;
+            }
+
+            boolean lastPage = (pageIndex + 1) * pageSize >= size;
+            List<Item> next = pages.get(pageIndex + 1);
+            boolean beforeNext = next != null && !next.isEmpty() && comparator.compare(item, next.get(0)) < 0;
+            if (lastPage || beforeNext || comparator.compare(item, page.get(page.size() - 1)) <= 0) {
+                int offset = Collections.binarySearch(page, item, comparator);
+                return pageIndex * pageSize + (offset >= 0 ? offset : -offset - 1);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Проверяет, что товар на позиции по-прежнему стоит между соседями.
+     */
+    private boolean staysInPlace(int position, Item item) {
+        Comparator<Item> comparator = sort.comparator();
+        Item previous = position > 0 ? peek(position - 1) : null;
+        Item next = position + 1 < size ? peek(position + 1) : null;
+        return (previous == null || comparator.compare(previous, item) <= 0) &&
+                (next == null || comparator.compare(item, next) <= 0);
+    }
+
+    /**
+     * Возвращает загруженную строку, не запуская загрузку страницы.
+     */
+    private Item peek(int index) {
+        List<Item> page = pages.get(index / pageSize);
+        int offset = index % pageSize;
+        return page != null && offset < page.size() ? page.get(offset) : null;
+    }
+
+    /**
+     * Вставляет строку и сдвигает последующие загруженные страницы вправо:
+     * последняя строка каждой страницы переходит в начало следующей.
+     */
+    private void insertAt(int position, Item item) {
+        layoutVersion++;
+        loadingPages.clear();
+        dropCompactPagesFrom(position / pageSize);
+
+        int pageIndex = position / pageSize;
+        List<Item> page = pages.get(pageIndex);
+        if (page == null) {
+            dropPagesFrom(pageIndex);
+        } else {
+            page.add(position - pageIndex * pageSize, item);
+            loadedItemsListener.loadedItemsChanged(List.of(), List.of(item));
+            while (page.size() > pageSize) {
+                Item carry = page.remove(page.size() - 1);
+                updateAnchor(pageIndex, page);
+                pageIndex++;
+                page = pages.get(pageIndex);
+                if (page == null) {
+                    // Следующая страница не загружена: строка уходит из памяти
+                    loadedItemsListener.loadedItemsChanged(List.of(carry), List.of());
+                    dropPagesFrom(pageIndex);
+                    break;
+                }
+                page.add(0, carry);
+            }
+            if (page != null) {
+                updateAnchor(pageIndex, page);
+            }
+        }
+
+        size++;
+        beginChange();
+        nextAdd(position, position + 1);
+        endChange();
+    }
+
+    /**
+     * Удаляет строку и сдвигает последующие загруженные страницы влево:
+     * первая строка каждой следующей страницы переходит в конец предыдущей.
+     */
+    private void removeAt(int position) {
+        layoutVersion++;
+        loadingPages.clear();
+        dropCompactPagesFrom(position / pageSize);
+
+        int pageIndex = position / pageSize;
+        List<Item> page = pages.get(pageIndex);
+        Item removed = page.remove(position - pageIndex * pageSize);
+        loadedItemsListener.loadedItemsChanged(List.of(removed), List.of());
+        while ((pageIndex + 1) * pageSize < size) {
+            List<Item> next = pages.get(pageIndex + 1);
+            if (next == null) {
+                // Недостающую строку взять неоткуда: неполная страница перечитается
+                dropPagesFrom(pageIndex);
+                break;
+            }
+            page.add(next.remove(0));
+            updateAnchor(pageIndex, page);
+            pageIndex++;
+            page = next;
+        }
+        if (pages.containsKey(pageIndex)) {
+            updateAnchor(pageIndex, page);
+        }
+
+        size--;
+        beginChange();
+        nextRemove(position, removed);
+        endChange();
+    }
+
+    /**
+     * Удаляет незагруженную строку. Следующие страницы сдвигаются, а строк
+     * для их дополнения в памяти нет, поэтому они перечитаются, как при {@link #insertAt}.
+     */
+    private void removeUnloadedAt(int position) {
+        layoutVersion++;
+        loadingPages.clear();
+        dropCompactPagesFrom(position / pageSize);
+        dropPagesFrom(position / pageSize);
+
+        size--;
+        beginChange();
+        nextRemove(position, (Item) null);
+        endChange();
+    }
+
+    /**
+     * Выгружает страницу и все следующие: их строки сдвинулись.
+     */
+    private void dropPagesFrom(int pageIndex) {
+        List<Item> unloaded = new ArrayList<>();
+        pages.entrySet().removeIf(entry -> {
+            if (entry.getKey() >= pageIndex) {
+                unloaded.addAll(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+        anchors.keySet().removeIf(index -> index >= pageIndex);
+        if (!unloaded.isEmpty()) {
+            loadedItemsListener.loadedItemsChanged(unloaded, List.of());
+        }
+    }
+
+    /**
+     * Выбрасывает компактные страницы, начиная с указанной: их строки сдвинулись.
+     */
+    private void dropCompactPagesFrom(int pageIndex) {
+        compactPages.entrySet().removeIf(entry -> {
+            if (entry.getKey() >= pageIndex) {
+                entry.getValue().clear();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Все строки загруженных страниц.
+     */
+    private List<Item> loadedItems() {
+        List<Item> loaded = new ArrayList<>();
+        for (List<Item> page : pages.values()) {
+            loaded.addAll(page);
+        }
+        return loaded;
+    }
+
+    private void updateAnchor(int pageIndex, List<Item> page) {
+        if (page.isEmpty()) {
+            anchors.remove(pageIndex);
+        } else {
+            anchors.put(pageIndex, PageKey.of(page.get(page.size() - 1)));
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.inventory.view;
+
+import com.example.inventory.model.Item;
+import com.example.inventory.model.SearchHit;
+import com.example.inventory.search.SearchQuery;
+import com.example.inventory.search.TrigramIndex;
+import com.example.inventory.service.AsyncItemService;
+import javafx.animation.PauseTransition;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Поиск товаров по мере ввода запроса.
+ *
+ * Совпадения среди загруженных строк показываются сразу по индексу триграмм.
+ * Запрос к полнотекстовому индексу базы отправляется только после паузы
+ * во вводе; каждое нажатие отменяет устаревшие фоновые поиски.
+ * Если новый запрос уточняет предыдущий, уже найденные товары
+ * отфильтровываются в фоне, а если предыдущий результат был полным,
+ * база не запрашивается вовсе.
+ *
+ * Результаты публикуются через одну цепочку представлений
+ * source → {@link FilteredList} → {@link SortedList}: при сужении меняется
+ * только предикат, а порядок задает компаратор отсортированного списка.
+ *
+ * Все методы вызываются только из потока JavaFX.
+ */
+public class SearchPipeline {
+    private static final String SEARCH_CHANNEL = "filter";
+    private static final String NARROW_CHANNEL = "filter-narrow";
+
+    private final AsyncItemService service;
+    private final TrigramIndex localIndex;
+    private final int limit;
+    private final PauseTransition debounce;
+
+    private final ObservableList<Item> source = FXCollections.observableArrayList();
+    private final FilteredList<Item> filtered = new FilteredList<>(source);
+    private final SortedList<Item> results = new SortedList<>(filtered);
+
+    // Запрос, по которому получен source, и запрос, который сейчас показан
+    private SearchQuery basis = SearchQuery.EMPTY;
+    private SearchQuery shown = SearchQuery.EMPTY;
+    private SearchQuery pending = SearchQuery.EMPTY;
+    // source содержит все совпадения basis, а не только лучшие limit из базы
+    private boolean complete;
+    // Товары, прошедшие сужение; null — показан весь source
+    private Set<Item> narrowed;
+    // Меняется при каждой замене source: сужение старого source отбрасывается
+    private int version;
+    private Consumer<Throwable> onError = error -> { };
+
+    /**
+     * @param service    источник данных
+     * @param localIndex индекс загруженных строк
+     * @param limit      сколько лучших результатов брать из базы
+     * @param delay      пауза во вводе перед запросом к базе
+     */
+    public SearchPipeline(AsyncItemService service, TrigramIndex localIndex, int limit, Duration delay) {
+        this.service = service;
+        this.localIndex = localIndex;
+        this.limit = limit;
+        this.debounce = new PauseTransition(delay);
+        this.debounce.setOnFinished(event -> searchDatabase(pending));
+    }
+
+    /**
+     * Найденные товары в порядке компаратора списка.
+     */
+    public SortedList<Item> getResults() {
+        return results;
+    }
+
+    /**
+     * Обработчик ошибок фонового поиска (включая отмену устаревших запросов).
+     */
+    public void setOnError(Consumer<Throwable> onError) {
+        this.onError = onError;
+    }
+
+    /**
+     * Принимает очередное значение поисковой строки.
+     */
+    public void setQuery(String text) {
+        SearchQuery query = SearchQuery.parse(text);
+        cancelPending();
+        pending = query;
+
+        if (query.isEmpty()) {
+            publish(List.of(), query, false);
+            return;
+        }
+
+        if (!basis.isEmpty() && query.narrows(basis)) {
+            narrow(query);
+            if (complete) {
+                return;
+            }
+        } else {
+            publish(localIndex.search(query.getText()), query, false);
+        }
+        debounce.playFromStart();
+    }
+
+    /**
+     * Повторяет текущий поиск в базе без задержки.
+     */
+    public void refresh() {
+        cancelPending();
+        if (!pending.isEmpty()) {
+            searchDatabase(pending);
+        }
+    }
+
+    /**
+     * Вносит изменение товара в результаты: удаленный товар убирается,
+     * измененный или новый показывается, если подходит под запрос.
+     */
+    public void apply(Item item, boolean removed) {
+        source.removeIf(existing -> existing.getId().equals(item.getId()));
+        if (!removed && !shown.isEmpty() && shown.matches(item)) {
+            if (narrowed != null) {
+                narrowed.add(item);
+            }
+            source.add(item);
+        }
+    }
+
+    private void cancelPending() {
+        debounce.stop();
+        service.cancel(SEARCH_CHANNEL);
+        service.cancel(NARROW_CHANNEL);
+    }
+
+    /**
+     * Отфильтровывает уже найденные товары в фоне. Если запрос уточняет
+     * показанный, фильтруются только показанные строки.
+     */
+    private void narrow(SearchQuery query) {
+        List<Item> candidates = new ArrayList<>(query.narrows(shown) ? filtered : source);
+        int requestedVersion = version;
+        service.submitLatest(NARROW_CHANNEL, cancelled -> {
+                    Set<Item> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+                    for (Item item : candidates) {
+                        if (cancelled.getAsBoolean()) {
+                            break;
+                        }
+                        if (query.matches(item)) {
+                            matched.add(item);
+                        }
+                    }
+                    return matched;
+                })
+                .thenAccept(matched -> {
+                    if (requestedVersion != version) {
+                        return;
+                    }
+                    narrowed = matched;
+                    shown = query;
+                    filtered.setPredicate(matched::contains);
+                })
+                .exceptionally(this::fail);
+    }
+
+    /**
+     * Ищет по полнотекстовому индексу базы и объединяет лучшие результаты
+     * с совпадениями среди загруженных строк.
+     */
+    private void searchDatabase(SearchQuery query) {
+        service.search(query.getText(), limit)
+                .thenAccept(hits -> {
+                    Map<UUID, Item> merged = new LinkedHashMap<>();
+                    for (Item item : localIndex.search(query.getText())) {
+                        merged.put(item.getId(), item);
+                    }
+                    for (SearchHit hit : hits) {
+                        merged.putIfAbsent(hit.item().getId(), hit.item());
+                    }
+                    publish(merged.values(), query, hits.size() < limit);
+                })
+                .exceptionally(this::fail);
+    }
+
+    private void publish(Collection<Item> items, SearchQuery query, boolean completeResult) {
+        version++;
+        narrowed = null;
+        filtered.setPredicate(null);
+        source.setAll(items);
+        basis = query;
+        shown = query;
+        complete = completeResult;
+    }
+
+    private Void fail(Throwable error) {
+        onError.accept(error);
+        return null;
+    }
+}
@@ -2,12 +2,22 @@ module com.example.inventory {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.sql;
+    requires jdk.httpserver;
 
     opens com.example.inventory to javafx.graphics;
     opens com.example.inventory.controller to javafx.fxml;
     opens com.example.inventory.model to javafx.base;
 
     exports com.example.inventory;
+    exports com.example.inventory.cache;
     exports com.example.inventory.controller;
+    exports com.example.inventory.db;
+    exports com.example.inventory.io;
+    exports com.example.inventory.metrics;
     exports com.example.inventory.model;
+    exports com.example.inventory.search;
+    exports com.example.inventory.server;
+    exports com.example.inventory.service;
+    exports com.example.inventory.store;
+    exports com.example.inventory.view;
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.example.inventory;
+
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemDAO;
+import com.example.inventory.model.ItemSort;
+import com.example.inventory.service.AsyncItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncItemServiceTest {
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private AsyncItemService service;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("async.db"), 2, 1000);
+        // Результаты доставляются прямо в рабочем потоке вместо потока JavaFX
+        service = new AsyncItemService(new ItemDAO(pool), Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+        pool.close();
+    }
+
+    @Test
+    void testCreateAndFind() throws Exception {
+        service.create(new Item("Async Item", "Фоновый товар")).get(5, TimeUnit.SECONDS);
+
+        List<Item> found = service.findMatching("фоновый", ItemSort.NAME_ASC).get(5, TimeUnit.SECONDS);
+        assertEquals(1, found.size());
+        assertEquals(1, service.count().get(5, TimeUnit.SECONDS));
+        assertFalse(service.busyProperty().get(), "После завершения запросов индикатор должен погаснуть");
+    }
+
+    @Test
+    void testSupersededRequestIsCancelled() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = service.submitLatest("channel", cancelled -> {
+            await(release);
+            return "first";
+        });
+        CompletableFuture<String> second = service.submitLatest("channel", cancelled -> "second");
+        release.countDown();
+
+        assertEquals("second", second.get(5, TimeUnit.SECONDS));
+        assertThrows(CancellationException.class, () -> first.get(5, TimeUnit.SECONDS),
+                "Устаревший запрос не должен доставлять результат");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.inventory;
+
+import com.example.inventory.cache.CacheStats;
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.db.DatabaseConfig;
+import com.example.inventory.model.CachedItemDAO;
+import com.example.inventory.model.ChangeFeed;
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemDAO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedItemDAOTest {
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private CachedItemDAO itemDAO;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ConnectionPool(DatabaseConfig.forUrl("jdbc:sqlite:" + tempDir.resolve("cache.db"))
+                .with("cache.maxEntries", "2"));
+        itemDAO = new CachedItemDAO(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testRepeatedLookupIsServedFromMemory() {
+        Item item = new Item("Cached Item", "Товар в кэше");
+        itemDAO.create(item);
+        itemDAO.invalidateAll();
+
+        assertEquals("Cached Item", itemDAO.getById(item.getId()).getName());
+        Item second = itemDAO.getById(item.getId());
+        second.setName("Changed Locally");
+
+        CacheStats stats = itemDAO.getCacheStats();
+        assertEquals(1, stats.misses(), "В базу должен уйти только первый запрос");
+        assertEquals(1, stats.hits());
+        assertEquals("Cached Item", itemDAO.getById(item.getId()).getName(),
+                "Изменение возвращенной копии не должно менять кэш");
+    }
+
+    @Test
+    void testFailedLookupIsNotCachedAsMissing() {
+        Item item = new Item("Unreachable Item", "");
+        itemDAO.create(item);
+        itemDAO.invalidateAll();
+        pool.close();
+
+        assertThrows(IllegalStateException.class, () -> itemDAO.getById(item.getId()),
+                "Ошибка базы не должна выглядеть как отсутствие товара");
+        assertThrows(IllegalStateException.class, () -> itemDAO.getById(item.getId()),
+                "Неудачный поиск не должен попасть в кэш");
+        assertEquals(0, itemDAO.getCacheStats().hits());
+    }
+
+    @Test
+    void testWritesUpdateCache() {
+        Item item = new Item("Original Name", "");
+        itemDAO.create(item);
+
+        item.setName("Updated Name");
+        itemDAO.update(item);
+        assertEquals("Updated Name", itemDAO.getById(item.getId()).getName());
+
+        itemDAO.delete(item.getId());
+        assertNull(itemDAO.getById(item.getId()));
+        assertEquals(0, itemDAO.getCacheStats().misses(), "Все ответы должны прийти из кэша");
+    }
+
+    @Test
+    void testMissingItemIsCachedUntilCreated() {
+        UUID id = UUID.randomUUID();
+        assertNull(itemDAO.getById(id));
+        assertNull(itemDAO.getById(id));
+        assertEquals(1, itemDAO.getCacheStats().misses(), "Отсутствие товара тоже кэшируется");
+
+        Item item = new Item("Created Later", "");
+        item.setId(id);
+        itemDAO.create(item);
+        assertNotNull(itemDAO.getById(id), "Создание должно заменить отрицательную запись");
+    }
+
+    @Test
+    void testFollowedChangesKeepOwnWritesAndDropForeignOnes() throws InterruptedException {
+        try (ChangeFeed.Subscription ignored = itemDAO.followChanges()) {
+            Item shared = new Item("Shared Item", "");
+            itemDAO.create(shared);
+            Item own = new Item("Own Write", "");
+            itemDAO.create(own);
+            own.setName("Own Write v2");
+            // Разные данные с той же датой изменения кэш считает устаревшими
+            own.setUpdatedAt(own.getUpdatedAt().plusSeconds(1));
+            itemDAO.update(own);
+
+            Item foreign = new Item(shared);
+            foreign.setName("Foreign Write");
+            new ItemDAO(pool).update(foreign);
+
+            // Изменения рассылаются по порядку: чужая запись идет последней
+            long deadline = System.currentTimeMillis() + 5000;
+            while (itemDAO.getCacheStats().invalidations() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, itemDAO.getCacheStats().invalidations(), "Сбросить нужно только чужую запись");
+            assertEquals("Own Write v2", itemDAO.getById(own.getId()).getName());
+            assertEquals(0, itemDAO.getCacheStats().misses(), "Собственные записи не должны сбрасывать кэш");
+            assertEquals("Foreign Write", itemDAO.getById(shared.getId()).getName());
+        }
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        for (int i = 0; i < 5; i++) {
+            itemDAO.create(new Item("Item number " + i, ""));
+        }
+
+        CacheStats stats = itemDAO.getCacheStats();
+        assertEquals(2, stats.size());
+        assertEquals(3, stats.evictions());
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.inventory;
+
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.db.DatabaseConfig;
+import com.example.inventory.model.ChangeFeed;
+import com.example.inventory.model.ChangeListener;
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemChange;
+import com.example.inventory.model.ItemDAO;
+import com.example.inventory.model.ItemMutation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeFeedTest {
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private ItemDAO open(String retention) {
+        pool = new ConnectionPool(DatabaseConfig.forUrl("jdbc:sqlite:" + tempDir.resolve("changes.db"))
+                .with("changes.retention", retention)
+                .with("changes.pollMs", "50"));
+        return new ItemDAO(pool);
+    }
+
+    @Test
+    void testSubscriberReceivesCommittedChangesInOrder() throws InterruptedException {
+        ItemDAO itemDAO = open("1000");
+        ChangeFeed feed = itemDAO.getChangeFeed();
+        BlockingQueue<ItemChange> received = new LinkedBlockingQueue<>();
+        ChangeFeed.Subscription subscription = feed.subscribe(received::addAll);
+
+        Item item = new Item("Feed Item", "Первая версия");
+        itemDAO.create(item);
+        item.setName("Feed Item v2");
+        itemDAO.update(item);
+        itemDAO.delete(item.getId());
+
+        List<ItemChange> changes = take(received, 3);
+        assertEquals(List.of(ItemMutation.Type.CREATE, ItemMutation.Type.UPDATE, ItemMutation.Type.DELETE),
+                changes.stream().map(ItemChange::type).toList(), "Изменения должны прийти в порядке коммитов");
+        assertEquals("Feed Item v2", changes.get(1).item().getName());
+        assertNull(changes.get(2).item(), "Удаление не несет данных товара");
+        assertEquals(item.getId(), changes.get(2).id());
+        assertNull(changes.get(0).previous(), "Создание не имеет прежнего ключа");
+        assertEquals("Feed Item", changes.get(1).previous().name(), "Изменение несет прежнее название");
+        assertEquals("Feed Item v2", changes.get(2).previous().name(), "Удаление несет ключ удаленной строки");
+        assertEquals(item.getCreatedAt(), changes.get(2).previous().createdAt());
+        assertTrue(changes.get(0).sequence() < changes.get(1).sequence()
+                && changes.get(1).sequence() < changes.get(2).sequence(), "Номера изменений должны расти");
+        assertEquals(changes.get(2).sequence(), feed.getLastSequence());
+        assertEquals(feed.getLastSequence(), itemDAO.getLastSequence(), "DAO читает тот же номер без журнала");
+        assertEquals(feed.getLastSequence(), waitForPosition(subscription, feed.getLastSequence()));
+        subscription.close();
+    }
+
+    @Test
+    void testSubscriptionResumesFromSequence() throws InterruptedException {
+        ItemDAO itemDAO = open("1000");
+        ChangeFeed feed = itemDAO.getChangeFeed();
+        itemDAO.create(new Item("Before Resume", ""));
+        long position = feed.getLastSequence();
+        itemDAO.create(new Item("After Resume 1", ""));
+        itemDAO.create(new Item("After Resume 2", ""));
+
+        // Подписка после перезапуска получает только пропущенные изменения
+        BlockingQueue<ItemChange> received = new LinkedBlockingQueue<>();
+        try (ChangeFeed.Subscription subscription = feed.subscribe(position, received::addAll)) {
+            List<ItemChange> changes = take(received, 2);
+            assertEquals("After Resume 1", changes.get(0).item().getName());
+            assertEquals("After Resume 2", changes.get(1).item().getName());
+            assertEquals(position + 1, changes.get(0).sequence());
+        }
+        assertEquals(2, feed.readSince(position, 10).size());
+    }
+
+    @Test
+    void testLaggingSubscriberIsResetAfterPruning() throws InterruptedException {
+        ItemDAO itemDAO = open("5");
+        ChangeFeed feed = itemDAO.getChangeFeed();
+        for (int i = 0; i < 20; i++) {
+            itemDAO.create(new Item("Pruned Item " + i, ""));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!isPruned(feed) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThrows(IllegalStateException.class, () -> feed.readSince(0, 10),
+                "Старые изменения должны быть удалены из журнала");
+
+        BlockingQueue<Long> resets = new LinkedBlockingQueue<>();
+        BlockingQueue<ItemChange> received = new LinkedBlockingQueue<>();
+        try (ChangeFeed.Subscription subscription = feed.subscribe(0, new ChangeListener() {
+            @Override
+            public void onChanges(List<ItemChange> changes) {
+                received.addAll(changes);
+            }
+
+            @Override
+            public void onReset(long sequence) {
+                resets.add(sequence);
+            }
+        })) {
+            Long reset = resets.poll(5, TimeUnit.SECONDS);
+            assertNotNull(reset, "Отставший подписчик должен получить сброс");
+            assertEquals(reset + 1, take(received, 1).get(0).sequence(),
+                    "После сброса изменения продолжаются с первого сохраненного");
+        }
+    }
+
+    private static boolean isPruned(ChangeFeed feed) {
+        try {
+            feed.readSince(0, 1);
+            return false;
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+
+    private static long waitForPosition(ChangeFeed.Subscription subscription, long sequence)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subscription.getPosition() < sequence && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return subscription.getPosition();
+    }
+
+    private static List<ItemChange> take(BlockingQueue<ItemChange> queue, int count) throws InterruptedException {
+        List<ItemChange> changes = new ArrayList<>();
+        while (changes.size() < count) {
+            ItemChange change = queue.poll(5, TimeUnit.SECONDS);
+            assertNotNull(change, "Ожидалось изменение №" + (changes.size() + 1));
+            changes.add(change);
+        }
+        return changes;
+    }
+}
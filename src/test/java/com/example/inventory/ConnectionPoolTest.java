@@ -0,0 +1,118 @@
+package com.example.inventory;
+
+import com.example.inventory.db.ConnectionPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("pool.db"), 2, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testReaderIsReused() throws SQLException {
+        Connection first = pool.acquireReader();
+        Connection physical = first.unwrap(Connection.class);
+        first.close();
+
+        assertTrue(first.isClosed(), "Возвращенное соединение должно считаться закрытым");
+        try (Connection second = pool.acquireReader()) {
+            assertSame(physical, second.unwrap(Connection.class), "Соединение должно переиспользоваться");
+        }
+    }
+
+    @Test
+    void testWriterIsExclusive() throws SQLException {
+        try (Connection writer = pool.acquireWriter()) {
+            assertThrows(SQLException.class, pool::acquireWriter, "Второй писатель должен ждать");
+        }
+        try (Connection writer = pool.acquireWriter()) {
+            assertFalse(writer.isClosed());
+        }
+    }
+
+    @Test
+    void testReaderIsQueryOnly() throws SQLException {
+        try (Connection writer = pool.acquireWriter();
+             Statement stmt = writer.createStatement()) {
+            stmt.execute("CREATE TABLE t(x INTEGER)");
+        }
+        try (Connection reader = pool.acquireReader();
+             Statement stmt = reader.createStatement()) {
+            assertThrows(SQLException.class, () -> stmt.execute("INSERT INTO t VALUES (1)"));
+        }
+    }
+
+    @Test
+    void testUncommittedTransactionIsRolledBack() throws SQLException {
+        try (Connection writer = pool.acquireWriter();
+             Statement stmt = writer.createStatement()) {
+            stmt.execute("CREATE TABLE t(x INTEGER)");
+        }
+        try (Connection writer = pool.acquireWriter();
+             Statement stmt = writer.createStatement()) {
+            writer.setAutoCommit(false);
+            stmt.execute("INSERT INTO t VALUES (1)");
+        }
+        try (Connection writer = pool.acquireWriter();
+             Statement stmt = writer.createStatement()) {
+            assertTrue(writer.getAutoCommit(), "Автокоммит должен быть восстановлен");
+            assertFalse(stmt.executeQuery("SELECT x FROM t").next(), "Вставка должна быть отменена");
+        }
+    }
+
+    @Test
+    void testReaderNotBlockedByWriterInWal() throws SQLException {
+        try (Connection writer = pool.acquireWriter();
+             Statement stmt = writer.createStatement()) {
+            stmt.execute("CREATE TABLE t(x INTEGER)");
+            stmt.execute("INSERT INTO t VALUES (1)");
+        }
+        try (Connection writer = pool.acquireWriter();
+             Statement write = writer.createStatement()) {
+            writer.setAutoCommit(false);
+            write.execute("INSERT INTO t VALUES (2)");
+
+            try (Connection reader = pool.acquireReader();
+                 Statement read = reader.createStatement();
+                 ResultSet rs = read.executeQuery("SELECT COUNT(*) FROM t")) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1), "Читатель видит последнее зафиксированное состояние");
+            }
+            writer.commit();
+        }
+        try (Connection reader = pool.acquireReader();
+             Statement stmt = reader.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA journal_mode")) {
+            assertTrue(rs.next());
+            assertEquals("wal", rs.getString(1));
+        }
+    }
+
+    @Test
+    void testClosedPoolRejectsRequests() {
+        pool.close();
+        assertThrows(SQLException.class, pool::acquireReader);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.inventory;
+
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.db.DatabaseConfig;
+import com.example.inventory.model.ItemDAO;
+import com.example.inventory.server.InventoryServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryServerTest {
+    private static final Pattern ID = Pattern.compile("\"id\":\"([0-9a-f-]{36})\"");
+    private static final Pattern NEXT = Pattern.compile("\"next\":\"([^\"]+)\"");
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private InventoryServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Порт 0 — любой свободный
+        pool = new ConnectionPool(DatabaseConfig.forUrl("jdbc:sqlite:" + tempDir.resolve("server.db"))
+                .with("server.port", "0"));
+        server = new InventoryServer(new ItemDAO(pool));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        pool.close();
+    }
+
+    @Test
+    void testCrudWithConditionalRequests() throws IOException {
+        Response created = request("POST", "/items", Map.of(), "{\"name\":\"Болт М8\",\"description\":\"оцинкованный\"}");
+        assertEquals(201, created.status);
+        String id = find(ID, created.body);
+        assertEquals("/items/" + id, created.headers.get("Location"));
+
+        Response read = request("GET", "/items/" + id, Map.of(), null);
+        assertEquals(200, read.status);
+        assertTrue(read.body.contains("\"name\":\"Болт М8\""));
+        String etag = read.headers.get("ETag");
+        assertNotNull(etag);
+        assertEquals(304, request("GET", "/items/" + id, Map.of("If-None-Match", etag), null).status,
+                "Неизмененный товар не пересылается");
+
+        Response updated = request("PUT", "/items/" + id, Map.of("If-Match", etag), "{\"name\":\"Болт М10\"}");
+        assertEquals(200, updated.status);
+        assertNotEquals(etag, updated.headers.get("ETag"), "Изменение меняет ETag");
+        assertEquals(412, request("PUT", "/items/" + id, Map.of("If-Match", etag), "{\"name\":\"Болт М12\"}").status,
+                "Правка по устаревшей версии отклоняется");
+        assertEquals(200, request("GET", "/items/" + id, Map.of("If-None-Match", etag), null).status);
+
+        assertEquals(400, request("POST", "/items", Map.of(), "{\"name\":\"ab\"}").status);
+        assertEquals(409, request("POST", "/items", Map.of(), "{\"id\":\"" + id + "\",\"name\":\"Болт М14\"}").status,
+                "Занятый идентификатор не создается заново");
+        assertEquals(204, request("DELETE", "/items/" + id, Map.of(), null).status);
+        assertEquals(404, request("GET", "/items/" + id, Map.of(), null).status);
+    }
+
+    @Test
+    void testBatchAndPaging() throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 250; i++) {
+            ndjson.append("{\"name\":\"Товар ").append(i).append("\"}\n");
+        }
+        ndjson.append("{\"name\":\"x\"}\n");
+        Response batch = request("POST", "/items/batch", Map.of(), ndjson.toString());
+        assertEquals(200, batch.status);
+        assertTrue(batch.body.startsWith("{\"total\":251,\"succeeded\":250,\"failures\":[{\"index\":250"), batch.body);
+
+        Set<String> seen = new HashSet<>();
+        String after = null;
+        int pages = 0;
+        do {
+            Response page = request("GET", "/items?limit=100" + (after == null ? "" : "&after=" + after), Map.of(), null);
+            assertEquals(200, page.status);
+            Matcher ids = ID.matcher(page.body);
+            while (ids.find()) {
+                assertTrue(seen.add(ids.group(1)), "Страницы не пересекаются");
+            }
+            after = page.body.contains("\"next\":null") ? null : find(NEXT, page.body);
+            pages++;
+        } while (after != null);
+        assertEquals(250, seen.size());
+        assertEquals(3, pages);
+
+        Response first = request("GET", "/items?limit=100", Map.of(), null);
+        assertEquals(304, request("GET", "/items?limit=100", Map.of("If-None-Match", first.headers.get("ETag")), null).status);
+        assertEquals(250, request("GET", "/items/stream", Map.of(), null).body.lines().count());
+        assertEquals(400, request("GET", "/items?sort=RANDOM", Map.of(), null).status);
+    }
+
+    private record Response(int status, Map<String, String> headers, String body) {
+    }
+
+    private Response request(String method, String path, Map<String, String> headers, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+        connection.setRequestMethod(method);
+        headers.forEach(connection::setRequestProperty);
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        String text = in == null ? "" : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        Map<String, String> responseHeaders = Map.of(
+                "ETag", String.valueOf(connection.getHeaderField("ETag")),
+                "Location", String.valueOf(connection.getHeaderField("Location")));
+        connection.disconnect();
+        return new Response(status, responseHeaders, text);
+    }
+
+    private static String find(Pattern pattern, String text) {
+        Matcher matcher = pattern.matcher(text);
+        assertTrue(matcher.find(), text);
+        return matcher.group(1);
+    }
+}
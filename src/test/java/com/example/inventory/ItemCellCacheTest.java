@@ -0,0 +1,42 @@
+package com.example.inventory;
+
+import com.example.inventory.model.Item;
+import com.example.inventory.view.ItemCellCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemCellCacheTest {
+
+    @Test
+    void testCellValuesAreCreatedOncePerRow() {
+        ItemCellCache cache = new ItemCellCache(16);
+        LocalDateTime created = LocalDateTime.of(2024, 3, 5, 9, 7, 30);
+        Item item = new Item(UUID.randomUUID(), "Болт", null, created, created);
+
+        assertEquals(item.getId().toString(), cache.id(item).getValue());
+        assertEquals("Болт", cache.name(item).getValue());
+        assertNull(cache.description(item).getValue(), "Пустое описание должно остаться пустым");
+        assertEquals(created, cache.createdAt(item).getValue(), "Колонка даты сортируется по самой дате");
+        assertEquals("05.03.2024 09:07", cache.createdAtText(item));
+
+        assertSame(cache.id(item), cache.id(item), "Повторная перерисовка не должна создавать новое значение");
+        assertSame(cache.createdAtText(item), cache.createdAtText(item));
+        assertNull(cache.name(null), "Строка еще не загруженной страницы пуста");
+    }
+
+    @Test
+    void testReplacedItemGetsFreshValues() {
+        ItemCellCache cache = new ItemCellCache(1);
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Item first = new Item(UUID.randomUUID(), "Первый", "", created, created);
+        Item second = new Item(first.getId(), "Второй", "", created, created);
+
+        assertEquals("Первый", cache.name(first).getValue());
+        assertEquals("Второй", cache.name(second).getValue(), "Измененный товар приходит новым объектом");
+        assertEquals("Первый", cache.name(first).getValue(), "Значения разных объектов не должны смешиваться");
+    }
+}
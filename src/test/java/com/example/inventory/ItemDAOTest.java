@@ -1,10 +1,29 @@
 package com.example.inventory;
 
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.db.SchemaMigrator;
+import com.example.inventory.model.BatchResult;
 import com.example.inventory.model.Item;
 import com.example.inventory.model.ItemDAO;
+import com.example.inventory.model.ItemPage;
+import com.example.inventory.model.ItemSort;
+import com.example.inventory.model.SearchHit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,6 +55,25 @@ class ItemDAOTest {
         assertEquals(testItem.getName(), items.get(0).getName(), "Имена должны совпадать");
     }
 
+    @Test
+    void testDatesSurviveRoundTripAcrossOffsetChanges() {
+        // Зимние и летние даты разных лет: смещение пояса при чтении меняется
+        List<Item> items = new ArrayList<>();
+        for (int year = 1995; year <= 2035; year += 8) {
+            for (int month : new int[]{1, 3, 7, 10}) {
+                LocalDateTime time = LocalDateTime.of(year, month, 28, 12, 30, 15, 123_000_000);
+                items.add(new Item(UUID.randomUUID(), "Dated " + year + "-" + month, null, time, time.plusHours(1)));
+            }
+        }
+        itemDAO.createAll(items);
+
+        for (Item expected : items) {
+            Item actual = itemDAO.getById(expected.getId());
+            assertEquals(expected.getCreatedAt(), actual.getCreatedAt(), "Дата создания должна сохраниться");
+            assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt(), "Дата изменения должна сохраниться");
+        }
+    }
+
     @Test
     void testUpdate() {
         itemDAO.create(testItem);
@@ -67,4 +105,281 @@ class ItemDAOTest {
         assertNotNull(found, "Элемент должен быть найден");
         assertEquals(testItem.getId(), found.getId(), "ID должны совпадать");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateAllSkipsInvalidRows() {
+        List<Item> batch = List.of(
+                new Item("Batch Item 1", "Первый"),
+                new Item("X", "Слишком короткое имя"),
+                new Item("Batch Item 2", "Второй"));
+
+        BatchResult result = itemDAO.createAll(batch);
+
+        assertEquals(2, result.getSucceeded(), "Два товара должны быть созданы");
+        assertEquals(1, result.getFailures().size(), "Один товар должен быть отклонен");
+        assertEquals(1, result.getFailures().get(0).index(), "Отклонена вторая строка");
+        assertEquals(2, itemDAO.readAll().size());
+    }
+
+    @Test
+    void testCreateAllReportsDuplicateWithoutAbortingBatch() {
+        itemDAO.create(testItem);
+        Item duplicate = new Item("Duplicate Item", "Тот же ID");
+        duplicate.setId(testItem.getId());
+
+        BatchResult result = itemDAO.createAll(List.of(new Item("Fresh Item", ""), duplicate));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(testItem.getId(), result.getFailures().get(0).id());
+        assertEquals(2, itemDAO.readAll().size());
+    }
+
+    @Test
+    void testUpdateAllAndDeleteAll() {
+        Item first = new Item("First Item", "");
+        Item second = new Item("Second Item", "");
+        itemDAO.createAll(List.of(first, second));
+
+        first.setName("First Updated");
+        Item missing = new Item("Missing Item", "");
+        missing.setId(UUID.randomUUID());
+        BatchResult updated = itemDAO.updateAll(List.of(first, missing));
+
+        assertEquals(1, updated.getSucceeded());
+        assertEquals("Товар не найден", updated.getFailures().get(0).reason());
+        assertEquals("First Updated", itemDAO.getById(first.getId()).getName());
+
+        BatchResult deleted = itemDAO.deleteAll(List.of(first.getId(), second.getId()));
+        assertEquals(2, deleted.getSucceeded());
+        assertTrue(itemDAO.readAll().isEmpty());
+    }
+
+    @Test
+    void testReadPageWalksWholeTableInOrder() {
+        List<Item> batch = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            batch.add(new Item(String.format("Paged Item %02d", 24 - i), ""));
+        }
+        itemDAO.createAll(batch);
+
+        List<String> names = new ArrayList<>();
+        ItemPage page = itemDAO.readPage(null, 10, ItemSort.NAME_ASC);
+        int pages = 1;
+        names.addAll(page.items().stream().map(Item::getName).collect(Collectors.toList()));
+        while (page.hasMore()) {
+            page = itemDAO.readPage(page.nextKey(), 10, ItemSort.NAME_ASC);
+            names.addAll(page.items().stream().map(Item::getName).collect(Collectors.toList()));
+            pages++;
+        }
+
+        assertEquals(3, pages, "25 товаров должны уместиться в 3 страницы");
+        assertEquals(25, names.size());
+        assertEquals("Paged Item 00", names.get(0));
+        assertEquals("Paged Item 24", names.get(24));
+    }
+
+    @Test
+    void testStreamMatchesSortComparator() {
+        itemDAO.createAll(List.of(new Item("Bravo", ""), new Item("Alpha", ""), new Item("Charlie", "")));
+
+        List<Item> expected = itemDAO.readAll();
+        expected.sort(ItemSort.NAME_DESC.comparator());
+
+        try (Stream<Item> stream = itemDAO.stream(ItemSort.NAME_DESC)) {
+            assertEquals(expected, stream.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testCountBeforeMatchesSortPosition() {
+        itemDAO.createAll(List.of(new Item("Alpha", ""), new Item("Charlie", ""), new Item("Echo", "")));
+
+        Item delta = new Item("Delta", "");
+        delta.setId(UUID.randomUUID());
+
+        assertEquals(2, itemDAO.countBefore(delta, ItemSort.NAME_ASC));
+        assertEquals(1, itemDAO.countBefore(delta, ItemSort.NAME_DESC));
+    }
+
+    @Test
+    void testMutationsReportWhetherRowChanged() {
+        assertTrue(itemDAO.create(testItem));
+        assertFalse(itemDAO.create(testItem), "Товар с занятым ID не создается");
+        assertTrue(itemDAO.update(testItem));
+        assertTrue(itemDAO.delete(testItem.getId()));
+        assertFalse(itemDAO.delete(testItem.getId()), "Повторное удаление ничего не меняет");
+        assertFalse(itemDAO.update(testItem), "Удаленный товар нельзя обновить");
+    }
+
+    @Test
+    void testDatabaseErrorIsNotReportedAsMissingRow(@TempDir Path tempDir) {
+        ConnectionPool pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("closed.db"), 1, 1000);
+        ItemDAO closedDAO = new ItemDAO(pool);
+        assertTrue(closedDAO.create(testItem));
+        pool.close();
+
+        assertThrows(IllegalStateException.class, () -> closedDAO.create(new Item("Another Item", "")),
+                "Ошибка базы не должна выглядеть как занятый ID");
+        assertThrows(IllegalStateException.class, () -> closedDAO.update(testItem),
+                "Ошибка базы не должна выглядеть как удаленный товар");
+        assertThrows(IllegalStateException.class, () -> closedDAO.delete(testItem.getId()),
+                "Ошибка базы не должна выглядеть как удаленный товар");
+    }
+
+    @Test
+    void testFullTextSearchUsesPrefixesAndRanking() {
+        itemDAO.createAll(List.of(
+                new Item("Болт М8", "Крепеж для дерева"),
+                new Item("Гайка М8", "Подходит к болту М8"),
+                new Item("Шайба", "Плоская")));
+
+        List<SearchHit> hits = itemDAO.search("бол", 10);
+
+        assertEquals(2, hits.size(), "Префикс должен найти болт и гайку с болтом в описании");
+        assertEquals("Болт М8", hits.get(0).item().getName(), "Совпадение в названии важнее");
+        assertEquals("[Болт] М8", hits.get(0).highlightedName());
+        assertTrue(itemDAO.search("\"OR*", 10).isEmpty(), "Синтаксис FTS5 в запросе не интерпретируется");
+    }
+
+    @Test
+    void testSearchIndexFollowsUpdatesAndDeletes() {
+        itemDAO.create(testItem);
+        testItem.setName("Renamed Widget");
+        itemDAO.update(testItem);
+
+        assertTrue(itemDAO.search("JUnit", 10).isEmpty());
+        assertEquals(1, itemDAO.search("widget", 10).size());
+
+        itemDAO.delete(testItem.getId());
+        assertTrue(itemDAO.search("widget", 10).isEmpty());
+    }
+
+    @Test
+    void testNameSortIgnoresCase() {
+        itemDAO.createAll(List.of(
+                new Item("banana", "b"),
+                new Item("Apple", "a"),
+                new Item("cherry", "c")));
+
+        List<String> names = itemDAO.readPage(null, 10, ItemSort.NAME_ASC).items().stream()
+                .map(Item::getName)
+                .collect(Collectors.toList());
+        assertEquals(List.of("Apple", "banana", "cherry"), names, "Регистр не должен влиять на порядок");
+    }
+
+    @Test
+    void testEverySortUsesIndex() throws SQLException {
+        try (Connection conn = ConnectionPool.getDefault().acquireReader()) {
+            assertEquals(ItemDAO.getSchemaVersion(), SchemaMigrator.currentVersion(conn), "Схема должна быть обновлена до последней версии");
+
+            for (ItemSort sort : ItemSort.values()) {
+                String plan = explain(conn, "SELECT * FROM items WHERE " + sort.getSeekCondition() +
+                        " ORDER BY " + sort.getOrderBy() + " LIMIT 10");
+                assertFalse(plan.contains("TEMP B-TREE"), sort + " не должна сортировать таблицу: " + plan);
+                assertTrue(plan.contains("USING INDEX"), sort + " должна читать индекс: " + plan);
+            }
+        }
+    }
+
+    private static String explain(Connection conn, String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            pstmt.setString(1, "x");
+            pstmt.setString(2, "y");
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString("detail")).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+
+    @Test
+    void testLegacyDatabaseIsMigrated(@TempDir Path tempDir) throws SQLException {
+        ConnectionPool pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("legacy.db"), 1, 1000);
+        UUID id = UUID.randomUUID();
+        try {
+            // Схема и формат данных первых версий приложения
+            try (Connection conn = pool.acquireWriter();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE items (id TEXT PRIMARY KEY, name TEXT NOT NULL, " +
+                        "description TEXT, createdAt TEXT NOT NULL, updatedAt TEXT NOT NULL)");
+                stmt.execute("INSERT INTO items VALUES ('" + id + "', 'Legacy Bolt', 'Старый товар', " +
+                        "'2024-03-01T10:15:30.123', '2024-03-02T08:00:00')");
+            }
+
+            ItemDAO migrated = new ItemDAO(pool);
+            Item item = migrated.getById(id);
+
+            assertNotNull(item, "Товар должен сохраниться после миграции");
+            assertEquals("Legacy Bolt", item.getName());
+            assertEquals(LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_000_000), item.getCreatedAt());
+            assertEquals(1, migrated.search("legacy", 10).size(), "Полнотекстовый индекс должен работать");
+
+            try (Connection conn = pool.acquireReader();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT typeof(id), length(id), typeof(createdAt) FROM items")) {
+                assertTrue(rs.next());
+                assertEquals("blob", rs.getString(1));
+                assertEquals(16, rs.getInt(2));
+                assertEquals("integer", rs.getString(3));
+                assertEquals(ItemDAO.getSchemaVersion(), SchemaMigrator.currentVersion(conn));
+            }
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    void testLegacyRowWithBadDateStopsMigration(@TempDir Path tempDir) throws SQLException {
+        ConnectionPool pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("legacy-bad.db"), 1, 1000);
+        UUID id = UUID.randomUUID();
+        try {
+            try (Connection conn = pool.acquireWriter();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE items (id TEXT PRIMARY KEY, name TEXT NOT NULL, " +
+                        "description TEXT, createdAt TEXT NOT NULL, updatedAt TEXT NOT NULL)");
+                stmt.execute("INSERT INTO items VALUES ('" + UUID.randomUUID() + "', 'Good Row', NULL, " +
+                        "'2024-03-01T10:15:30', '2024-03-01T10:15:30')");
+                stmt.execute("INSERT INTO items VALUES ('" + id + "', 'Bad Row', NULL, " +
+                        "'01.03.2024 10:15', '2024-03-01T10:15:30')");
+            }
+
+            IllegalStateException error = assertThrows(IllegalStateException.class, () -> new ItemDAO(pool),
+                    "Старая схема не должна использоваться с запросами новой");
+            assertTrue(error.getMessage().contains("01.03.2024 10:15"), "Ошибка должна называть значение: " +
+                    error.getMessage());
+
+            try (Connection conn = pool.acquireWriter();
+                 Statement stmt = conn.createStatement()) {
+                assertEquals(2, SchemaMigrator.currentVersion(conn), "Неудачная миграция не меняет версию");
+                try (ResultSet rs = stmt.executeQuery(
+                        "SELECT count(*) FROM sqlite_master WHERE name = 'items_compact'")) {
+                    assertTrue(rs.next());
+                    assertEquals(0, rs.getInt(1), "Промежуточная таблица не должна остаться");
+                }
+                stmt.execute("UPDATE items SET createdAt = '2024-03-01T10:15:00' WHERE id = '" + id + "'");
+            }
+
+            // После исправления строки миграция повторяется на том же пуле
+            ItemDAO migrated = new ItemDAO(pool);
+            assertEquals(2, migrated.count());
+            assertEquals(LocalDateTime.of(2024, 3, 1, 10, 15), migrated.getById(id).getCreatedAt());
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    void testNewIdsAreTimeOrdered() {
+        Item first = new Item("First Item", "");
+        Item second = new Item("Second Item", "");
+        itemDAO.create(first);
+        itemDAO.create(second);
+
+        assertEquals(7, first.getId().version(), "Новые идентификаторы должны быть UUIDv7");
+        assertTrue(Long.compareUnsigned(first.getId().getMostSignificantBits(),
+                second.getId().getMostSignificantBits()) < 0, "Идентификаторы должны возрастать");
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.inventory;
+
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.db.DatabaseConfig;
+import com.example.inventory.io.ColumnarItemReader;
+import com.example.inventory.io.ExportResult;
+import com.example.inventory.io.ItemExporter;
+import com.example.inventory.io.ItemImporter;
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemDAO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemExporterTest {
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private ItemDAO itemDAO;
+    private ItemExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        // Маленькие группы, чтобы колоночный файл состоял из нескольких групп
+        pool = openPool("export.db");
+        itemDAO = new ItemDAO(pool);
+        exporter = new ItemExporter(itemDAO);
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            items.add(new Item("Товар " + i, i % 3 == 0 ? null : "Описание, \"кавычки\"\nи строка " + i));
+        }
+        itemDAO.createAll(items);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    private ConnectionPool openPool(String name) {
+        return new ConnectionPool(DatabaseConfig.forUrl("jdbc:sqlite:" + tempDir.resolve(name))
+                .with("export.rowGroupSize", "1000"));
+    }
+
+    @Test
+    void testColumnarRoundTrip() throws Exception {
+        for (String name : List.of("items.icol", "items.icol.gz")) {
+            Path file = tempDir.resolve(name);
+            ExportResult result = exporter.export(file, progress -> { }, () -> false);
+            assertEquals(10_000, result.rows());
+            assertEquals(Files.size(file), result.bytes());
+
+            List<Item> read = new ArrayList<>();
+            assertEquals(10_000, ColumnarItemReader.forEach(file, read::add));
+            assertSameItems(itemDAO.readAll(), read);
+        }
+    }
+
+    @Test
+    void testCsvExportCanBeImported() throws Exception {
+        Path file = tempDir.resolve("items.csv.gz");
+        exporter.export(file, progress -> { }, () -> false);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            assertEquals("id,name,description,createdAt,updatedAt", reader.readLine());
+        }
+
+        Path plain = tempDir.resolve("items.csv");
+        exporter.export(plain, progress -> { }, () -> false);
+        try (ConnectionPool target = openPool("target.db")) {
+            ItemDAO targetDAO = new ItemDAO(target);
+            new ItemImporter(targetDAO).importFile(plain, ItemImporter.defaultErrorFile(plain),
+                    progress -> { }, () -> false);
+            assertEquals(10_000, targetDAO.count(), "Экспортированный CSV читается импортом");
+            assertTrue(targetDAO.readAll().stream()
+                    .anyMatch(item -> "Описание, \"кавычки\"\nи строка 1".equals(item.getDescription())));
+        }
+    }
+
+    @Test
+    void testNdjsonHasLinePerItem() throws Exception {
+        Path file = tempDir.resolve("items.ndjson");
+        exporter.export(file, progress -> { }, () -> false);
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(10_000, lines.size());
+        assertTrue(lines.stream().anyMatch(line -> line.contains("\"description\":\"Описание, \\\"кавычки\\\"\\nи строка 1\"")),
+                "Спецсимволы экранируются");
+        assertTrue(lines.get(0).contains("\"description\":null"));
+    }
+
+    @Test
+    void testCancelledExportLeavesExistingFile() throws Exception {
+        Path file = tempDir.resolve("items.csv");
+        Files.writeString(file, "старый файл");
+
+        ExportResult result = exporter.export(file, progress -> { }, () -> true);
+
+        assertTrue(result.cancelled());
+        assertEquals("старый файл", Files.readString(file), "Остановленный экспорт не меняет файл");
+        try (var files = Files.list(tempDir)) {
+            assertTrue(files.noneMatch(path -> path.toString().endsWith(".tmp")), "Временный файл удален");
+        }
+    }
+
+    private static void assertSameItems(List<Item> expected, List<Item> actual) {
+        Comparator<Item> byId = Comparator.comparing(Item::getId);
+        expected.sort(byId);
+        actual.sort(byId);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Item e = expected.get(i);
+            Item a = actual.get(i);
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getDescription(), a.getDescription());
+            assertEquals(e.getCreatedAt(), a.getCreatedAt());
+            assertEquals(e.getUpdatedAt(), a.getUpdatedAt());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.inventory;
+
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.db.DatabaseConfig;
+import com.example.inventory.io.ImportProgress;
+import com.example.inventory.io.ImportResult;
+import com.example.inventory.io.ItemImporter;
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemDAO;
+import com.example.inventory.model.ItemSort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemImporterTest {
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private ItemDAO itemDAO;
+    private ItemImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        // Маленькие порции и несколько потоков, чтобы проверить порядок и обратное давление
+        pool = new ConnectionPool(DatabaseConfig.forUrl("jdbc:sqlite:" + tempDir.resolve("import.db"))
+                .with("import.chunkSize", "100")
+                .with("import.threads", "3"));
+        itemDAO = new ItemDAO(pool);
+        importer = new ItemImporter(itemDAO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testCsvWithQuotesAndRejectedRows() throws Exception {
+        Path csv = tempDir.resolve("items.csv");
+        Files.writeString(csv, "\uFEFFНазвание;Описание\r\n" +
+                "Болт М8;\"Оцинкованный; 100 шт\"\r\n" +
+                "\"Гайка \"\"М8\"\"\";\"Первая строка\nвторая строка\"\r\n" +
+                "Ш;слишком короткое название\r\n" +
+                "\r\n" +
+                "Шайба;\r\n", StandardCharsets.UTF_8);
+        Path errors = ItemImporter.defaultErrorFile(csv);
+
+        ImportResult result = importer.importFile(csv, errors, progress -> { }, () -> false);
+
+        assertEquals(4, result.records(), "Пустые строки не считаются записями");
+        assertEquals(3, result.imported());
+        assertEquals(1, result.rejected());
+        List<Item> items = itemDAO.readAll();
+        assertEquals(List.of("Болт М8", "Гайка \"М8\"", "Шайба"),
+                items.stream().map(Item::getName).sorted().collect(Collectors.toList()));
+        assertTrue(items.stream().anyMatch(item -> "Первая строка\nвторая строка".equals(item.getDescription())),
+                "Перевод строки внутри кавычек остается в поле");
+
+        List<String> errorLines = Files.readAllLines(errors);
+        assertEquals(2, errorLines.size());
+        assertTrue(errorLines.get(1).startsWith("3,\"Название должно содержать от 3 до 50 символов\""),
+                errorLines.get(1));
+    }
+
+    @Test
+    void testJsonArrayAndNdjson() throws Exception {
+        Path array = tempDir.resolve("items.json");
+        Files.writeString(array, "[\n {\"name\": \"Болт \\u041c8\", \"description\": \"a,b}\", \"price\": 1.5},\n" +
+                " {\"name\": \"Винт\", \"tags\": [\"x\", {\"y\": 1}]},\n" +
+                " {\"name\": 42}\n]");
+        ImportResult arrayResult = importer.importFile(array, ItemImporter.defaultErrorFile(array),
+                progress -> { }, () -> false);
+        assertEquals(3, arrayResult.records());
+        assertEquals(2, arrayResult.imported(), "Название из двух символов отклонено");
+
+        Path ndjson = tempDir.resolve("items.ndjson");
+        Files.writeString(ndjson, "{\"name\":\"Гайка\"}\n{\"name\": \"Шайба\", broken}\n");
+        ImportResult ndjsonResult = importer.importFile(ndjson, ItemImporter.defaultErrorFile(ndjson),
+                progress -> { }, () -> false);
+        assertEquals(1, ndjsonResult.imported());
+        assertEquals(1, ndjsonResult.rejected(), "Некорректный объект отклоняется, импорт продолжается");
+
+        assertEquals(3, itemDAO.count());
+        assertNotNull(itemDAO.readPage(null, 10, ItemSort.NAME_ASC).items().stream()
+                .filter(item -> item.getName().equals("Болт М8") && item.getDescription().equals("a,b}"))
+                .findFirst().orElse(null), "Escape-последовательности и скобки в строках разбираются");
+    }
+
+    @Test
+    void testLargeFileInChunksWithProgress() throws Exception {
+        Path csv = tempDir.resolve("large.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(csv)) {
+            writer.write("name,description\n");
+            for (int i = 0; i < 5_000; i++) {
+                writer.write("Товар " + i + ",Описание " + i + "\n");
+            }
+        }
+        List<ImportProgress> updates = new CopyOnWriteArrayList<>();
+
+        ImportResult result = importer.importFile(csv, ItemImporter.defaultErrorFile(csv), updates::add, () -> false);
+
+        assertEquals(5_000, result.imported());
+        assertNull(result.errorFile(), "Без ошибок файл ошибок не создается");
+        assertEquals(5_000, itemDAO.count());
+        assertEquals(50, updates.size(), "Ход сообщается после каждой порции");
+        assertEquals(1.0, updates.get(updates.size() - 1).fraction(), 0.0001);
+        for (int i = 1; i < updates.size(); i++) {
+            assertTrue(updates.get(i).records() > updates.get(i - 1).records(), "Порции пишутся по порядку");
+        }
+    }
+
+    @Test
+    void testCancelStopsImport() throws Exception {
+        Path csv = tempDir.resolve("cancel.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(csv)) {
+            writer.write("name\n");
+            for (int i = 0; i < 5_000; i++) {
+                writer.write("Товар " + i + "\n");
+            }
+        }
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        ImportResult result = importer.importFile(csv, ItemImporter.defaultErrorFile(csv),
+                progress -> cancelled.set(true), cancelled::get);
+
+        assertTrue(result.cancelled());
+        assertTrue(result.imported() < 5_000, "После отмены новые порции не записываются");
+        assertEquals(result.imported(), itemDAO.count(), "Записанные порции остаются в базе");
+    }
+}
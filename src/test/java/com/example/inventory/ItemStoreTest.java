@@ -0,0 +1,107 @@
+package com.example.inventory;
+
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemSort;
+import com.example.inventory.search.SearchQuery;
+import com.example.inventory.store.ItemStore;
+import com.example.inventory.store.StringDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemStoreTest {
+    private static final String[] NAMES = {"Болт М8", "болт м8", "Гайка латунная", "Шайба", "Хомут", "Anchor"};
+    private static final String[] NOTES = {"Со склада поставщика", "Латунь, ГОСТ", null, "Под заказ"};
+
+    private static List<Item> generate(int count, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime start = LocalDateTime.of(2024, 3, 31, 1, 0);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime created = start.plusMinutes(random.nextInt(10_000)).plusNanos(random.nextInt(1000) * 1_000_000L);
+            items.add(new Item(UUID.randomUUID(), NAMES[random.nextInt(NAMES.length)],
+                    NOTES[random.nextInt(NOTES.length)], created, created.plusSeconds(random.nextInt(100))));
+        }
+        return items;
+    }
+
+    @Test
+    void testPutReplaceAndRemoveKeepRowsConsistent() {
+        List<Item> items = generate(1000, 1);
+        ItemStore store = ItemStore.of(items, new StringDictionary());
+        assertEquals(1000, store.size());
+        assertTrue(store.getDictionary().size() <= NAMES.length + NOTES.length,
+                "Одинаковые строки должны храниться в словаре один раз");
+
+        // Удаляем каждый третий товар: последние строки переезжают на места удаленных
+        List<Item> remaining = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (i % 3 == 0) {
+                assertTrue(store.remove(items.get(i).getId()));
+            } else {
+                remaining.add(items.get(i));
+            }
+        }
+        assertFalse(store.remove(items.get(0).getId()), "Повторное удаление ничего не находит");
+
+        Item changed = new Item(remaining.get(0));
+        changed.setName("Переименованный товар");
+        store.put(changed);
+        remaining.set(0, changed);
+
+        assertEquals(remaining.size(), store.size());
+        for (Item expected : remaining) {
+            Item actual = store.get(expected.getId());
+            assertNotNull(actual, "Товар должен находиться по идентификатору");
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+            assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+        }
+
+        store.clear();
+        assertEquals(0, store.getDictionary().size(), "После очистки словарь не должен держать строки");
+    }
+
+    @Test
+    void testSortedRowsMatchItemComparators() {
+        List<Item> unique = generate(2000, 4);
+        for (int i = 0; i < unique.size(); i++) {
+            unique.get(i).setName(unique.get(i).getName() + " №" + i);
+        }
+        // Повторяющиеся названия сортируются по рангам, уникальные — сравнением строк
+        for (ItemStore store : List.of(ItemStore.of(generate(2000, 2), new StringDictionary()),
+                ItemStore.of(unique, new StringDictionary()))) {
+            assertSortedLikeComparators(store);
+        }
+    }
+
+    private static void assertSortedLikeComparators(ItemStore store) {
+        for (ItemSort sort : ItemSort.values()) {
+            List<Item> expected = new ArrayList<>(store.toItems());
+            expected.sort(sort.comparator());
+            List<Item> actual = store.view(store.sortedRows(sort));
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getId(), actual.get(i).getId(),
+                        "Порядок строк должен совпадать с компаратором " + sort + " на позиции " + i);
+            }
+        }
+    }
+
+    @Test
+    void testFilterMatchesSearchQuery() {
+        ItemStore store = ItemStore.of(generate(2000, 3), new StringDictionary());
+        for (String text : new String[]{"", "болт", "м8", "лат", "гайка лат", "со пост", "нет такого"}) {
+            SearchQuery query = SearchQuery.parse(text);
+            List<UUID> expected = store.toItems().stream().filter(query::matches).map(Item::getId).toList();
+            List<UUID> actual = store.view(store.filter(query)).stream().map(Item::getId).toList();
+            assertEquals(expected, actual, "Фильтр хранилища должен совпадать с SearchQuery для «" + text + "»");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.inventory;
+
+import com.example.inventory.metrics.LatencyHistogram;
+import com.example.inventory.metrics.Metrics;
+import com.example.inventory.metrics.MetricsExporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @Test
+    void testPercentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new Random(7).longs(100_000, 1_000, 50_000_000).sorted().toArray();
+        for (long value : values) {
+            histogram.record(value);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(values.length, snapshot.count());
+        assertEquals(values[values.length - 1], snapshot.max());
+        assertWithinError(values[(int) Math.ceil(0.50 * values.length) - 1], snapshot.p50());
+        assertWithinError(values[(int) Math.ceil(0.99 * values.length) - 1], snapshot.p99());
+        assertWithinError(values[(int) Math.ceil(0.999 * values.length) - 1], snapshot.p999());
+    }
+
+    @Test
+    void testConcurrentRecordingLosesNothing() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        IntStream.range(0, 100_000).parallel().forEach(i -> histogram.record(i % 1000));
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100_000, snapshot.count(), "Все измерения учтены");
+        assertEquals(999, snapshot.max());
+        assertEquals(499.5, snapshot.mean(), 0.001);
+    }
+
+    @Test
+    void testExportFormats(@TempDir Path dir) throws Exception {
+        Metrics metrics = new Metrics();
+        metrics.timer("dao.getById").record(2_000_000);
+        metrics.counter("dao.rows.read").add(42);
+        metrics.gauge("cache.hitRate", () -> 0.5);
+        metrics.gauge("broken", () -> {
+            throw new IllegalStateException("закрыт");
+        });
+
+        Path prometheus = dir.resolve("metrics.prom");
+        MetricsExporter.write(metrics, prometheus);
+        String text = Files.readString(prometheus);
+        assertTrue(text.contains("# TYPE inventory_dao_get_by_id_seconds summary"), text);
+        assertTrue(text.contains("inventory_dao_get_by_id_seconds_count 1"), text);
+        assertTrue(text.contains("inventory_dao_rows_read_total 42"), text);
+        assertTrue(text.contains("inventory_cache_hit_rate 0.500000"), text);
+        assertTrue(text.contains("inventory_broken NaN"), "Ошибка показателя не прерывает выгрузку");
+
+        Path json = dir.resolve("metrics.json");
+        MetricsExporter.write(metrics, json);
+        String content = Files.readString(json);
+        assertTrue(content.contains("\"dao.getById\": {\"count\": 1"), content);
+        assertTrue(content.contains("\"dao.rows.read\": 42"), content);
+        assertTrue(content.contains("\"broken\": null"), content);
+        try (var files = Files.list(dir)) {
+            assertEquals(2, files.count(), "Временные файлы удалены");
+        }
+    }
+
+    private static void assertWithinError(long expected, long actual) {
+        assertEquals(expected, actual, expected / 64.0 + 1, "Перцентиль в пределах погрешности корзины");
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.inventory;
+
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.db.SchemaMigrator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigratorTest {
+
+    @Test
+    void testFailedStepIsRolledBack(@TempDir Path tempDir) throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator()
+                .add(1, "Таблица", conn -> {
+                    try (Statement stmt = conn.createStatement()) {
+                        stmt.execute("CREATE TABLE first (id INTEGER PRIMARY KEY)");
+                    }
+                })
+                .add(2, "Сбой посреди шага", conn -> {
+                    try (Statement stmt = conn.createStatement()) {
+                        stmt.execute("CREATE TABLE second (id INTEGER PRIMARY KEY)");
+                        stmt.execute("INSERT INTO first VALUES (1)");
+                    }
+                    throw new IllegalStateException("Сбой шага");
+                });
+
+        ConnectionPool pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("migrate.db"), 1, 1000);
+        try {
+            try (Connection conn = pool.acquireWriter()) {
+                SQLException error = assertThrows(SQLException.class, () -> migrator.migrate(conn),
+                        "Исключение шага должно прерывать миграцию");
+                assertInstanceOf(IllegalStateException.class, error.getCause());
+                assertTrue(conn.getAutoCommit(), "Автокоммит должен восстановиться");
+            }
+
+            try (Connection conn = pool.acquireReader();
+                 Statement stmt = conn.createStatement()) {
+                assertEquals(1, SchemaMigrator.currentVersion(conn), "Версия неудачного шага не записывается");
+                try (ResultSet rs = stmt.executeQuery("SELECT count(*) FROM sqlite_master WHERE name = 'second'")) {
+                    assertTrue(rs.next());
+                    assertEquals(0, rs.getInt(1), "Таблица неудачного шага не должна остаться");
+                }
+                try (ResultSet rs = stmt.executeQuery("SELECT count(*) FROM first")) {
+                    assertTrue(rs.next());
+                    assertEquals(0, rs.getInt(1), "Строки неудачного шага не должны остаться");
+                }
+            }
+        } finally {
+            pool.close();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.inventory;
+
+import com.example.inventory.model.Item;
+import com.example.inventory.search.SearchQuery;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchQueryTest {
+
+    @Test
+    void testMatchesSubstringOrWordPrefixes() {
+        Item item = new Item("Болт оцинкованный", "Размер М8");
+
+        assertTrue(SearchQuery.parse("ЦИНК").matches(item), "Подстрока внутри слова");
+        assertTrue(SearchQuery.parse("болт м8").matches(item), "Каждое слово запроса — начало слова товара");
+        assertFalse(SearchQuery.parse("болт м9").matches(item));
+        assertTrue(SearchQuery.parse("").matches(item), "Пустой запрос подходит всем");
+    }
+
+    @Test
+    void testWordsAreSplitOnPunctuation() {
+        Item item = new Item("Хомут «Норма»", "Сталь/латунь, (под заказ)\tпартия—12");
+
+        assertTrue(SearchQuery.parse("норм лат").matches(item), "Слово после кавычки и косой черты");
+        assertTrue(SearchQuery.parse("зак парт 12").matches(item), "Слова после скобки, табуляции и тире");
+        assertFalse(SearchQuery.parse("хомут ар").matches(item), "Середина слова не считается его началом");
+        assertEquals(0b101, SearchQuery.parse("сталь нет латунь").matchedTokens(item.getDescription()));
+    }
+
+    @Test
+    void testNarrows() {
+        SearchQuery bolt = SearchQuery.parse("бол");
+
+        assertTrue(SearchQuery.parse("болт").narrows(bolt), "Дописанный запрос уточняет предыдущий");
+        assertTrue(SearchQuery.parse("болт м").narrows(bolt));
+        assertTrue(SearchQuery.parse("бол").narrows(SearchQuery.EMPTY));
+        assertFalse(SearchQuery.parse("бо").narrows(bolt), "Стертый символ расширяет выборку");
+        assertFalse(SearchQuery.parse("кбол").narrows(bolt), "Слово с другим началом не уточняет префикс");
+    }
+}
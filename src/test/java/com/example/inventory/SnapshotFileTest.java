@@ -0,0 +1,124 @@
+package com.example.inventory;
+
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.db.DatabaseConfig;
+import com.example.inventory.io.SnapshotFile;
+import com.example.inventory.model.ChangeFeed;
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemDAO;
+import com.example.inventory.model.ItemSnapshot;
+import com.example.inventory.model.ItemSort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotFileTest {
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private ItemDAO open(String retention) {
+        pool = new ConnectionPool(DatabaseConfig.forUrl("jdbc:sqlite:" + tempDir.resolve("snapshot.db"))
+                .with("changes.retention", retention));
+        return new ItemDAO(pool);
+    }
+
+    @Test
+    void testSnapshotSurvivesRoundTrip() throws IOException {
+        ItemDAO itemDAO = open("1000");
+        List<Item> created = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            created.add(new Item("Снимок " + (char) ('А' + i), i % 3 == 0 ? null : "Описание №" + i));
+        }
+        itemDAO.createAll(created);
+
+        ItemSnapshot snapshot = itemDAO.readSnapshot(ItemSort.NAME_ASC, 20);
+        assertEquals(30, snapshot.totalCount(), "Снимок должен знать число всех товаров");
+        assertEquals(20, snapshot.items().size(), "В снимок попадают только первые строки");
+        assertEquals(itemDAO.getChangeFeed().getLastSequence(), snapshot.sequence());
+
+        Path file = SnapshotFile.forDatabase(pool.getConfig());
+        assertEquals(tempDir.resolve("snapshot.db.snapshot"), file);
+        SnapshotFile.write(file, snapshot);
+        ItemSnapshot restored = SnapshotFile.read(file);
+
+        assertEquals(snapshot.sort(), restored.sort());
+        assertEquals(snapshot.sequence(), restored.sequence());
+        assertEquals(snapshot.lastChangeId(), restored.lastChangeId());
+        assertEquals(snapshot.totalCount(), restored.totalCount());
+        List<Item> expected = itemDAO.readWindow(0, 20, ItemSort.NAME_ASC);
+        for (int i = 0; i < expected.size(); i++) {
+            Item original = expected.get(i);
+            Item copy = restored.items().get(i);
+            assertEquals(original.getId(), copy.getId(), "Порядок строк должен сохраниться");
+            assertEquals(original.getName(), copy.getName());
+            assertEquals(original.getDescription(), copy.getDescription(), "Пустое описание должно остаться пустым");
+            assertEquals(original.getCreatedAt(), copy.getCreatedAt());
+            assertEquals(original.getUpdatedAt(), copy.getUpdatedAt());
+        }
+    }
+
+    @Test
+    void testDamagedOrMissingSnapshotIsRejected() throws IOException {
+        ItemDAO itemDAO = open("1000");
+        itemDAO.create(new Item("Целый товар", "Описание"));
+        Path file = tempDir.resolve("damaged.snapshot");
+        assertNull(SnapshotFile.read(file), "Отсутствующий снимок не является ошибкой");
+
+        SnapshotFile.write(file, itemDAO.readSnapshot(ItemSort.NAME_ASC, 10));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            last.put(0, (byte) (last.get(0) ^ 1)).rewind();
+            channel.write(last, channel.size() - 1);
+        }
+        assertThrows(IOException.class, () -> SnapshotFile.read(file), "Поврежденный снимок должен отклоняться");
+    }
+
+    @Test
+    void testSnapshotIsValidOnlyWhileChangeLogCoversIt() throws InterruptedException {
+        ItemDAO itemDAO = open("2");
+        ChangeFeed feed = itemDAO.getChangeFeed();
+        assertFalse(feed.canResumeFrom(0, null), "Снимок базы без изменений проверить нечем");
+
+        Item item = new Item("Проверка снимка", "Первая версия");
+        itemDAO.create(item);
+        ItemSnapshot snapshot = itemDAO.readSnapshot(ItemSort.NAME_ASC, 10);
+        assertTrue(feed.canResumeFrom(snapshot.sequence(), snapshot.lastChangeId()),
+                "Свежий снимок должен подходить к базе");
+
+        itemDAO.create(new Item("Другой товар", null));
+        assertFalse(feed.canResumeFrom(snapshot.sequence() + 1, snapshot.lastChangeId()),
+                "Изменение с тем же номером, но другого товара — признак другой базы");
+
+        for (int i = 0; i < 5; i++) {
+            item.setName("Проверка снимка v" + i);
+            itemDAO.update(item);
+        }
+        // Журнал очищается потоком рассылки не чаще раза в секунду
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (feed.canResumeFrom(snapshot.sequence(), snapshot.lastChangeId()) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertFalse(feed.canResumeFrom(snapshot.sequence(), snapshot.lastChangeId()),
+                "Снимок, после которого журнал очищен, не подходит к базе");
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.inventory;
+
+import com.example.inventory.model.Item;
+import com.example.inventory.search.TrigramIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    @Test
+    void testSubstringSearchIgnoresCase() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(item("Болт М8", "Оцинкованный крепеж"));
+        index.put(item("Гайка М8", "Шестигранная"));
+        index.put(item("Шайба", "Под болт"));
+
+        assertEquals(List.of("Болт М8", "Шайба"), names(index.search("БОЛТ")));
+        assertEquals(List.of("Болт М8", "Гайка М8"), names(index.search("м8")));
+        assertEquals(List.of("Болт М8"), names(index.search("цинк")));
+        assertTrue(index.search("болт м9").isEmpty());
+        assertEquals(3, index.search("").size(), "Пустой запрос возвращает все товары");
+    }
+
+    @Test
+    void testMatchDoesNotSpanFields() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(item("Абв", "где"));
+
+        assertTrue(index.search("бвг").isEmpty(), "Совпадение на стыке названия и описания не считается");
+    }
+
+    @Test
+    void testPutReplacesAndRemoveDeletes() {
+        TrigramIndex index = new TrigramIndex();
+        Item item = item("Старое имя", "Описание");
+        index.put(item);
+
+        Item renamed = item("Новое имя", "Описание");
+        renamed.setId(item.getId());
+        index.put(renamed);
+
+        assertEquals(1, index.size());
+        assertTrue(index.search("стар").isEmpty(), "Прежний текст не должен находиться");
+        assertEquals(List.of("Новое имя"), names(index.search("новое")));
+
+        assertTrue(index.remove(item.getId()));
+        assertTrue(index.search("новое").isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testResultsMatchLinearScan() {
+        Random random = new Random(42);
+        String alphabet = "абвгдabcd ";
+        List<Item> all = new ArrayList<>();
+        TrigramIndex index = new TrigramIndex();
+        for (int i = 0; i < 2000; i++) {
+            Item item = item(randomText(random, alphabet, 12), randomText(random, alphabet, 30));
+            all.add(item);
+            index.put(item);
+        }
+        // Освободившиеся слоты переиспользуются
+        for (int i = 0; i < 500; i++) {
+            index.remove(all.remove(random.nextInt(all.size())).getId());
+        }
+        for (int i = 0; i < 500; i++) {
+            Item item = item(randomText(random, alphabet, 12), randomText(random, alphabet, 30));
+            all.add(item);
+            index.put(item);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String query = randomText(random, alphabet, 1 + random.nextInt(5));
+            List<UUID> expected = all.stream()
+                    .filter(item -> item.matches(query))
+                    .map(Item::getId)
+                    .sorted()
+                    .collect(Collectors.toList());
+            List<UUID> actual = index.search(query).stream()
+                    .map(Item::getId)
+                    .sorted()
+                    .collect(Collectors.toList());
+            assertEquals(expected, actual, "Результат для запроса '" + query + "'");
+        }
+    }
+
+    @Test
+    void testRemovedItemsLeaveNoPostingLists() {
+        Random random = new Random(7);
+        TrigramIndex index = new TrigramIndex();
+        List<Item> all = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Item item = item(randomText(random, "абвгдежзий", 10), randomText(random, "abcdefgh", 20));
+            all.add(item);
+            index.put(item);
+        }
+        assertTrue(index.gramCount() > 0);
+
+        // Удаление в случайном порядке проверяет сдвиг ключей в цепочках таблицы
+        for (int i = 0; i < 2000; i++) {
+            index.remove(all.remove(random.nextInt(all.size())).getId());
+        }
+        for (Item item : all) {
+            assertTrue(index.search(item.getName()).contains(item), "Оставшийся товар должен находиться");
+        }
+        index.removeAll(all);
+
+        assertEquals(0, index.size());
+        assertEquals(0, index.gramCount(), "Опустевшие списки должны удаляться");
+        Item again = item("Снова в индексе", null);
+        index.put(again);
+        assertEquals(List.of(again), index.search("снова"));
+    }
+
+    @Test
+    void testCaseFoldingDoesNotDependOnDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        try {
+            // В турецком 'I' в нижнем регистре — 'ı', а не 'i'
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            Item item = item("TITAN CLIP", null);
+            TrigramIndex index = new TrigramIndex();
+            index.put(item);
+
+            assertTrue(item.matches("titan"));
+            assertEquals(List.of(item), index.search("titan"), "Индекс и Item.matches должны совпадать");
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    private static Item item(String name, String description) {
+        Item item = new Item(name, description);
+        item.setId(UUID.randomUUID());
+        return item;
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+
+    private static List<String> names(List<Item> items) {
+        return items.stream().map(Item::getName).sorted().collect(Collectors.toList());
+    }
+}
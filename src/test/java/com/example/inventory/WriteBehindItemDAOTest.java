@@ -0,0 +1,130 @@
+package com.example.inventory;
+
+import com.example.inventory.db.ConnectionPool;
+import com.example.inventory.db.DatabaseConfig;
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemChange;
+import com.example.inventory.model.ItemDAO;
+import com.example.inventory.model.ItemMutation;
+import com.example.inventory.model.WriteBehindItemDAO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindItemDAOTest {
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private WriteBehindItemDAO itemDAO;
+
+    @BeforeEach
+    void setUp() {
+        pool = openPool();
+        itemDAO = new WriteBehindItemDAO(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    private ConnectionPool openPool() {
+        // Большая задержка: записью в тестах управляет flush()
+        return new ConnectionPool(DatabaseConfig.forUrl("jdbc:sqlite:" + tempDir.resolve("write-behind.db"))
+                .with("writeBehind.maxDelayMs", "60000"));
+    }
+
+    @Test
+    void testMutationsOfOneItemAreCoalesced() {
+        Item item = new Item("First Name", "");
+        itemDAO.create(item);
+        item.setName("Second Name");
+        itemDAO.update(item);
+        item.setName("Final Name");
+        itemDAO.update(item);
+
+        assertEquals("Final Name", itemDAO.getById(item.getId()).getName(), "Очередь видна до записи");
+        assertEquals(0, itemDAO.count(), "До записи база не меняется");
+        assertEquals(1, itemDAO.getPendingCount(), "Изменения одного товара объединяются");
+
+        itemDAO.flush();
+        assertEquals(1, itemDAO.count());
+        assertEquals("Final Name", itemDAO.readAll().get(0).getName(), "Побеждает последнее изменение");
+    }
+
+    @Test
+    void testCreateThenDeleteWritesNothing() {
+        Item item = new Item("Short Lived", "");
+        itemDAO.create(item);
+        assertTrue(itemDAO.delete(item.getId()));
+        assertNull(itemDAO.getById(item.getId()));
+
+        itemDAO.flush();
+        assertEquals(0, itemDAO.count());
+        assertFalse(itemDAO.update(item), "Удаленный товар нельзя обновить");
+    }
+
+    @Test
+    void testDeleteThenCreateReplacesWholeRow() {
+        LocalDateTime firstCreated = LocalDateTime.of(2024, 1, 10, 9, 0);
+        Item original = new Item(null, "Original Row", "Старый", firstCreated, firstCreated);
+        itemDAO.create(original);
+        itemDAO.flush();
+        long before = itemDAO.getChangeFeed().getLastSequence();
+
+        LocalDateTime secondCreated = LocalDateTime.of(2024, 6, 1, 12, 30);
+        Item recreated = new Item(original.getId(), "Recreated Row", "Новый", secondCreated, secondCreated);
+        assertTrue(itemDAO.delete(original.getId()));
+        itemDAO.create(recreated);
+        assertEquals(1, itemDAO.getPendingCount(), "Удаление и создание одного товара объединяются");
+        itemDAO.flush();
+
+        Item stored = new ItemDAO(pool).getById(original.getId());
+        assertEquals("Recreated Row", stored.getName());
+        assertEquals(secondCreated, stored.getCreatedAt(), "Дата создания должна быть из нового товара");
+        List<ItemChange> changes = itemDAO.getChangeFeed().readSince(before, 10);
+        assertEquals(List.of(ItemMutation.Type.DELETE, ItemMutation.Type.CREATE),
+                changes.stream().map(ItemChange::type).toList(), "Журнал должен видеть удаление и создание");
+    }
+
+    @Test
+    void testConcurrentWritersAreGroupCommitted() throws Exception {
+        ExecutorService writers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                int number = i;
+                futures.add(writers.submit(() -> itemDAO.create(new Item("Concurrent " + number, ""))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            writers.shutdown();
+        }
+
+        itemDAO.flush();
+        assertEquals(400, itemDAO.count());
+    }
+
+    @Test
+    void testQueueIsFlushedWhenPoolCloses() {
+        itemDAO.create(new Item("Written On Close", ""));
+        pool.close();
+
+        pool = openPool();
+        assertEquals(1, new ItemDAO(pool).count(), "Очередь должна записаться при закрытии пула");
+    }
+}